@@ -10,6 +10,9 @@ import { environment } from '../../environments/environment'; // Add this import
 })
 export class TaskService {
   private readonly apiUrl = `${environment.apiUrl}`;
+
+  // Fields the task list shows; the API leaves description out of lists by default
+  private static readonly LIST_FIELDS = 'title,description,status,dueDate';
   
   // Subject to notify components about task changes
   private taskUpdatedSubject = new BehaviorSubject<boolean>(false);
@@ -21,7 +24,10 @@ export class TaskService {
    * Get all tasks with pagination and filtering
    */
   getTasks(filter: TaskFilter = {}): Observable<TaskPage> {
-    let params = new HttpParams();
+    // The paginator needs totalElements, which the API only returns on request
+    let params = new HttpParams()
+      .set('includeTotal', 'true')
+      .set('fields', TaskService.LIST_FIELDS);
     
     if (filter.page !== undefined) {
       params = params.set('page', filter.page.toString());
@@ -114,7 +120,9 @@ export class TaskService {
   getTasksByStatus(status: TaskStatus, page: number = 0, size: number = 10): Observable<TaskPage> {
     const params = new HttpParams()
       .set('page', page.toString())
-      .set('size', size.toString());
+      .set('size', size.toString())
+      .set('includeTotal', 'true')
+      .set('fields', TaskService.LIST_FIELDS);
 
     return this.http.get<TaskPage>(`${this.apiUrl}/status/${status}`, { params })
       .pipe(
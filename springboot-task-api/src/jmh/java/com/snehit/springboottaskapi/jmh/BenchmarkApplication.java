@@ -0,0 +1,51 @@
+package com.snehit.springboottaskapi.jmh;
+
+import com.snehit.springboottaskapi.SpringbootTaskApiApplication;
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.search.TaskSearchIndex;
+import com.snehit.springboottaskapi.stats.TaskStatusCounters;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Starts the application without a web server against a fresh embedded H2 database seeded with
+ * {@code datasetSize} tasks, for use from JMH {@code @Setup} methods. Extra arguments override
+ * further properties.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String name, int datasetSize, String... extraArgs) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootTaskApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // passed as arguments so they take precedence over application.yaml
+                .run(Stream.concat(Stream.of(
+                                "--spring.datasource.url=jdbc:h2:mem:jmh-" + name + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                                "--task.events.outbox.dispatcher-enabled=false",
+                                "--logging.level.root=WARN",
+                                "--logging.level.org.springframework.web=WARN",
+                                "--logging.level.org.springframework.web.servlet.DispatcherServlet=WARN"),
+                        Stream.of(extraArgs)).toArray(String[]::new));
+        BenchmarkData.seedTasks(context.getBean(JdbcTemplate.class), datasetSize);
+        // the seed bypasses the service, so bring derived state up to date
+        context.getBean(TaskStatusCounters.class).reconcile();
+        context.getBean(TaskSearchIndex.class).rebuild();
+        return context;
+    }
+
+    /** Ids of all tasks, for picking random existing rows */
+    static long[] taskIds(ConfigurableApplicationContext context) {
+        return context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM tasks", Long.class)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
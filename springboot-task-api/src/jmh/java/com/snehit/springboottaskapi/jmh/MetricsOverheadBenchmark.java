@@ -0,0 +1,63 @@
+package com.snehit.springboottaskapi.jmh;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the metrics on the hot path: a primary-key lookup through the repository proxy with and
+ * without the {@code spring.data.repository.invocations} timer, and a bare record on a timer
+ * publishing a percentile histogram to the Prometheus registry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    @Param({"true", "false"})
+    private boolean repositoryMetrics;
+
+    private ConfigurableApplicationContext context;
+
+    private ITaskRepository taskRepository;
+
+    private Timer histogramTimer;
+
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("metrics-" + repositoryMetrics, 1_000,
+                "--management.metrics.data.repository.autotime.enabled=" + repositoryMetrics);
+        taskRepository = context.getBean(ITaskRepository.class);
+        histogramTimer = Timer.builder("jmh.overhead")
+                .publishPercentileHistogram()
+                .register(context.getBean(MeterRegistry.class));
+        ids = BenchmarkApplication.taskIds(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Task> findById() {
+        return taskRepository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public void recordHistogramTimer() {
+        histogramTimer.record(ThreadLocalRandom.current().nextLong(1_000_000), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,55 @@
+package com.snehit.springboottaskapi.jmh;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The filtered list query with and without the title LIKE filter, including its count query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskRepositoryBenchmark {
+
+    private static final Pageable FIRST_PAGE =
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Param({"1000", "100000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+
+    private ITaskRepository taskRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("repository-" + datasetSize, datasetSize);
+        taskRepository = context.getBean(ITaskRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Task> findTasksWithFilters() {
+        return taskRepository.findTasksWithFilters(null, null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Task> findTasksWithFiltersByTitle() {
+        return taskRepository.findTasksWithFilters(null, "kubernetes", FIRST_PAGE);
+    }
+}
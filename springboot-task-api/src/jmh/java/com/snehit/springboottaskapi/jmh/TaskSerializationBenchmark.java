@@ -0,0 +1,57 @@
+package com.snehit.springboottaskapi.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a Page of tasks as returned by the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Page<Task> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // the same settings Spring Boot applies to the MVC ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 30);
+        List<Task> tasks = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            tasks.add(new Task((long) i, "Serialize task " + i, "Description of task " + i,
+                    TaskStatus.values()[i % TaskStatus.values().length],
+                    now.plusDays(i % 30), now.minusMinutes(i), now, 0L));
+        }
+        page = new PageImpl<>(tasks, PageRequest.of(0, pageSize), 100_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
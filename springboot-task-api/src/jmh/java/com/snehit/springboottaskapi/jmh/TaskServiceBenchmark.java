@@ -0,0 +1,83 @@
+package com.snehit.springboottaskapi.jmh;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService write and list paths against embedded H2, including the outbox, event listeners and
+ * transaction handling around them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final Pageable FIRST_PAGE =
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Param({"1000", "100000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+
+    private ITaskService taskService;
+
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("service-" + datasetSize, datasetSize);
+        taskService = context.getBean(ITaskService.class);
+        ids = BenchmarkApplication.taskIds(context);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(task("Benchmark created task", TaskStatus.TODO));
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TaskStatus status = random.nextBoolean() ? TaskStatus.TODO : TaskStatus.IN_PROGRESS;
+        return taskService.updateTask(ids[random.nextInt(ids.length)], task("Benchmark updated task", status));
+    }
+
+    @Benchmark
+    public Page<Task> getAllTasks() {
+        return taskService.getAllTasks(null, null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Task> getAllTasksByTitle() {
+        return taskService.getAllTasks(null, "kubernetes", FIRST_PAGE);
+    }
+
+    private static Task task(String title, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Written by TaskServiceBenchmark");
+        task.setStatus(status);
+        task.setDueDate(LocalDateTime.now().plusDays(7));
+        return task;
+    }
+}
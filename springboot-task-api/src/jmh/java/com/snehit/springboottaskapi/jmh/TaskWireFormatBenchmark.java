@@ -0,0 +1,100 @@
+package com.snehit.springboottaskapi.jmh;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode cost of a single task and of a page of tasks in each wire format the API
+ * negotiates. Payload sizes, raw and gzipped, are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    /** 1 encodes a single task, more encodes a page of that many tasks */
+    @Param({"1", "100"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+
+    private Object value;
+
+    private Class<?> type;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        // the same builder Spring Boot configures the message converters from
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 30);
+        List<Task> tasks = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            tasks.add(new Task((long) i, "Encode task " + i, "Description of task " + i + " to encode",
+                    TaskStatus.values()[i % TaskStatus.values().length],
+                    now.plusDays(i % 30), now.minusMinutes(i), now, 0L));
+        }
+        if (items == 1) {
+            value = tasks.get(0);
+            type = Task.class;
+        } else {
+            value = new PageImpl<>(tasks, PageRequest.of(0, items), 100_000);
+            type = PageContent.class;
+        }
+        encoded = objectMapper.writeValueAsBytes(value);
+        System.out.printf("%n%s, %d item(s): %d bytes, %d gzipped%n", format, items, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return objectMapper.readValue(encoded, type);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    /** What a client reads from a page response; the paging fields are ignored */
+    public static class PageContent {
+
+        public List<Task> content;
+    }
+}
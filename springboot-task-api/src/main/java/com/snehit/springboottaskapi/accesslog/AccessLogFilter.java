@@ -0,0 +1,379 @@
+package com.snehit.springboottaskapi.accesslog;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Builds one AccessLogRecord per request and hands it to the AccessLogWriter.
+ *
+ * <p>Bodies are never buffered: response bytes are counted as they pass through, and only the
+ * first {@code payload-bytes} of the request body are kept, in a buffer allocated the first time
+ * the body is read; with {@code payload-bytes} of 0 the body is not looked at. Requests that fail
+ * (status 400 and above) or exceed {@code slow-threshold} are always logged with that payload; all
+ * others are logged without it at {@code sample-rate}. Asynchronous requests such as exports are
+ * logged once, when the async request completes, times out or fails, whichever comes first.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "task.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+  private final AccessLogWriter writer;
+
+  private final double sampleRate;
+
+  private final long slowThresholdNanos;
+
+  private final int payloadBytes;
+
+  @Autowired
+  public AccessLogFilter(
+      AccessLogWriter writer,
+      @Value("${task.access-log.sample-rate:0.1}") double sampleRate,
+      @Value("${task.access-log.slow-threshold:PT0.5S}") Duration slowThreshold,
+      @Value("${task.access-log.payload-bytes:2048}") int payloadBytes) {
+    this.writer = writer;
+    this.sampleRate = sampleRate;
+    this.slowThresholdNanos = slowThreshold.toNanos();
+    this.payloadBytes = payloadBytes;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    long timestamp = System.currentTimeMillis();
+    long start = System.nanoTime();
+    CapturingRequest capturingRequest =
+        payloadBytes > 0 ? new CapturingRequest(request, payloadBytes) : null;
+    CountingResponse countingResponse = new CountingResponse(response);
+    boolean failed = true;
+    try {
+      filterChain.doFilter(capturingRequest != null ? capturingRequest : request, countingResponse);
+      failed = false;
+    } finally {
+      if (!failed && request.isAsyncStarted()) {
+        request
+            .getAsyncContext()
+            .addListener(
+                new AsyncLog(timestamp, start, request, capturingRequest, countingResponse));
+      } else {
+        // an exception escaping the chain becomes a 500 once it reaches the container
+        log(
+            timestamp,
+            start,
+            request,
+            capturingRequest,
+            countingResponse,
+            failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : countingResponse.getStatus());
+      }
+    }
+  }
+
+  private void log(
+      long timestamp,
+      long start,
+      HttpServletRequest request,
+      CapturingRequest capturingRequest,
+      CountingResponse response,
+      int status) {
+    long latency = System.nanoTime() - start;
+    boolean capture = status >= 400 || latency >= slowThresholdNanos;
+    if (!capture && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+      return;
+    }
+    writer.offer(
+        new AccessLogRecord(
+            timestamp,
+            request.getMethod(),
+            request.getRequestURI(),
+            status,
+            latency,
+            request.getContentLengthLong(),
+            response.bytesWritten(),
+            capture && capturingRequest != null ? capturingRequest.payload() : null));
+  }
+
+  /**
+   * Logs an asynchronous request once it ends: on completion, or already on a timeout or error, as
+   * the request may not complete normally after those
+   */
+  private final class AsyncLog implements AsyncListener {
+
+    private final long timestamp;
+
+    private final long start;
+
+    private final HttpServletRequest request;
+
+    private final CapturingRequest capturingRequest;
+
+    private final CountingResponse response;
+
+    private final AtomicBoolean logged = new AtomicBoolean();
+
+    private AsyncLog(
+        long timestamp,
+        long start,
+        HttpServletRequest request,
+        CapturingRequest capturingRequest,
+        CountingResponse response) {
+      this.timestamp = timestamp;
+      this.start = start;
+      this.request = request;
+      this.capturingRequest = capturingRequest;
+      this.response = response;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      logOnce(response.getStatus());
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      // the status the timeout is answered with, which is not set yet
+      logOnce(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      logOnce(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // starting again drops the listeners
+      event.getAsyncContext().addListener(this);
+    }
+
+    private void logOnce(int status) {
+      if (logged.compareAndSet(false, true)) {
+        log(timestamp, start, request, capturingRequest, response, status);
+      }
+    }
+  }
+
+  /** Keeps the first bytes of the request body as the application reads it */
+  static final class CapturingRequest extends HttpServletRequestWrapper {
+
+    private final int limit;
+
+    private byte[] captured;
+
+    private int capturedLength;
+
+    private ServletInputStream inputStream;
+
+    private BufferedReader reader;
+
+    CapturingRequest(HttpServletRequest request, int limit) {
+      super(request);
+      this.limit = limit;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+      if (inputStream == null) {
+        ServletInputStream delegate = super.getInputStream();
+        inputStream =
+            new ServletInputStream() {
+              @Override
+              public int read() throws IOException {
+                int b = delegate.read();
+                if (b >= 0 && capturedLength < limit) {
+                  if (captured == null) {
+                    captured = new byte[limit];
+                  }
+                  captured[capturedLength++] = (byte) b;
+                }
+                return b;
+              }
+
+              @Override
+              public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = delegate.read(buffer, offset, length);
+                if (read > 0) {
+                  capture(buffer, offset, read);
+                }
+                return read;
+              }
+
+              @Override
+              public boolean isFinished() {
+                return delegate.isFinished();
+              }
+
+              @Override
+              public boolean isReady() {
+                return delegate.isReady();
+              }
+
+              @Override
+              public void setReadListener(ReadListener readListener) {
+                delegate.setReadListener(readListener);
+              }
+            };
+      }
+      return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+      if (reader == null) {
+        reader = new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+      }
+      return reader;
+    }
+
+    private void capture(byte[] buffer, int offset, int length) {
+      int remaining = limit - capturedLength;
+      if (remaining <= 0) {
+        return;
+      }
+      if (captured == null) {
+        captured = new byte[limit];
+      }
+      int count = Math.min(remaining, length);
+      System.arraycopy(buffer, offset, captured, capturedLength, count);
+      capturedLength += count;
+    }
+
+    /** The captured body prefix, or null when nothing was read */
+    String payload() {
+      return captured == null ? null : new String(captured, 0, capturedLength, charset());
+    }
+
+    private Charset charset() {
+      String encoding = getCharacterEncoding();
+      try {
+        return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+      } catch (IllegalArgumentException e) {
+        return StandardCharsets.UTF_8;
+      }
+    }
+  }
+
+  /**
+   * Counts the bytes written to the response body; characters written through the writer are
+   * counted as characters
+   */
+  static final class CountingResponse extends HttpServletResponseWrapper {
+
+    private long bytesWritten;
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    CountingResponse(HttpServletResponse response) {
+      super(response);
+    }
+
+    long bytesWritten() {
+      return bytesWritten;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (outputStream == null) {
+        ServletOutputStream delegate = super.getOutputStream();
+        outputStream =
+            new ServletOutputStream() {
+              @Override
+              public void write(int b) throws IOException {
+                delegate.write(b);
+                bytesWritten++;
+              }
+
+              @Override
+              public void write(byte[] buffer, int offset, int length) throws IOException {
+                delegate.write(buffer, offset, length);
+                bytesWritten += length;
+              }
+
+              @Override
+              public void flush() throws IOException {
+                delegate.flush();
+              }
+
+              @Override
+              public void close() throws IOException {
+                delegate.close();
+              }
+
+              @Override
+              public boolean isReady() {
+                return delegate.isReady();
+              }
+
+              @Override
+              public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+              }
+            };
+      }
+      return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      if (writer == null) {
+        PrintWriter delegate = super.getWriter();
+        writer =
+            new PrintWriter(
+                new Writer() {
+                  @Override
+                  public void write(char[] buffer, int offset, int length) {
+                    delegate.write(buffer, offset, length);
+                    bytesWritten += length;
+                  }
+
+                  @Override
+                  public void write(String text, int offset, int length) {
+                    delegate.write(text, offset, length);
+                    bytesWritten += length;
+                  }
+
+                  @Override
+                  public void flush() {
+                    delegate.flush();
+                  }
+
+                  @Override
+                  public void close() {
+                    delegate.close();
+                  }
+                });
+      }
+      return writer;
+    }
+  }
+}
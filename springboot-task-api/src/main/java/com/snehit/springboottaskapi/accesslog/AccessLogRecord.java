@@ -0,0 +1,58 @@
+package com.snehit.springboottaskapi.accesslog;
+
+/**
+ * One access log entry with a fixed schema, built on the request thread and formatted by the
+ * AccessLogWriter thread.
+ *
+ * @param timestamp epoch milliseconds when the request started
+ * @param method HTTP method
+ * @param path request URI without the query string
+ * @param status response status
+ * @param latencyNanos time from the start of the request until the response completed
+ * @param bytesIn request Content-Length, -1 when unknown
+ * @param bytesOut bytes written to the response body
+ * @param payload leading bytes of the request body for failed or slow requests, otherwise null
+ */
+public record AccessLogRecord(
+    long timestamp,
+    String method,
+    String path,
+    int status,
+    long latencyNanos,
+    long bytesIn,
+    long bytesOut,
+    String payload) {
+
+  /** Append the record as a single logfmt line */
+  void appendTo(StringBuilder line) {
+    line.append("method=")
+        .append(method)
+        .append(" path=")
+        .append(path)
+        .append(" status=")
+        .append(status)
+        .append(" latency_ms=")
+        .append(latencyNanos / 1_000_000)
+        .append('.')
+        .append(latencyNanos / 100_000 % 10)
+        .append(" bytes_in=")
+        .append(bytesIn)
+        .append(" bytes_out=")
+        .append(bytesOut);
+    if (payload != null) {
+      line.append(" payload=\"");
+      for (int i = 0; i < payload.length(); i++) {
+        char c = payload.charAt(i);
+        switch (c) {
+          case '"' -> line.append("\\\"");
+          case '\\' -> line.append("\\\\");
+          case '\n' -> line.append("\\n");
+          case '\r' -> line.append("\\r");
+          case '\t' -> line.append("\\t");
+          default -> line.append(c);
+        }
+      }
+      line.append('"');
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.snehit.springboottaskapi.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands access log records from request threads to a single background thread through a bounded
+ * queue. Request threads never block and never format: when the queue is full the record is
+ * dropped and counted in {@code task.accesslog.dropped}.
+ *
+ * <p>Lines are written to the {@code access} logger at INFO, so the destination and format of the
+ * surrounding log line are controlled by the normal logging configuration.
+ */
+@Component
+@ConditionalOnProperty(name = "task.access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogWriter {
+
+  private static final Logger accessLogger = LoggerFactory.getLogger("access");
+
+  private static final Logger logger = LoggerFactory.getLogger(AccessLogWriter.class);
+
+  /** Records formatted per wakeup of the writer thread */
+  private static final int DRAIN_BATCH = 256;
+
+  private final BlockingQueue<AccessLogRecord> queue;
+
+  private final Counter written;
+
+  private final Counter dropped;
+
+  private Thread writerThread;
+
+  private volatile boolean running;
+
+  @Autowired
+  public AccessLogWriter(
+      MeterRegistry meterRegistry,
+      @Value("${task.access-log.queue-capacity:8192}") int queueCapacity) {
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.written =
+        Counter.builder("task.accesslog.written")
+            .description("Access log records written")
+            .register(meterRegistry);
+    this.dropped =
+        Counter.builder("task.accesslog.dropped")
+            .description("Access log records dropped because the queue was full")
+            .register(meterRegistry);
+    Gauge.builder("task.accesslog.queue", queue, BlockingQueue::size)
+        .description("Access log records waiting to be written")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    writerThread = new Thread(this::run, "access-log");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /** Queue a record without blocking; returns false and counts a drop when the queue is full */
+  public boolean offer(AccessLogRecord record) {
+    if (queue.offer(record)) {
+      return true;
+    }
+    dropped.increment();
+    return false;
+  }
+
+  /** Stop the writer thread and write whatever is still queued */
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (writerThread != null) {
+      writerThread.interrupt();
+      writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+    write(drain());
+  }
+
+  /** Remove and return every queued record */
+  List<AccessLogRecord> drain() {
+    List<AccessLogRecord> records = new ArrayList<>(queue.size());
+    queue.drainTo(records);
+    return records;
+  }
+
+  private void run() {
+    List<AccessLogRecord> batch = new ArrayList<>(DRAIN_BATCH);
+    while (running) {
+      try {
+        batch.add(queue.take());
+        queue.drainTo(batch, DRAIN_BATCH - 1);
+        write(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        logger.warn("Failed to write {} access log records", batch.size(), e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void write(List<AccessLogRecord> records) {
+    if (records.isEmpty() || !accessLogger.isInfoEnabled()) {
+      return;
+    }
+    StringBuilder line = new StringBuilder(256);
+    for (AccessLogRecord record : records) {
+      line.setLength(0);
+      line.append("ts=").append(Instant.ofEpochMilli(record.timestamp())).append(' ');
+      record.appendTo(line);
+      accessLogger.info(line.toString());
+    }
+    written.increment(records.size());
+  }
+}
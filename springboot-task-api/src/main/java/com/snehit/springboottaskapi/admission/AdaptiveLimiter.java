@@ -0,0 +1,113 @@
+package com.snehit.springboottaskapi.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit adapted by additive increase, multiplicative decrease (AIMD) from the latency
+ * of the requests it admits.
+ *
+ * <p>A request that completes within {@code latencyThreshold} while the limit is at least half
+ * used raises the limit by {@code 1 / limit}, so by at most one per round of requests, unless
+ * another request was slow within the last {@code latencyThreshold}: fast point reads must not
+ * keep raising a limit that slow lists are exceeding. A slower or failed request multiplies it by
+ * {@code backoffRatio}, at most once per round: requests that started before the last decrease do
+ * not decrease it again, as they queued behind the same overload. The limit stays between {@code
+ * minLimit} and {@code maxLimit}.
+ *
+ * <p>Lower-priority requests may only use a share of the limit, so they are the first to be
+ * rejected as it shrinks.
+ */
+final class AdaptiveLimiter {
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private final long latencyThresholdNanos;
+
+  private final double backoffRatio;
+
+  private final LongSupplier nanoClock;
+
+  private double limit;
+
+  private int inFlight;
+
+  private long decreasedAt;
+
+  private long slowAt;
+
+  AdaptiveLimiter(
+      String name,
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      long latencyThresholdNanos,
+      double backoffRatio,
+      LongSupplier nanoClock,
+      MeterRegistry meterRegistry) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyThresholdNanos = latencyThresholdNanos;
+    this.backoffRatio = backoffRatio;
+    this.nanoClock = nanoClock;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    this.decreasedAt = nanoClock.getAsLong();
+    this.slowAt = decreasedAt - latencyThresholdNanos;
+    Gauge.builder("task.admission.limit", this, AdaptiveLimiter::limit)
+        .description("Current adaptive concurrency limit")
+        .tag("limiter", name)
+        .register(meterRegistry);
+    Gauge.builder("task.admission.in-flight", this, AdaptiveLimiter::inFlight)
+        .description("Requests currently admitted")
+        .tag("limiter", name)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Admit a request if fewer than {@code share} of the limit are in flight
+   *
+   * @return whether the request was admitted; if so {@link #release} must be called
+   */
+  synchronized boolean tryAcquire(double share) {
+    if (inFlight >= Math.max(1, (int) (limit * share))) {
+      return false;
+    }
+    inFlight++;
+    return true;
+  }
+
+  /**
+   * Record the completion of an admitted request
+   *
+   * @param startNanos time of the nano clock when the request was admitted
+   * @param failed whether the request failed in a way that indicates overload
+   * @param sample whether the latency is representative, false for requests that went async
+   */
+  synchronized void release(long startNanos, boolean failed, boolean sample) {
+    int wasInFlight = inFlight--;
+    if (!sample) {
+      return;
+    }
+    long now = nanoClock.getAsLong();
+    if (failed || now - startNanos > latencyThresholdNanos) {
+      slowAt = now;
+      if (startNanos - decreasedAt > 0) {
+        limit = Math.max(minLimit, limit * backoffRatio);
+        decreasedAt = now;
+      }
+    } else if (wasInFlight * 2 >= limit && now - slowAt > latencyThresholdNanos) {
+      limit = Math.min(maxLimit, limit + 1 / limit);
+    }
+  }
+
+  synchronized int limit() {
+    return (int) limit;
+  }
+
+  synchronized int inFlight() {
+    return inFlight;
+  }
+}
@@ -0,0 +1,295 @@
+package com.snehit.springboottaskapi.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.snehit.springboottaskapi.config.ClientKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admission control for {@code /api/v1/tasks}, so that overload is answered quickly instead of
+ * queueing on Tomcat threads and the connection pool until requests time out.
+ *
+ * <p>Each client has a token bucket of {@code burst} requests refilled at {@code rate} per second;
+ * a client without tokens gets 429. Clients are told apart by the authenticated user, else by the
+ * {@code client-header} when the connection comes from one of the {@code trusted-proxies}, else by
+ * remote address; a header any client can set is not trusted on its own. Admitted requests then
+ * need a slot from the read or the write {@link AdaptiveLimiter}, whose limits follow the latency
+ * of the requests they admit; without a slot the response is 503. Both carry {@code Retry-After}.
+ * Point reads ({@code GET /{id}}, {@code /stats}, import status) may use the whole read limit,
+ * while lists, searches and exports may only use {@code expensive-share} of it, so they are shed
+ * first.
+ *
+ * <p>The filter runs after the AccessLogFilter, so rejected requests are logged. Asynchronous
+ * requests such as exports hold their slot until the response is complete. The change feed holds
+ * no thread while it is connected, so it gives its slot back once the request thread is released.
+ * The latency of asynchronous requests is not used to adapt the limit.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "task.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+  static final String PATH_PREFIX = "/api/v1/tasks";
+
+  /** Server-Sent Events connections, open for as long as the client listens */
+  static final String CHANGE_FEED_PATH = PATH_PREFIX + "/changes";
+
+  private static final Pattern POINT_READ = Pattern.compile("/(\\d+|stats|import/[^/]+)/?");
+
+  /** Reads and point reads share the read limiter, where reads are shed first */
+  enum RequestClass {
+    READ,
+    POINT_READ,
+    WRITE
+  }
+
+  private final ObjectMapper objectMapper;
+
+  private final ClientKeys clientKeys;
+
+  private final double rate;
+
+  private final double burst;
+
+  private final double expensiveShare;
+
+  private final Duration retryAfter;
+
+  private final AdaptiveLimiter readLimiter;
+
+  private final AdaptiveLimiter writeLimiter;
+
+  private final Cache<String, TokenBucket> buckets;
+
+  private final Map<RequestClass, Counter> rateLimited = new EnumMap<>(RequestClass.class);
+
+  private final Map<RequestClass, Counter> shed = new EnumMap<>(RequestClass.class);
+
+  @Autowired
+  public AdmissionControlFilter(
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${task.admission.client-header:X-Client-Id}") String clientHeader,
+      @Value("${task.admission.trusted-proxies:}") List<String> trustedProxies,
+      @Value("${task.admission.rate:50}") double rate,
+      @Value("${task.admission.burst:100}") double burst,
+      @Value("${task.admission.read-limit:20}") int readLimit,
+      @Value("${task.admission.write-limit:10}") int writeLimit,
+      @Value("${task.admission.min-limit:2}") int minLimit,
+      @Value("${task.admission.max-limit:200}") int maxLimit,
+      @Value("${task.admission.latency-threshold:PT0.5S}") Duration latencyThreshold,
+      @Value("${task.admission.backoff-ratio:0.9}") double backoffRatio,
+      @Value("${task.admission.expensive-share:0.75}") double expensiveShare,
+      @Value("${task.admission.retry-after:PT1S}") Duration retryAfter) {
+    this.objectMapper = objectMapper;
+    this.clientKeys = new ClientKeys(clientHeader, trustedProxies);
+    this.rate = rate;
+    this.burst = burst;
+    this.expensiveShare = expensiveShare;
+    this.retryAfter = retryAfter;
+    long thresholdNanos = latencyThreshold.toNanos();
+    this.readLimiter =
+        new AdaptiveLimiter(
+            "read",
+            readLimit,
+            minLimit,
+            maxLimit,
+            thresholdNanos,
+            backoffRatio,
+            System::nanoTime,
+            meterRegistry);
+    this.writeLimiter =
+        new AdaptiveLimiter(
+            "write",
+            writeLimit,
+            minLimit,
+            maxLimit,
+            thresholdNanos,
+            backoffRatio,
+            System::nanoTime,
+            meterRegistry);
+    // an idle client's bucket would be full again by the time it expires
+    this.buckets =
+        Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Math.max(1, (long) Math.ceil(burst / rate)), TimeUnit.SECONDS)
+            .build();
+    for (RequestClass requestClass : RequestClass.values()) {
+      String tag = requestClass.name().toLowerCase(Locale.ROOT);
+      rateLimited.put(
+          requestClass,
+          Counter.builder("task.admission.rejected")
+              .description("Requests rejected by admission control")
+              .tag("class", tag)
+              .tag("reason", "rate_limit")
+              .register(meterRegistry));
+      shed.put(
+          requestClass,
+          Counter.builder("task.admission.rejected")
+              .description("Requests rejected by admission control")
+              .tag("class", tag)
+              .tag("reason", "capacity")
+              .register(meterRegistry));
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getRequestURI().startsWith(PATH_PREFIX);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    RequestClass requestClass = classify(request);
+
+    long waitNanos = buckets.get(clientKeys.of(request), key -> newBucket()).tryTake();
+    if (waitNanos > 0) {
+      rateLimited.get(requestClass).increment();
+      reject(
+          response,
+          HttpStatus.TOO_MANY_REQUESTS,
+          Duration.ofNanos(waitNanos),
+          "Rate limit of " + rate + " requests per second exceeded");
+      return;
+    }
+
+    AdaptiveLimiter limiter = requestClass == RequestClass.WRITE ? writeLimiter : readLimiter;
+    double share = requestClass == RequestClass.READ ? expensiveShare : 1.0;
+    if (!limiter.tryAcquire(share)) {
+      shed.get(requestClass).increment();
+      reject(
+          response,
+          HttpStatus.SERVICE_UNAVAILABLE,
+          retryAfter,
+          "The service is over capacity; retry later");
+      return;
+    }
+
+    long start = System.nanoTime();
+    boolean failed = true;
+    boolean heldUntilComplete = false;
+    try {
+      filterChain.doFilter(request, response);
+      failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+      if (request.isAsyncStarted() && !request.getRequestURI().equals(CHANGE_FEED_PATH)) {
+        request.getAsyncContext().addListener(new AsyncRelease(limiter, start, response));
+        heldUntilComplete = true;
+      }
+    } finally {
+      if (!heldUntilComplete) {
+        limiter.release(start, failed, !request.isAsyncStarted());
+      }
+    }
+  }
+
+  static RequestClass classify(HttpServletRequest request) {
+    String method = request.getMethod();
+    if (!"GET".equals(method) && !"HEAD".equals(method)) {
+      return RequestClass.WRITE;
+    }
+    String path = request.getRequestURI().substring(PATH_PREFIX.length());
+    return POINT_READ.matcher(path).matches() ? RequestClass.POINT_READ : RequestClass.READ;
+  }
+
+  AdaptiveLimiter readLimiter() {
+    return readLimiter;
+  }
+
+  AdaptiveLimiter writeLimiter() {
+    return writeLimiter;
+  }
+
+  private TokenBucket newBucket() {
+    return new TokenBucket(rate, burst, System::nanoTime);
+  }
+
+  private void reject(
+      HttpServletResponse response, HttpStatus status, Duration retryAfter, String message)
+      throws IOException {
+    Map<String, Object> error = new LinkedHashMap<>();
+    error.put("status", status.value());
+    error.put("error", status.getReasonPhrase());
+    error.put("message", message);
+    error.put("timestamp", LocalDateTime.now());
+
+    response.setStatus(status.value());
+    // whole seconds, rounded up so clients do not come back too early
+    response.setHeader(
+        HttpHeaders.RETRY_AFTER,
+        Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), error);
+  }
+
+  /** Gives an asynchronous request's slot back once its response is complete */
+  private static final class AsyncRelease implements AsyncListener {
+
+    private final AdaptiveLimiter limiter;
+
+    private final long start;
+
+    private final HttpServletResponse response;
+
+    private volatile boolean failed;
+
+    private AsyncRelease(AdaptiveLimiter limiter, long start, HttpServletResponse response) {
+      this.limiter = limiter;
+      this.start = start;
+      this.response = response;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      limiter.release(
+          start,
+          failed || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value(),
+          false);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      failed = true;
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      failed = true;
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // starting again drops the listeners
+      event.getAsyncContext().addListener(this);
+    }
+  }
+}
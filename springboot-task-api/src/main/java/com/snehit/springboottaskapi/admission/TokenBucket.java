@@ -0,0 +1,44 @@
+package com.snehit.springboottaskapi.admission;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket holding up to {@code burst} tokens and refilled at {@code rate} tokens per second.
+ * Tokens are refilled lazily from the time elapsed since the last call.
+ */
+final class TokenBucket {
+
+  private final double burst;
+
+  private final double tokensPerNano;
+
+  private final LongSupplier nanoClock;
+
+  private double tokens;
+
+  private long refilledAt;
+
+  TokenBucket(double rate, double burst, LongSupplier nanoClock) {
+    this.burst = burst;
+    this.tokensPerNano = rate / 1_000_000_000.0;
+    this.nanoClock = nanoClock;
+    this.tokens = burst;
+    this.refilledAt = nanoClock.getAsLong();
+  }
+
+  /**
+   * Take one token if there is one
+   *
+   * @return 0 when a token was taken, otherwise the nanoseconds until one is available
+   */
+  synchronized long tryTake() {
+    long now = nanoClock.getAsLong();
+    tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+    refilledAt = now;
+    if (tokens >= 1) {
+      tokens--;
+      return 0;
+    }
+    return (long) Math.ceil((1 - tokens) / tokensPerNano);
+  }
+}
@@ -0,0 +1,114 @@
+package com.snehit.springboottaskapi.archive;
+
+import com.snehit.springboottaskapi.entity.ArchivedTask;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TasksChangedEvent;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background job that moves tasks completed for longer than {@code completed-for} out of the tasks
+ * table into archived_tasks, so the hot table, its indexes and the in-memory search index only
+ * grow with the active set.
+ *
+ * <p>Each run walks the primary key once in batches of {@code batch-size}, one short transaction
+ * per batch, so writers wait for at most one batch. Each batch is published as one {@link
+ * TasksChangedEvent} of ARCHIVED changes, which takes its tasks out of the status counters, the
+ * search index and the cache after commit. Archived tasks stay readable by id, and list endpoints include them
+ * with {@code includeArchived=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "task.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiver {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskArchiver.class);
+
+  private final ITaskRepository taskRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final Duration completedFor;
+
+  private final int batchSize;
+
+  private final Counter archived;
+
+  @Autowired
+  public TaskArchiver(
+      ITaskRepository taskRepository,
+      TransactionTemplate transactionTemplate,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${task.archive.completed-for:P30D}") Duration completedFor,
+      @Value("${task.archive.batch-size:500}") int batchSize) {
+    this.taskRepository = taskRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.completedFor = completedFor;
+    this.batchSize = batchSize;
+    this.archived =
+        Counter.builder("task.archive.archived")
+            .description("Completed tasks moved to the archive")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Archive every task that has been completed for long enough
+   *
+   * @return number of tasks archived
+   */
+  @Scheduled(
+      initialDelayString = "${task.archive.interval:PT1H}",
+      fixedDelayString = "${task.archive.interval:PT1H}")
+  public int archive() {
+    LocalDateTime completedBefore = LocalDateTime.now().minus(completedFor);
+    long afterId = 0;
+    int total = 0;
+    List<ArchivedTask> batch;
+    do {
+      batch = archiveBatch(completedBefore, afterId);
+      total += batch.size();
+      if (!batch.isEmpty()) {
+        afterId = batch.get(batch.size() - 1).getId();
+      }
+    } while (batch.size() == batchSize);
+    if (total > 0) {
+      logger.info("Archived {} tasks completed before {}", total, completedBefore);
+    }
+    return total;
+  }
+
+  private List<ArchivedTask> archiveBatch(LocalDateTime completedBefore, long afterId) {
+    return transactionTemplate.execute(
+        status -> {
+          List<ArchivedTask> moved =
+              taskRepository.archiveCompleted(
+                  completedBefore, afterId, batchSize, LocalDateTime.now());
+          if (!moved.isEmpty()) {
+            eventPublisher.publishEvent(
+                new TasksChangedEvent(
+                    moved.stream()
+                        .map(task -> TaskChangedEvent.archived(task.getId(), TaskStatus.COMPLETED))
+                        .toList()));
+          }
+          archived.increment(moved.size());
+          return moved;
+        });
+  }
+}
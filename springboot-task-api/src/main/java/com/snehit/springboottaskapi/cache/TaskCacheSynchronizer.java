@@ -0,0 +1,49 @@
+package com.snehit.springboottaskapi.cache;
+
+import com.snehit.springboottaskapi.config.CacheConfig;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TasksChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the task cache in step with committed writes: created and updated tasks replace the cached
+ * entry, deleted and archived tasks are evicted. Running after commit means a rolled back write
+ * never reaches the cache.
+ */
+@Component
+public class TaskCacheSynchronizer {
+
+  private final Cache cache;
+
+  @Autowired
+  public TaskCacheSynchronizer(CacheManager cacheManager) {
+    this.cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+  }
+
+  @TransactionalEventListener
+  public void onTaskChanged(TaskChangedEvent event) {
+    if (cache != null) {
+      apply(event);
+    }
+  }
+
+  @TransactionalEventListener
+  public void onTasksChanged(TasksChangedEvent event) {
+    if (cache != null) {
+      event.changes().forEach(this::apply);
+    }
+  }
+
+  private void apply(TaskChangedEvent event) {
+    if (event.task() == null) {
+      // deleted, or archived and read from the archive on the next lookup
+      cache.evict(event.taskId());
+    } else {
+      cache.put(event.taskId(), event.task());
+    }
+  }
+}
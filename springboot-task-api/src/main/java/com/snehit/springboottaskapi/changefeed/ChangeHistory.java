@@ -0,0 +1,61 @@
+package com.snehit.springboottaskapi.changefeed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring of the most recent changes, numbered from 1 in commit order. Connections read
+ * from it at their own pace, so a change is stored once however many connections receive it.
+ */
+final class ChangeHistory {
+
+  record Entry(long sequence, TaskChange change) {}
+
+  private final TaskChange[] ring;
+
+  /** Sequence number of the latest change, 0 when empty */
+  private long latest;
+
+  ChangeHistory(int capacity) {
+    this.ring = new TaskChange[capacity];
+  }
+
+  synchronized long append(TaskChange change) {
+    latest++;
+    ring[(int) (latest % ring.length)] = change;
+    return latest;
+  }
+
+  synchronized long appendAll(List<TaskChange> changes) {
+    for (TaskChange change : changes) {
+      append(change);
+    }
+    return latest;
+  }
+
+  synchronized long latest() {
+    return latest;
+  }
+
+  /** Whether every change after the given sequence number is still held */
+  synchronized boolean holdsAfter(long sequence) {
+    return sequence >= 0 && sequence <= latest && latest - sequence <= ring.length;
+  }
+
+  /**
+   * Up to max changes after the given sequence number, oldest first
+   *
+   * @return the changes, or null if some of them have already been overwritten
+   */
+  synchronized List<Entry> after(long sequence, int max) {
+    if (!holdsAfter(sequence)) {
+      return null;
+    }
+    int count = (int) Math.min(max, latest - sequence);
+    List<Entry> entries = new ArrayList<>(count);
+    for (long next = sequence + 1; next <= sequence + count; next++) {
+      entries.add(new Entry(next, ring[(int) (next % ring.length)]));
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,35 @@
+package com.snehit.springboottaskapi.changefeed;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One committed task change as sent on the change feed
+ *
+ * @param type kind of change
+ * @param taskId id of the changed task
+ * @param previousStatus status before the change, absent for created tasks
+ * @param task state after the change, absent for deleted and archived tasks
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A committed task change")
+public record TaskChange(
+    @Schema(description = "Kind of change", example = "UPDATED") TaskChangedEvent.Type type,
+    @Schema(description = "ID of the changed task", example = "1") Long taskId,
+    @Schema(description = "Status before the change", example = "TODO") TaskStatus previousStatus,
+    @Schema(description = "Task after the change") Task task) {
+
+  static TaskChange of(TaskChangedEvent event) {
+    return new TaskChange(event.type(), event.taskId(), event.previousStatus(), event.task());
+  }
+
+  /** Whether a feed filtered by the given status should see this change */
+  boolean concerns(TaskStatus status) {
+    return status == null
+        || status == previousStatus
+        || (task != null && status == task.getStatus());
+  }
+}
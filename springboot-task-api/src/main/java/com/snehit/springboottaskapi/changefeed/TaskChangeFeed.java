@@ -0,0 +1,347 @@
+package com.snehit.springboottaskapi.changefeed;
+
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TasksChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed task changes to Server-Sent Events connections.
+ *
+ * <p>Connections are asynchronous requests, so an idle connection holds no thread. Each committed
+ * change is appended once to a ring of the last {@code history} changes, and every connection
+ * keeps its own position in that ring. A small pool of {@code senders} threads writes to the
+ * connections that have changes pending, at most one thread per connection at a time and at most
+ * {@value #SEND_BATCH} changes before it moves on to the next connection.
+ *
+ * <p>Event ids are resume tokens: a client that reconnects with {@code Last-Event-ID} receives the
+ * changes it missed, as long as they are still in the ring and the server has not restarted.
+ * Otherwise it receives a {@code reset} event and should reload the list. A connection that falls
+ * so far behind that the ring overwrites changes it has not received is closed; its client then
+ * reconnects and is told to reset.
+ *
+ * <p>A connection that stops reading stalls the write its sender is in. A write still running after
+ * {@code write-timeout} gets its connection dropped, and the pool gets an extra thread so the other
+ * connections keep being served. The stalled thread is given back when the server's socket timeout
+ * ends the write.
+ */
+@Component
+public class TaskChangeFeed {
+
+  /** Changes written to one connection before its sender moves on */
+  static final int SEND_BATCH = 100;
+
+  static final String RESET_EVENT = "reset";
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+  private final ChangeHistory history;
+
+  /** Distinguishes the resume tokens of this run from those of an earlier one */
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+  private final Duration timeout;
+
+  private final ThreadPoolExecutor senders;
+
+  private final int senderCount;
+
+  private final Duration writeTimeout;
+
+  /** Senders stuck in the write of a dropped connection, each replaced by an extra thread */
+  private int stalledSenders;
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+  private final Counter fellBehind;
+
+  private final Counter droppedSlow;
+
+  @Autowired
+  public TaskChangeFeed(
+      MeterRegistry meterRegistry,
+      @Value("${task.changes.history:10000}") int history,
+      @Value("${task.changes.senders:4}") int senders,
+      @Value("${task.changes.timeout:PT30M}") Duration timeout,
+      @Value("${task.changes.write-timeout:PT5S}") Duration writeTimeout) {
+    this.history = new ChangeHistory(history);
+    this.timeout = timeout;
+    this.senderCount = senders;
+    this.writeTimeout = writeTimeout;
+    this.senders =
+        new ThreadPoolExecutor(
+            senders,
+            senders,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new CustomizableThreadFactory("changes-"));
+
+    Gauge.builder("task.changes.connections", subscribers, Set::size)
+        .description("Open change feed connections")
+        .register(meterRegistry);
+    this.fellBehind =
+        Counter.builder("task.changes.fell-behind")
+            .description("Change feed connections closed because they fell behind the history")
+            .register(meterRegistry);
+    this.droppedSlow =
+        Counter.builder("task.changes.dropped-slow")
+            .description("Change feed connections dropped because a write to them stalled")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Open a change feed connection
+   *
+   * @param status only send changes into or out of this status; null for all changes
+   * @param lastEventId id of the last event the client received, to resume after it
+   */
+  public SseEmitter subscribe(TaskStatus status, String lastEventId) throws IOException {
+    SseEmitter emitter = new SseEmitter(timeout.toMillis());
+    Subscriber subscriber = new Subscriber(emitter, status);
+    Long resumeAfter = resumePoint(lastEventId);
+    subscriber.lastSent = resumeAfter != null ? resumeAfter : history.latest();
+    if (resumeAfter == null && lastEventId != null) {
+      // the missed changes are gone; the client has to reload what it shows
+      emitter.send(SseEmitter.event().id(token(subscriber.lastSent)).name(RESET_EVENT).data(""));
+    } else {
+      // sent once the handler returns, committing the response headers before the first change
+      emitter.send(SseEmitter.event().comment("connected"));
+    }
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(() -> subscribers.remove(subscriber));
+    emitter.onError(e -> subscribers.remove(subscriber));
+    subscribers.add(subscriber);
+    // picks up changes committed since lastSent was read
+    signal(subscriber);
+    return emitter;
+  }
+
+  /** Record a committed change and wake the connections */
+  @TransactionalEventListener
+  public void onTaskChanged(TaskChangedEvent event) {
+    history.append(TaskChange.of(event));
+    signalAll();
+  }
+
+  /** Record a committed batch of changes and wake the connections once */
+  @TransactionalEventListener
+  public void onTasksChanged(TasksChangedEvent event) {
+    history.appendAll(event.changes().stream().map(TaskChange::of).toList());
+    signalAll();
+  }
+
+  /** Send a comment on connections that have been idle, so dead ones are noticed and dropped */
+  @Scheduled(
+      initialDelayString = "${task.changes.heartbeat:PT30S}",
+      fixedDelayString = "${task.changes.heartbeat:PT30S}")
+  public void heartbeat() {
+    for (Subscriber subscriber : subscribers) {
+      subscriber.heartbeatDue = true;
+      signal(subscriber);
+    }
+  }
+
+  /**
+   * Drop connections whose write has run longer than the write timeout, so a client that stopped
+   * reading is noticed within twice the timeout
+   */
+  @Scheduled(
+      initialDelayString = "${task.changes.write-timeout:PT5S}",
+      fixedDelayString = "${task.changes.write-timeout:PT5S}")
+  public void dropStalled() {
+    long now = System.nanoTime();
+    for (Subscriber subscriber : subscribers) {
+      // the state is read first, so the start time belongs to the write in progress
+      if (subscriber.writeState.get() == Subscriber.WRITING
+          && now - subscriber.writeStartedAt > writeTimeout.toNanos()
+          && subscriber.writeState.compareAndSet(Subscriber.WRITING, Subscriber.STALLED)) {
+        logger.debug(
+            "Dropping change feed connection whose write stalled at {}", subscriber.lastSent);
+        droppedSlow.increment();
+        subscribers.remove(subscriber);
+        // the stalled write holds the emitter; its sender completes it once the write ends
+        resizeSenders(1);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    senders.shutdownNow();
+    for (Subscriber subscriber : subscribers) {
+      subscriber.emitter.complete();
+    }
+    subscribers.clear();
+  }
+
+  private void signalAll() {
+    for (Subscriber subscriber : subscribers) {
+      signal(subscriber);
+    }
+  }
+
+  private void signal(Subscriber subscriber) {
+    if (subscriber.scheduled.compareAndSet(false, true)) {
+      try {
+        senders.execute(() -> drain(subscriber));
+      } catch (RejectedExecutionException e) {
+        // shutting down
+        subscriber.scheduled.set(false);
+      }
+    }
+  }
+
+  private void drain(Subscriber subscriber) {
+    try {
+      List<ChangeHistory.Entry> entries = history.after(subscriber.lastSent, SEND_BATCH);
+      if (entries == null) {
+        logger.debug("Closing change feed connection that fell behind at {}", subscriber.lastSent);
+        fellBehind.increment();
+        subscribers.remove(subscriber);
+        subscriber.emitter.complete();
+        return;
+      }
+      boolean sent = false;
+      for (ChangeHistory.Entry entry : entries) {
+        TaskChange change = entry.change();
+        if (change.concerns(subscriber.status)) {
+          send(
+              subscriber,
+              SseEmitter.event()
+                  .id(token(entry.sequence()))
+                  .name(change.type().name().toLowerCase(Locale.ROOT))
+                  .data(change, MediaType.APPLICATION_JSON));
+          sent = true;
+        }
+        subscriber.lastSent = entry.sequence();
+      }
+      if (subscriber.heartbeatDue) {
+        subscriber.heartbeatDue = false;
+        if (!sent) {
+          send(subscriber, SseEmitter.event().comment("keep-alive"));
+        }
+      }
+    } catch (IOException | IllegalStateException e) {
+      // the client went away, or the request already completed
+      subscribers.remove(subscriber);
+      return;
+    } finally {
+      subscriber.scheduled.set(false);
+      if (subscriber.writeState.compareAndSet(Subscriber.STALLED, Subscriber.DROPPED)) {
+        subscriber.emitter.complete();
+        resizeSenders(-1);
+      }
+    }
+    if (subscriber.writeState.get() == Subscriber.IDLE && history.latest() > subscriber.lastSent) {
+      signal(subscriber);
+    }
+  }
+
+  private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+    subscriber.writeStartedAt = System.nanoTime();
+    if (!subscriber.writeState.compareAndSet(Subscriber.IDLE, Subscriber.WRITING)) {
+      throw new IllegalStateException("Connection was dropped after a stalled write");
+    }
+    try {
+      subscriber.emitter.send(event);
+    } catch (IOException | RuntimeException e) {
+      subscriber.writeState.compareAndSet(Subscriber.WRITING, Subscriber.DROPPED);
+      throw e;
+    }
+    if (!subscriber.writeState.compareAndSet(Subscriber.WRITING, Subscriber.IDLE)) {
+      throw new IllegalStateException("Connection was dropped while the write stalled");
+    }
+  }
+
+  /** Keep {@code senders} threads free for connections that are reading */
+  private synchronized void resizeSenders(int delta) {
+    stalledSenders += delta;
+    int size = senderCount + stalledSenders;
+    if (size > senders.getMaximumPoolSize()) {
+      senders.setMaximumPoolSize(size);
+      senders.setCorePoolSize(size);
+    } else {
+      senders.setCorePoolSize(size);
+      senders.setMaximumPoolSize(size);
+    }
+  }
+
+  private String token(long sequence) {
+    return epoch + "-" + sequence;
+  }
+
+  /** The sequence number to resume after, or null if the token cannot be resumed from */
+  private Long resumePoint(String lastEventId) {
+    if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+      return null;
+    }
+    try {
+      long sequence = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+      return history.holdsAfter(sequence) ? sequence : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static final class Subscriber {
+
+    private static final int IDLE = 0;
+
+    private static final int WRITING = 1;
+
+    private static final int STALLED = 2;
+
+    private static final int DROPPED = 3;
+
+    private final SseEmitter emitter;
+
+    private final TaskStatus status;
+
+    /** Set while a sender owns this connection */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile long lastSent;
+
+    private volatile boolean heartbeatDue;
+
+    private volatile long writeStartedAt;
+
+    /**
+     * {@link #IDLE} or {@link #WRITING}; a write that outlives the timeout moves it to {@link
+     * #STALLED}, and its sender to {@link #DROPPED} once the write ends. A failed write goes
+     * straight to {@link #DROPPED}.
+     */
+    private final AtomicInteger writeState = new AtomicInteger(IDLE);
+
+    private Subscriber(SseEmitter emitter, TaskStatus status) {
+      this.emitter = emitter;
+      this.status = status;
+    }
+  }
+}
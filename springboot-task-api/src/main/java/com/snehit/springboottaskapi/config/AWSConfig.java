@@ -1,17 +1,47 @@
 package com.snehit.springboottaskapi.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
 
 @Configuration
 public class AWSConfig {
 
+    /**
+     * Non-blocking EventBridge client for the OutboxDispatcher. Its connection pool matches the
+     * dispatcher's in-flight limit, every call is bounded by {@code api-call-timeout}, and the
+     * standard retry strategy retries throttling and transient errors with jittered exponential
+     * backoff. Setting {@code endpoint} points it at a local stub instead of AWS.
+     */
     @Bean
-    public EventBridgeClient eventBridgeClient() {
-        return EventBridgeClient.builder()
-                .region(Region.US_EAST_1)
-                .build();
+    public EventBridgeAsyncClient eventBridgeAsyncClient(
+            @Value("${task.events.eventbridge.region:us-east-1}") String region,
+            @Value("${task.events.eventbridge.endpoint:}") String endpoint,
+            @Value("${task.events.eventbridge.max-attempts:3}") int maxAttempts,
+            @Value("${task.events.eventbridge.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${task.events.eventbridge.api-call-timeout:PT10S}") Duration apiCallTimeout,
+            @Value("${task.events.outbox.max-in-flight:4}") int maxInFlight) {
+        EventBridgeAsyncClientBuilder builder = EventBridgeAsyncClient.builder()
+                .region(Region.of(region))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxInFlight)
+                        .connectionTimeout(connectTimeout))
+                .overrideConfiguration(override -> override
+                        .apiCallTimeout(apiCallTimeout)
+                        .retryStrategy(AwsRetryStrategy.standardRetryStrategy().toBuilder()
+                                .maxAttempts(maxAttempts)
+                                .build()));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.snehit.springboottaskapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables the Spring cache abstraction. The cache provider is chosen by {@code spring.cache.type},
+ * so the in-process Caffeine cache can be replaced by a shared one without code changes.
+ *
+ * <p>The caching advice runs outside the transaction advice, so a cache hit does not open a
+ * transaction or borrow a connection.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+  public static final String TASKS_CACHE = "tasks";
+}
@@ -0,0 +1,47 @@
+package com.snehit.springboottaskapi.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Tells the clients of per-client request state apart: rate limits, read-your-writes pinning and
+ * idempotency keys.
+ *
+ * <p>A client is the authenticated user, else the value of the client header when the connection
+ * comes from one of the trusted proxies, else the remote address. Any client can set the header, so
+ * it is only believed from a proxy that sets it itself; otherwise a client could take over another
+ * client's state, or send a new id on every request to escape its own.
+ */
+public final class ClientKeys {
+
+  private final String header;
+
+  private final Set<String> trustedProxies;
+
+  /**
+   * @param header request header a trusted proxy names the client in
+   * @param trustedProxies remote addresses of the proxies whose header is believed
+   */
+  public ClientKeys(String header, Collection<String> trustedProxies) {
+    this.header = header;
+    this.trustedProxies = Set.copyOf(trustedProxies);
+  }
+
+  /** The key of the client that sent the request */
+  public String of(HttpServletRequest request) {
+    Principal user = request.getUserPrincipal();
+    if (user != null) {
+      return "user:" + user.getName();
+    }
+    String remoteAddr = request.getRemoteAddr();
+    if (trustedProxies.contains(remoteAddr)) {
+      String client = request.getHeader(header);
+      if (client != null && !client.isBlank()) {
+        return "client:" + client;
+      }
+    }
+    return "address:" + remoteAddr;
+  }
+}
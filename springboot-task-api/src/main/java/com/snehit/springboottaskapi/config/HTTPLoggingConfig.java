@@ -1,22 +0,0 @@
-package com.snehit.springboottaskapi.config;
-
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.filter.CommonsRequestLoggingFilter;
-
-@Configuration
-public class HTTPLoggingConfig {
-
-    @Bean
-    public CommonsRequestLoggingFilter requestLoggingFilter() {
-        CommonsRequestLoggingFilter filter = new CommonsRequestLoggingFilter();
-        filter.setIncludeClientInfo(true);
-        filter.setIncludeQueryString(true);
-        filter.setIncludePayload(true);
-        filter.setMaxPayloadLength(10_000);
-        filter.setIncludeHeaders(false);
-        filter.setAfterMessagePrefix("HTTP REQUEST: ");
-        return filter;
-    }
-}
@@ -0,0 +1,78 @@
+package com.snehit.springboottaskapi.config;
+
+import com.snehit.springboottaskapi.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read replicas, active when {@code task.replicas.urls} is set. The application DataSource then
+ * routes read-only transactions to the replicas and everything else to {@code spring.datasource},
+ * see ReplicaRoutingDataSource. Replicas use the primary's driver and credentials, with pools of
+ * {@code pool-size} read-only connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "task.replicas.urls")
+public class ReplicaRoutingConfig {
+
+  /** The primary pool, configured by {@code spring.datasource} and its {@code hikari} settings */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      DataSourceProperties properties,
+      MeterRegistry meterRegistry,
+      @Value("${task.replicas.urls}") List<String> urls,
+      @Value("${task.replicas.pool-size:10}") int poolSize,
+      @Value("${task.replicas.lag-query:}") String lagQuery,
+      @Value("${task.replicas.max-lag:PT5S}") Duration maxLag) {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (int i = 0; i < urls.size(); i++) {
+      String name = "replica-" + (i + 1);
+      HikariDataSource replica =
+          properties
+              .initializeDataSourceBuilder()
+              .type(HikariDataSource.class)
+              .url(urls.get(i).trim())
+              .build();
+      replica.setPoolName(name);
+      replica.setMaximumPoolSize(poolSize);
+      replica.setReadOnly(true);
+      // a replica that is down must not stop the application from starting
+      replica.setInitializationFailTimeout(-1);
+      // not beans, so Spring Boot does not bind their pool metrics
+      replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      replicas.put(name, replica);
+    }
+    return new ReplicaRoutingDataSource(
+        primaryDataSource, replicas, lagQuery, maxLag, meterRegistry);
+  }
+
+  /** The DataSource used by JPA and JDBC, deciding on a route when a connection is first used */
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+}
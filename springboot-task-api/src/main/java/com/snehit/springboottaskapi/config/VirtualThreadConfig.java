@@ -0,0 +1,43 @@
+package com.snehit.springboottaskapi.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.StringUtils;
+
+/**
+ * Adjustments for the virtual-thread execution mode, active when {@code
+ * spring.threads.virtual.enabled} is set and the application runs on Java 21 or later. Spring Boot
+ * itself moves Tomcat request handling, the application task executor (search index rebuilds) and
+ * the scheduler (outbox dispatch, counter reconciliation) onto virtual threads.
+ *
+ * <p>A {@code @Cacheable(sync = true)} miss on the synchronous Caffeine cache runs the loader, and
+ * with it the transaction and JDBC query, inside a {@code ConcurrentHashMap} monitor, which pins
+ * the carrier thread for the whole database round trip. In async cache mode the monitor only
+ * guards the insertion of a future; the load runs on its own virtual thread and callers wait on
+ * the future, so concurrent misses still share a single load without pinning.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+  @Bean
+  public CacheManagerCustomizer<CaffeineCacheManager> virtualThreadCacheCustomizer(
+      CacheProperties cacheProperties) {
+    return cacheManager -> {
+      SimpleAsyncTaskExecutor loaderExecutor = new SimpleAsyncTaskExecutor("cache-load-");
+      loaderExecutor.setVirtualThreads(true);
+      String spec = cacheProperties.getCaffeine().getSpec();
+      Caffeine<Object, Object> caffeine =
+          StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+      cacheManager.setCaffeine(caffeine.executor(loaderExecutor));
+      cacheManager.setAsyncCacheMode(true);
+    };
+  }
+}
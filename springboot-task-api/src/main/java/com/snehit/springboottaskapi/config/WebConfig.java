@@ -13,8 +13,9 @@ public class WebConfig implements WebMvcConfigurer {
     registry
         .addMapping("/api/**")
         .allowedOriginPatterns("http://localhost:4200", "https://d3eohu6f5v8xz9.cloudfront.net")
-        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
         .allowedHeaders("*")
+        .exposedHeaders("ETag")
         .allowCredentials(false)
         .maxAge(3600);
   }
@@ -0,0 +1,36 @@
+package com.snehit.springboottaskapi.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the JSON API for service-to-service clients, chosen with {@code Accept} and
+ * {@code Content-Type}: {@code application/cbor} and {@code application/x-jackson-smile}. JSON
+ * stays the default for clients that accept anything.
+ *
+ * <p>The mappers are built from Spring Boot's builder, so {@code spring.jackson.*} settings and the
+ * Jackson annotations on the entities apply to every format alike. Response compression is
+ * configured separately under {@code server.compression}.
+ */
+@Configuration
+public class WireFormatConfig {
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build());
+  }
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(
+        builder.factory(new SmileFactory()).build());
+  }
+}
@@ -0,0 +1,90 @@
+package com.snehit.springboottaskapi.controller;
+
+import com.snehit.springboottaskapi.dto.CursorPage;
+import com.snehit.springboottaskapi.dto.TaskView;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.exception.TaskVersionMismatchException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Entity tags for task responses, derived from task versions so they can be computed without
+ * serializing the body.
+ *
+ * <p>A single task gets the strong tag {@code "<version>"}, which {@code If-Match} accepts. A
+ * listing gets a weak tag hashed from the ids and versions of its tasks plus its paging state; it
+ * changes whenever a listed task is updated, or the listing gains or loses a task.
+ */
+final class TaskETags {
+
+  private TaskETags() {}
+
+  static String of(Task task) {
+    return "\"" + task.getVersion() + "\"";
+  }
+
+  /** The fields are part of the tag, as the same tasks give a different body for other fields */
+  static String of(Slice<TaskView> slice, Set<TaskField> fields) {
+    long hash = hash(slice.getContent(), TaskView::getId, TaskView::getVersion);
+    for (TaskField field : fields) {
+      // ordinals rather than hashCode, so the tag is the same on every instance
+      hash = 31 * hash + field.ordinal();
+    }
+    hash = 31 * hash + slice.getNumber();
+    hash = 31 * hash + slice.getSize();
+    hash = 31 * hash + (slice.hasNext() ? 1 : 0);
+    if (slice instanceof Page<TaskView> page) {
+      hash = 31 * hash + page.getTotalElements();
+    }
+    return weak(hash);
+  }
+
+  static String of(CursorPage<Task> page) {
+    long hash = hash(page.getContent(), Task::getId, Task::getVersion);
+    hash = 31 * hash + Objects.hashCode(page.getNextCursor());
+    return weak(hash);
+  }
+
+  /**
+   * The version an {@code If-Match} header requires, or null when the header is absent or
+   * {@code *}
+   *
+   * @throws TaskVersionMismatchException if the header holds a tag that can never match a task
+   *     version, such as a weak or listing tag
+   */
+  static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String tag = ifMatch.trim();
+    if (tag.contains(",")) {
+      throw new IllegalArgumentException("If-Match must contain a single entity tag");
+    }
+    if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+      try {
+        return Long.parseLong(tag.substring(1, tag.length() - 1));
+      } catch (NumberFormatException e) {
+        // fall through to the mismatch below
+      }
+    }
+    throw new TaskVersionMismatchException("If-Match " + tag + " does not name a task version");
+  }
+
+  private static <T> long hash(List<T> tasks, Function<T, Long> id, Function<T, Long> version) {
+    long hash = 17;
+    for (T task : tasks) {
+      hash = 31 * hash + Objects.hashCode(id.apply(task));
+      hash = 31 * hash + Objects.hashCode(version.apply(task));
+    }
+    return hash;
+  }
+
+  private static String weak(long hash) {
+    return "W/\"" + Long.toHexString(hash) + "\"";
+  }
+}
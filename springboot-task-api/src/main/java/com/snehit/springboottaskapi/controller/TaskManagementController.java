@@ -1,97 +1,332 @@
 package com.snehit.springboottaskapi.controller;
 
+import com.snehit.springboottaskapi.changefeed.TaskChangeFeed;
+import com.snehit.springboottaskapi.dto.BulkResult;
+import com.snehit.springboottaskapi.dto.CursorPage;
+import com.snehit.springboottaskapi.dto.ImportResult;
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.dto.TaskStats;
+import com.snehit.springboottaskapi.dto.TaskView;
 import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.ExportFormat;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.enums.TaskSortField;
 import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskBulkService;
+import com.snehit.springboottaskapi.service.ITaskExportService;
+import com.snehit.springboottaskapi.service.ITaskImportService;
 import com.snehit.springboottaskapi.service.ITaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/tasks")
 @CrossOrigin(origins = "*")
 public class TaskManagementController {
 
+  private static final String FIELDS_DESCRIPTION =
+      "Comma-separated fields to return, e.g. title,description; id and version are always"
+          + " returned. Defaults to id,title,status,dueDate,version";
+
+  private static final String INCLUDE_ARCHIVED_DESCRIPTION =
+      "Also list completed tasks that were moved to the archive";
+
   private final ITaskService taskService;
 
+  private final ITaskBulkService taskBulkService;
+
+  private final ITaskExportService taskExportService;
+
+  private final ITaskImportService taskImportService;
+
+  private final TaskChangeFeed taskChangeFeed;
+
   @Autowired
-  public TaskManagementController(ITaskService taskService) {
+  public TaskManagementController(
+      ITaskService taskService,
+      ITaskBulkService taskBulkService,
+      ITaskExportService taskExportService,
+      ITaskImportService taskImportService,
+      TaskChangeFeed taskChangeFeed) {
     this.taskService = taskService;
+    this.taskBulkService = taskBulkService;
+    this.taskExportService = taskExportService;
+    this.taskImportService = taskImportService;
+    this.taskChangeFeed = taskChangeFeed;
   }
 
   @PostMapping
   @Operation(summary = "Create a new task")
   public ResponseEntity<Task> createTask(@Valid @RequestBody Task task) {
     Task createdTask = taskService.createTask(task);
-    return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .eTag(TaskETags.of(createdTask))
+        .body(createdTask);
+  }
+
+  @PostMapping("/bulk")
+  @Operation(summary = "Create many tasks, with a result per item")
+  public ResponseEntity<BulkResult> createTasks(@RequestBody List<Task> tasks) {
+    return ResponseEntity.ok(taskBulkService.createTasks(tasks));
+  }
+
+  @PutMapping("/bulk")
+  @Operation(summary = "Update many tasks by ID, with a result per item")
+  public ResponseEntity<BulkResult> updateTasks(@RequestBody List<Task> tasks) {
+    return ResponseEntity.ok(taskBulkService.updateTasks(tasks));
+  }
+
+  @DeleteMapping("/bulk")
+  @Operation(summary = "Delete many tasks by ID, with a result per item")
+  public ResponseEntity<BulkResult> deleteTasks(@RequestBody List<Long> ids) {
+    return ResponseEntity.ok(taskBulkService.deleteTasks(ids));
   }
 
   @GetMapping
   @Operation(summary = "Get all tasks with pagination and filtering")
-  public ResponseEntity<Page<Task>> getAllTasks(
+  public ResponseEntity<Slice<TaskView>> getAllTasks(
       @Parameter(description = "Filter by task status") @RequestParam(required = false)
           TaskStatus status,
       @Parameter(description = "Filter by title containing text") @RequestParam(required = false)
           String title,
       @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
       @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
-      @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt")
+      @Parameter(description = "Sort by field (createdAt, dueDate, id)")
+          @RequestParam(defaultValue = "createdAt")
           String sortBy,
       @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "desc")
-          String sortDir) {
+          String sortDir,
+      @Parameter(description = "Include totalElements/totalPages in the response")
+          @RequestParam(defaultValue = "false")
+          boolean includeTotal,
+      @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false)
+          String fields,
+      @Parameter(description = INCLUDE_ARCHIVED_DESCRIPTION)
+          @RequestParam(defaultValue = "false")
+          boolean includeArchived) {
 
+    Set<TaskField> selected = TaskField.parse(fields);
     Sort.Direction direction =
         sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
 
-    Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-    Page<Task> tasks = taskService.getAllTasks(status, title, pageable);
+    // only indexed fields, with the id as tiebreaker so pages are stable and read in index order
+    TaskSortField sortField = TaskSortField.fromProperty(sortBy);
+    Sort sort = Sort.by(direction, sortField.getProperty());
+    if (sortField != TaskSortField.ID) {
+      sort = sort.and(Sort.by(direction, TaskSortField.ID.getProperty()));
+    }
+    Pageable pageable = PageRequest.of(page, size, sort);
+    Slice<TaskView> tasks =
+        includeTotal
+            ? taskService.getAllTaskViews(selected, status, title, includeArchived, pageable)
+            : taskService.getTaskViewSlice(selected, status, title, includeArchived, pageable);
 
+    return ResponseEntity.ok().eTag(TaskETags.of(tasks, selected)).body(tasks);
+  }
+
+  @GetMapping("/search")
+  @Operation(summary = "Search task titles and descriptions, best matches first")
+  public ResponseEntity<Page<Task>> searchTasks(
+      @Parameter(description = "Text to find (substring, or word prefix for 2 characters)")
+          @RequestParam
+          String q,
+      @Parameter(description = "Filter by task status") @RequestParam(required = false)
+          TaskStatus status,
+      @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+
+    Page<Task> tasks = taskService.searchTasks(q, status, PageRequest.of(page, size));
     return ResponseEntity.ok(tasks);
   }
 
+  @GetMapping("/export")
+  @Operation(summary = "Stream all matching tasks as NDJSON or CSV")
+  public ResponseEntity<StreamingResponseBody> exportTasks(
+      @Parameter(description = "Filter by task status") @RequestParam(required = false)
+          TaskStatus status,
+      @Parameter(description = "Filter by title containing text") @RequestParam(required = false)
+          String title,
+      @Parameter(description = "Output format (ndjson/csv)") @RequestParam(defaultValue = "ndjson")
+          String format) {
+
+    ExportFormat exportFormat = ExportFormat.fromName(format);
+    StreamingResponseBody body =
+        out -> taskExportService.exportTasks(status, title, exportFormat, out);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename("tasks." + exportFormat.getExtension())
+                .build()
+                .toString())
+        .body(body);
+  }
+
+  @PostMapping("/import")
+  @Operation(summary = "Import tasks from an NDJSON or CSV request body, resumable by job ID")
+  public ResponseEntity<ImportResult> importTasks(
+      @Parameter(description = "Input format (ndjson/csv)") @RequestParam(defaultValue = "ndjson")
+          String format,
+      @Parameter(description = "Job ID; resubmit the same input with it to resume a failed import")
+          @RequestParam(required = false)
+          String jobId,
+      InputStream body)
+      throws IOException {
+    return ResponseEntity.ok(
+        taskImportService.importTasks(body, ExportFormat.fromName(format), jobId));
+  }
+
+  @GetMapping("/import/{jobId}")
+  @Operation(summary = "Get the progress of an import")
+  public ResponseEntity<ImportResult> getImportProgress(
+      @Parameter(description = "Import job ID") @PathVariable String jobId) {
+    return ResponseEntity.ok(taskImportService.getImportProgress(jobId));
+  }
+
+  @GetMapping("/stats")
+  @Operation(summary = "Get the number of tasks per status")
+  public ResponseEntity<TaskStats> getTaskStats() {
+    return ResponseEntity.ok(taskService.getTaskStats());
+  }
+
+  @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(
+      summary =
+          "Stream committed task changes as Server-Sent Events; send Last-Event-ID to resume after"
+              + " a reconnect")
+  public SseEmitter streamChanges(
+      @Parameter(description = "Only send changes into or out of this status")
+          @RequestParam(required = false)
+          TaskStatus status,
+      @Parameter(description = "ID of the last event received")
+          @RequestHeader(value = "Last-Event-ID", required = false)
+          String lastEventId)
+      throws IOException {
+    return taskChangeFeed.subscribe(status, lastEventId);
+  }
+
+  @GetMapping("/cursor")
+  @Operation(summary = "Get tasks with cursor (keyset) pagination and filtering")
+  public ResponseEntity<CursorPage<Task>> getTasksByCursor(
+      @Parameter(description = "Filter by task status") @RequestParam(required = false)
+          TaskStatus status,
+      @Parameter(description = "Filter by title containing text") @RequestParam(required = false)
+          String title,
+      @Parameter(description = "Cursor returned as nextCursor by the previous call")
+          @RequestParam(required = false)
+          String after,
+      @Parameter(description = "Maximum number of tasks to return")
+          @RequestParam(defaultValue = "50")
+          int limit,
+      @Parameter(description = "Sort by field (createdAt, dueDate, id), defaults to createdAt")
+          @RequestParam(required = false)
+          String sortBy,
+      @Parameter(description = "Sort direction (asc/desc), defaults to desc")
+          @RequestParam(required = false)
+          String sortDir) {
+
+    TaskSortField sortField = sortBy == null ? null : TaskSortField.fromProperty(sortBy);
+    Sort.Direction direction =
+        sortDir == null
+            ? null
+            : sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+    CursorPage<Task> tasks =
+        taskService.getTasksAfter(status, title, after, limit, sortField, direction);
+    return ResponseEntity.ok().eTag(TaskETags.of(tasks)).body(tasks);
+  }
+
+  // GET responses carrying an ETag are answered with 304 and no body when If-None-Match matches
+
   @GetMapping("/{id}")
-  @Operation(summary = "Get task by ID")
+  @Operation(summary = "Get task by ID; If-None-Match with the task's ETag returns 304")
   public ResponseEntity<Task> getTaskById(
       @Parameter(description = "Task ID") @PathVariable Long id) {
     Task task = taskService.getTaskById(id);
-    return ResponseEntity.ok(task);
+    return ResponseEntity.ok().eTag(TaskETags.of(task)).body(task);
   }
 
   @PutMapping("/{id}")
-  @Operation(summary = "Update an existing task")
+  @Operation(summary = "Update an existing task; with If-Match, only if its ETag still matches")
   public ResponseEntity<Task> updateTask(
       @Parameter(description = "Task ID") @PathVariable Long id,
+      @Parameter(description = "ETag of the version being updated")
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          String ifMatch,
       @Valid @RequestBody Task taskDetails) {
-    Task updatedTask = taskService.updateTask(id, taskDetails);
-    return ResponseEntity.ok(updatedTask);
+    Task updatedTask =
+        taskService.updateTask(id, taskDetails, TaskETags.expectedVersion(ifMatch));
+    return ResponseEntity.ok().eTag(TaskETags.of(updatedTask)).body(updatedTask);
+  }
+
+  @PatchMapping("/{id}")
+  @Operation(
+      summary =
+          "Change only the given fields of a task in a single UPDATE; with If-Match, only if its"
+              + " ETag still matches")
+  public ResponseEntity<Task> patchTask(
+      @Parameter(description = "Task ID") @PathVariable Long id,
+      @Parameter(description = "ETag of the version being updated")
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          String ifMatch,
+      @Valid @RequestBody TaskPatch patch) {
+    Task patchedTask = taskService.patchTask(id, patch, TaskETags.expectedVersion(ifMatch));
+    return ResponseEntity.ok().eTag(TaskETags.of(patchedTask)).body(patchedTask);
   }
 
   @DeleteMapping("/{id}")
-  @Operation(summary = "Delete a task")
+  @Operation(summary = "Delete a task; with If-Match, only if its ETag still matches")
   public ResponseEntity<Void> deleteTask(
-      @Parameter(description = "Task ID") @PathVariable Long id) {
-    taskService.deleteTask(id);
+      @Parameter(description = "Task ID") @PathVariable Long id,
+      @Parameter(description = "ETag of the version being deleted")
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          String ifMatch) {
+    taskService.deleteTask(id, TaskETags.expectedVersion(ifMatch));
     return ResponseEntity.noContent().build();
   }
 
   @GetMapping("/status/{status}")
   @Operation(summary = "Get tasks by status")
-  public ResponseEntity<Page<Task>> getTasksByStatus(
+  public ResponseEntity<Slice<TaskView>> getTasksByStatus(
       @Parameter(description = "Task status") @PathVariable TaskStatus status,
       @RequestParam(defaultValue = "0") int page,
-      @RequestParam(defaultValue = "10") int size) {
+      @RequestParam(defaultValue = "10") int size,
+      @Parameter(description = "Include totalElements/totalPages in the response")
+          @RequestParam(defaultValue = "false")
+          boolean includeTotal,
+      @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false)
+          String fields,
+      @Parameter(description = INCLUDE_ARCHIVED_DESCRIPTION)
+          @RequestParam(defaultValue = "false")
+          boolean includeArchived) {
 
+    Set<TaskField> selected = TaskField.parse(fields);
     Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-    Page<Task> tasks = taskService.getAllTasks(status, null, pageable);
+    Slice<TaskView> tasks =
+        includeTotal
+            ? taskService.getAllTaskViews(selected, status, null, includeArchived, pageable)
+            : taskService.getTaskViewSlice(selected, status, null, includeArchived, pageable);
 
-    return ResponseEntity.ok(tasks);
+    return ResponseEntity.ok().eTag(TaskETags.of(tasks, selected)).body(tasks);
   }
 }
@@ -0,0 +1,147 @@
+package com.snehit.springboottaskapi.dataenrich;
+
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills the tasks table with a synthetic production-like dataset at startup, e.g. {@code
+ * --task.seed.count=5000000}.
+ *
+ * <p>Creation times cover {@code task.seed.history-days} with volume growing towards the present.
+ * Older tasks are more likely to be completed, lead times to the due date are skewed towards a few
+ * days, and open tasks can be overdue. Rows are written with batched JDBC inserts, bypassing the
+ * API validation (which would reject past due dates). Runners finish before the application is
+ * ready, so the status counters and search index are built from the seeded data.
+ */
+@Component
+@Order(1)
+@ConditionalOnProperty(name = "task.seed.count")
+public class SyntheticTaskSeeder implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(SyntheticTaskSeeder.class);
+
+  private static final int BATCH_SIZE = 5_000;
+
+  private static final int PROGRESS_LOG_INTERVAL = 100_000;
+
+  private static final String INSERT_SQL =
+      "INSERT INTO tasks (id, title, description, status, due_date, created_at, updated_at) "
+          + "VALUES (nextval('tasks_seq'), ?, ?, ?, ?, ?, ?)";
+
+  private static final String[] VERBS = {
+    "Review", "Update", "Fix", "Deploy", "Document", "Migrate", "Test", "Refactor", "Plan",
+    "Prepare", "Investigate", "Configure", "Design", "Automate", "Clean up", "Audit"
+  };
+
+  private static final String[] SUBJECTS = {
+    "login page", "billing service", "release notes", "database schema", "CI pipeline",
+    "onboarding guide", "API rate limits", "customer report", "backup policy", "search index",
+    "dashboard widgets", "payment webhook", "Kubernetes manifests", "security patches",
+    "quarterly roadmap", "error alerts", "mobile build", "S3 lifecycle rules", "sprint backlog"
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${task.seed.count}")
+  private long count;
+
+  @Value("${task.seed.history-days:365}")
+  private int historyDays;
+
+  @Value("${task.seed.random-seed:42}")
+  private long randomSeed;
+
+  @Autowired
+  public SyntheticTaskSeeder(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (count <= 0) {
+      return;
+    }
+    logger.info("Seeding {} synthetic tasks over {} days of history", count, historyDays);
+    long start = System.currentTimeMillis();
+    Random random = new Random(randomSeed);
+    LocalDateTime now = LocalDateTime.now();
+    List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+    for (long i = 1; i <= count; i++) {
+      batch.add(row(random, now));
+      if (batch.size() == BATCH_SIZE || i == count) {
+        insert(batch);
+        batch.clear();
+      }
+      if (i % PROGRESS_LOG_INTERVAL == 0) {
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        logger.info("Seeded {} of {} tasks ({} rows/s)", i, count, i * 1000 / elapsed);
+      }
+    }
+    logger.info("Seeded {} tasks in {} ms", count, System.currentTimeMillis() - start);
+  }
+
+  private void insert(List<Object[]> batch) {
+    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+  }
+
+  Object[] row(Random random, LocalDateTime now) {
+    long historyMinutes = Duration.ofDays(historyDays).toMinutes();
+    // sqrt skews creation times towards the present, i.e. a growing workload
+    double position = Math.sqrt(random.nextDouble());
+    LocalDateTime createdAt = now.minusMinutes((long) (historyMinutes * (1 - position)));
+    double age = 1 - position;
+
+    // lead time: mostly days, occasionally weeks to months
+    long leadMinutes = 60 + (long) (-Math.log(1 - random.nextDouble()) * 7 * 24 * 60);
+    LocalDateTime dueDate = createdAt.plusMinutes(Math.min(leadMinutes, 90L * 24 * 60));
+
+    TaskStatus status;
+    if (random.nextDouble() < 0.15 + 0.8 * Math.min(1, age * 4)) {
+      status = TaskStatus.COMPLETED;
+    } else {
+      status = random.nextDouble() < 0.6 ? TaskStatus.TODO : TaskStatus.IN_PROGRESS;
+    }
+
+    LocalDateTime updatedAt = createdAt;
+    if (status != TaskStatus.TODO) {
+      LocalDateTime latest = status == TaskStatus.COMPLETED && dueDate.isBefore(now) ? dueDate : now;
+      long window = Math.max(1, Duration.between(createdAt, latest).toMinutes());
+      updatedAt = createdAt.plusMinutes((long) (random.nextDouble() * window));
+    }
+
+    String title =
+        VERBS[random.nextInt(VERBS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)];
+    String description =
+        random.nextDouble() < 0.3
+            ? null
+            : title + " for " + SUBJECTS[random.nextInt(SUBJECTS.length)] + " (ref "
+                + random.nextInt(100_000) + ")";
+    return new Object[] {
+      title,
+      description,
+      status.name(),
+      Timestamp.valueOf(dueDate),
+      Timestamp.valueOf(createdAt),
+      Timestamp.valueOf(updatedAt)
+    };
+  }
+}
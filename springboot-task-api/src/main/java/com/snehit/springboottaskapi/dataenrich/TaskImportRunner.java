@@ -0,0 +1,79 @@
+package com.snehit.springboottaskapi.dataenrich;
+
+import com.snehit.springboottaskapi.dto.ImportResult;
+import com.snehit.springboottaskapi.enums.ExportFormat;
+import com.snehit.springboottaskapi.service.ITaskImportService;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Imports a task file at startup, e.g.
+ *
+ * <pre>
+ * java -jar springboot-task-api.jar --task.import.file=tasks.csv --task.import.job-id=planner-01
+ * </pre>
+ *
+ * <p>The format follows the file extension (.csv, otherwise NDJSON). Rerunning with the same job
+ * id after a failure resumes from the last checkpoint. Unless {@code task.import.exit=false}, the
+ * application exits when the import is done, with status 1 if it failed.
+ */
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "task.import.file")
+public class TaskImportRunner implements ApplicationRunner {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskImportRunner.class);
+
+  private final ITaskImportService taskImportService;
+
+  private final ConfigurableApplicationContext context;
+
+  @Value("${task.import.file}")
+  private Path file;
+
+  @Value("${task.import.job-id:}")
+  private String jobId;
+
+  @Value("${task.import.exit:true}")
+  private boolean exit;
+
+  @Autowired
+  public TaskImportRunner(
+      ITaskImportService taskImportService, ConfigurableApplicationContext context) {
+    this.taskImportService = taskImportService;
+    this.context = context;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    ExportFormat format =
+        file.getFileName().toString().toLowerCase().endsWith(".csv")
+            ? ExportFormat.CSV
+            : ExportFormat.NDJSON;
+    String job = jobId.isBlank() ? file.getFileName().toString() : jobId;
+    int exitCode = 0;
+    try (InputStream in = Files.newInputStream(file)) {
+      ImportResult result = taskImportService.importTasks(in, format, job);
+      result.getErrors().forEach(error -> logger.warn("Rejected {}", error));
+    } catch (Exception e) {
+      logger.error("Import of {} failed; rerun with job id {} to resume", file, job, e);
+      exitCode = 1;
+    }
+    if (exit) {
+      int code = exitCode;
+      System.exit(SpringApplication.exit(context, () -> code));
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.snehit.springboottaskapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Outcome of one item of a bulk request */
+@AllArgsConstructor
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Result for one item of a bulk request")
+public class BulkItemResult {
+
+  @Schema(description = "Position of the item in the request", example = "0")
+  private int index;
+
+  @Schema(description = "ID of the task the item refers to", example = "1")
+  private Long id;
+
+  @Schema(description = "HTTP status the item would have had as a single request", example = "201")
+  private int status;
+
+  @Schema(description = "Why the item was rejected", example = "Task title is required")
+  private String error;
+}
@@ -0,0 +1,25 @@
+package com.snehit.springboottaskapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Response of a bulk create, update or delete. Valid items are applied even when other items of
+ * the same request are rejected; {@code items} has one entry per request item, in request order.
+ */
+@AllArgsConstructor
+@Getter
+@Schema(description = "Per-item results of a bulk request")
+public class BulkResult {
+
+  @Schema(description = "Number of items applied", example = "998")
+  private int succeeded;
+
+  @Schema(description = "Number of items rejected", example = "2")
+  private int failed;
+
+  @Schema(description = "One result per request item, in request order")
+  private List<BulkItemResult> items;
+}
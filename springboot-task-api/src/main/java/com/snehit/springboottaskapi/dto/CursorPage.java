@@ -0,0 +1,28 @@
+package com.snehit.springboottaskapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One window of a keyset-paginated listing. Unlike a Page it carries no total; the next window is
+ * requested by passing {@code nextCursor} back as the {@code after} parameter.
+ */
+@AllArgsConstructor
+@Getter
+@Schema(description = "Cursor-paginated slice of results")
+public class CursorPage<T> {
+
+  @Schema(description = "Items in this window")
+  private List<T> content;
+
+  @Schema(description = "Number of items in this window", example = "50")
+  private int size;
+
+  @Schema(description = "Whether more items follow this window")
+  private boolean hasNext;
+
+  @Schema(description = "Opaque cursor for the next window, absent on the last window")
+  private String nextCursor;
+}
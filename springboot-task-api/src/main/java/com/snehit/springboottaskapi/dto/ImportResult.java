@@ -0,0 +1,33 @@
+package com.snehit.springboottaskapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+@Schema(description = "Progress and outcome of a task import")
+public class ImportResult {
+
+  @Schema(description = "Job id; resubmit the same input with it to resume", example = "planner-2025-01")
+  private String jobId;
+
+  @Schema(description = "Input records consumed so far", example = "50000")
+  private long rowsRead;
+
+  @Schema(description = "Tasks created", example = "49990")
+  private long imported;
+
+  @Schema(description = "Records rejected by parsing or validation", example = "10")
+  private long rejected;
+
+  @Schema(description = "Records skipped because an earlier run already committed them", example = "0")
+  private long resumedFrom;
+
+  @Schema(description = "Whether the whole input has been consumed")
+  private boolean completed;
+
+  @Schema(description = "The first rejections of this run, as 'row N: reason'")
+  private List<String> errors;
+}
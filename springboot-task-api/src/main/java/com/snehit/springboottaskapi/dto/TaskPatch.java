@@ -0,0 +1,60 @@
+package com.snehit.springboottaskapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Fields to change on a task; a null field is left as it is */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Schema(description = "Partial task update; omitted fields keep their current value")
+public class TaskPatch {
+
+  @Size(max = 255, message = "Title must not exceed 255 characters")
+  @Schema(description = "New title of the task", example = "Study Kubernetes Topic and Deploy to EKS")
+  private String title;
+
+  @Size(max = 1000, message = "Description must not exceed 1000 characters")
+  @Schema(description = "New description of the task", example = "Deploy the reviewed manifests")
+  private String description;
+
+  @Schema(description = "New status of the task", example = "COMPLETED")
+  private TaskStatus status;
+
+  @Future(message = "Due date must be in the future")
+  @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+  @Schema(description = "New due date and time for the task", example = "2025-12-31T23:59:59")
+  private LocalDateTime dueDate;
+
+  @JsonIgnore
+  public boolean isEmpty() {
+    return title == null && description == null && status == null && dueDate == null;
+  }
+
+  /** Copy the given fields onto the task */
+  public void applyTo(Task task) {
+    if (title != null) {
+      task.setTitle(title);
+    }
+    if (description != null) {
+      task.setDescription(description);
+    }
+    if (status != null) {
+      task.setStatus(status);
+    }
+    if (dueDate != null) {
+      task.setDueDate(dueDate);
+    }
+  }
+}
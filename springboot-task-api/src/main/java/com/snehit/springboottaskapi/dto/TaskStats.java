@@ -0,0 +1,27 @@
+package com.snehit.springboottaskapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+@Schema(description = "Number of tasks per status")
+public class TaskStats {
+
+  @Schema(description = "Task count for each status")
+  private Map<TaskStatus, Long> counts;
+
+  @Schema(description = "Total number of tasks", example = "42")
+  private long total;
+
+  @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+  @Schema(
+      description = "When the counters were last reconciled against the database",
+      example = "2025-01-15T10:30:00")
+  private LocalDateTime reconciledAt;
+}
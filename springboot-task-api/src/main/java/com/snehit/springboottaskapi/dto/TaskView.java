@@ -0,0 +1,47 @@
+package com.snehit.springboottaskapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A task read with only some of its fields, as returned by list endpoints. Fields that were not
+ * selected stay null and are left out of the JSON.
+ */
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Task with only the requested fields; id and version are always present")
+public class TaskView {
+
+  @Schema(description = "Unique identifier of the task", example = "1")
+  private Long id;
+
+  @Schema(description = "Title of the task", example = "Study Kubernetes Topic and Deploy to EKS")
+  private String title;
+
+  @Schema(description = "Detailed description of the task")
+  private String description;
+
+  @Schema(description = "Current status of the task", example = "TODO")
+  private TaskStatus status;
+
+  @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+  @Schema(description = "Due date and time for the task", example = "2025-12-31T23:59:59")
+  private LocalDateTime dueDate;
+
+  @Schema(description = "Timestamp when the task was created", example = "2025-01-15T10:30:00")
+  private LocalDateTime createdAt;
+
+  @Schema(description = "Timestamp when the task was last updated", example = "2025-01-15T10:30:00")
+  private LocalDateTime updatedAt;
+
+  @Schema(description = "Version of the task, returned as its ETag", example = "3")
+  private Long version;
+}
@@ -0,0 +1,50 @@
+package com.snehit.springboottaskapi.entity;
+
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * @Entity class ArchivedTask that holds a completed task moved out of the tasks table by the
+ * TaskArchiver. Rows keep the id and every column of the task, and are only read.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Table(name = "archived_tasks")
+public class ArchivedTask {
+
+  @Id private Long id;
+
+  @Column(nullable = false)
+  private String title;
+
+  @Column(length = 1000)
+  private String description;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private TaskStatus status;
+
+  @Column(name = "due_date", nullable = false)
+  private LocalDateTime dueDate;
+
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  @Column(nullable = false)
+  private Long version;
+
+  @Column(name = "archived_at", nullable = false)
+  private LocalDateTime archivedAt;
+
+  /** The task as it was when archived */
+  public Task toTask() {
+    return new Task(id, title, description, status, dueDate, createdAt, updatedAt, version);
+  }
+}
@@ -0,0 +1,55 @@
+package com.snehit.springboottaskapi.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+
+/**
+ * @Entity class ImportCheckpoint that records how far a task import has progressed. It is updated
+ * in the same transaction as each imported chunk, so a failed import can be resumed from the last
+ * committed row by resubmitting the same input with the same job id.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Table(name = "import_checkpoints")
+public class ImportCheckpoint {
+
+  @Id
+  @Column(name = "job_id", length = 100)
+  private String jobId;
+
+  @Column(nullable = false, length = 20)
+  private String format;
+
+  /** Input records consumed and committed, whether imported or rejected */
+  @Column(name = "rows_read", nullable = false)
+  private long rowsRead;
+
+  @Column(nullable = false)
+  private long imported;
+
+  @Column(nullable = false)
+  private long rejected;
+
+  @Column(nullable = false)
+  private boolean completed;
+
+  @Column(name = "started_at", nullable = false, updatable = false)
+  private LocalDateTime startedAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  void onCreate() {
+    startedAt = LocalDateTime.now();
+    updatedAt = startedAt;
+  }
+
+  @PreUpdate
+  void onUpdate() {
+    updatedAt = LocalDateTime.now();
+  }
+}
@@ -0,0 +1,63 @@
+package com.snehit.springboottaskapi.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * @Entity class OutboxEvent that holds an EventBridge entry written in the same transaction as the
+ * task change that produced it. Rows are removed by the OutboxDispatcher once EventBridge accepts
+ * them.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Table(name = "event_outbox")
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String source;
+
+  @Column(name = "detail_type", nullable = false)
+  private String detailType;
+
+  // set for status change events, which are merged per task while they wait
+  @Column(name = "task_id")
+  private Long taskId;
+
+  // EventBridge's 256 KB entry limit; a varchar rather than a @Lob, which PostgreSQL keeps apart
+  @Column(nullable = false, length = 262144)
+  private String detail;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  // a status change merged into the row while it is being sent makes the dispatcher's write a no-op
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
+  @PrePersist
+  void onCreate() {
+    createdAt = LocalDateTime.now();
+    if (nextAttemptAt == null) {
+      nextAttemptAt = createdAt;
+    }
+  }
+}
@@ -11,6 +11,7 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * @Entity class Task that defines the data structure object of a task
@@ -20,12 +21,13 @@ import lombok.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
-@Table(name = "tasks")
+@Table(name = "tasks") // schema and indexes: src/main/resources/db/migration
 @Schema(description = "Task entity representing a task in the system")
 public class Task {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+  @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
   @Schema(description = "Unique identifier of the task", example = "1", accessMode = Schema.AccessMode.READ_ONLY)
   private Long id;
 
@@ -60,6 +62,12 @@ public class Task {
   @Schema(description = "Timestamp when the task was last updated", example = "2025-01-15T10:30:00", accessMode = Schema.AccessMode.READ_ONLY)
   private LocalDateTime updatedAt;
 
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  @Schema(description = "Version of the task, incremented by every update and returned as its ETag", example = "3")
+  private Long version;
+
   @PrePersist
   void onCreate() {
     createdAt = LocalDateTime.now();
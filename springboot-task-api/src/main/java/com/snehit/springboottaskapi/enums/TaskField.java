@@ -0,0 +1,68 @@
+package com.snehit.springboottaskapi.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Whitelist of Task properties that list endpoints may be limited to with {@code fields=}. Only the
+ * selected columns are read from the database.
+ */
+@Schema(description = "Fields that task listings can be limited to")
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    DUE_DATE("dueDate"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    VERSION("version");
+
+    /**
+     * Fields of a listing without {@code fields=}, what a list view shows
+     */
+    public static final Set<TaskField> SUMMARY =
+            Collections.unmodifiableSet(EnumSet.of(ID, TITLE, STATUS, DUE_DATE, VERSION));
+
+    private final String property;
+
+    TaskField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Resolve a field from its entity property name, e.g. "dueDate"
+     */
+    public static TaskField fromProperty(String property) {
+        for (TaskField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported field: " + property);
+    }
+
+    /**
+     * Parse a comma-separated {@code fields=} value; id and version are always included, as they
+     * identify the task and its ETag. Null or blank gives {@link #SUMMARY}.
+     */
+    public static Set<TaskField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return SUMMARY;
+        }
+        Set<TaskField> parsed = EnumSet.of(ID, VERSION);
+        for (String property : fields.split(",")) {
+            if (!property.isBlank()) {
+                parsed.add(fromProperty(property.trim()));
+            }
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+}
@@ -0,0 +1,37 @@
+package com.snehit.springboottaskapi.enums;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Whitelist of Task properties that list endpoints may sort and seek on. Every entry is backed by
+ * an index ending in the id column, so ordered access never needs a full sort.
+ */
+@Schema(description = "Fields that task listings can be sorted by")
+public enum TaskSortField {
+    CREATED_AT("createdAt"),
+    DUE_DATE("dueDate"),
+    ID("id");
+
+    private final String property;
+
+    TaskSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Resolve a sort field from its entity property name, e.g. "createdAt"
+     */
+    public static TaskSortField fromProperty(String property) {
+        for (TaskSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + property);
+    }
+
+}
@@ -0,0 +1,328 @@
+package com.snehit.springboottaskapi.event;
+
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+import com.snehit.springboottaskapi.repository.IOutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+
+/**
+ * Background dispatcher that drains the event outbox to Amazon EventBridge.
+ *
+ * <p>Each fetch claims the due events it reads (see {@link IOutboxEventRepository#claimDue}): rows
+ * are locked with SKIP LOCKED and their next attempt is moved {@code claim-lease} ahead, so
+ * dispatchers on other instances skip them rather than send them again. The lease must outlast
+ * sending one fetch; an instance that stops mid-send leaves its rows to be retried after it.
+ *
+ * <p>Due events are sent in PutEvents requests of at most {@value #MAX_ENTRIES_PER_REQUEST}
+ * entries, with up to {@code max-in-flight} requests outstanding on the async client at a time.
+ * Entries EventBridge accepts are deleted; entries it rejects (or every entry of a request that
+ * failed outright) are rescheduled with jittered exponential backoff until {@code max-attempts} is
+ * reached, after which they stay in the table for inspection. Throttled requests are first retried
+ * by the client itself, see AWSConfig. Both writes only apply to rows still at the version that
+ * was sent: a status change merged into a row meanwhile keeps the row, which goes out again with
+ * the merged detail.
+ *
+ * <p>Failed requests feed a {@link PublishCircuitBreaker}. While it is open nothing is sent, so
+ * events accumulate in the outbox, which is durable, without using up attempts; request threads
+ * are never involved either way.
+ *
+ * <p>Each PutEvents call is timed as {@code task.events.publish} tagged with its outcome,
+ * {@code task.events.publish.entries} counts delivered and rejected entries, and
+ * {@code task.events.publish.in-flight} shows outstanding requests.
+ */
+@Component
+@ConditionalOnProperty(
+    name = "task.events.outbox.dispatcher-enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class OutboxDispatcher {
+
+  /** PutEvents accepts at most 10 entries per request */
+  static final int MAX_ENTRIES_PER_REQUEST = 10;
+
+  private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+  private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+  private final IOutboxEventRepository outboxRepository;
+
+  private final EventBridgeAsyncClient eventBridgeClient;
+
+  private final int fetchSize;
+
+  private final int maxAttempts;
+
+  private final Duration initialBackoff;
+
+  private final int maxInFlight;
+
+  private final Duration claimLease;
+
+  private final Semaphore inFlight;
+
+  private final PublishCircuitBreaker circuitBreaker;
+
+  private final AtomicLong backlog = new AtomicLong();
+
+  private final AtomicLong lagMillis = new AtomicLong();
+
+  private final Timer publishSuccess;
+
+  private final Timer publishFailure;
+
+  private final Counter entriesDelivered;
+
+  private final Counter entriesFailed;
+
+  @Autowired
+  public OutboxDispatcher(
+      IOutboxEventRepository outboxRepository,
+      EventBridgeAsyncClient eventBridgeClient,
+      MeterRegistry meterRegistry,
+      @Value("${task.events.outbox.fetch-size:100}") int fetchSize,
+      @Value("${task.events.outbox.max-attempts:10}") int maxAttempts,
+      @Value("${task.events.outbox.initial-backoff:PT1S}") Duration initialBackoff,
+      @Value("${task.events.outbox.max-in-flight:4}") int maxInFlight,
+      @Value("${task.events.outbox.claim-lease:PT1M}") Duration claimLease,
+      @Value("${task.events.outbox.circuit.failure-threshold:5}") int circuitFailureThreshold,
+      @Value("${task.events.outbox.circuit.open-duration:PT30S}") Duration circuitOpenDuration) {
+    this.outboxRepository = outboxRepository;
+    this.eventBridgeClient = eventBridgeClient;
+    this.fetchSize = fetchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxInFlight = maxInFlight;
+    this.claimLease = claimLease;
+    this.inFlight = new Semaphore(maxInFlight);
+    this.circuitBreaker =
+        new PublishCircuitBreaker(circuitFailureThreshold, circuitOpenDuration, meterRegistry);
+
+    Gauge.builder("task.outbox.backlog", backlog, AtomicLong::get)
+        .description("Outbox events waiting for delivery to EventBridge")
+        .register(meterRegistry);
+    TimeGauge.builder("task.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+        .description("Age of the oldest outbox event waiting for delivery")
+        .register(meterRegistry);
+    publishSuccess = publishTimer(meterRegistry, "success");
+    publishFailure = publishTimer(meterRegistry, "failure");
+    entriesDelivered = entryCounter(meterRegistry, "delivered");
+    entriesFailed = entryCounter(meterRegistry, "failed");
+    Gauge.builder(
+            "task.events.publish.in-flight",
+            inFlight,
+            permits -> maxInFlight - permits.availablePermits())
+        .description("PutEvents requests to EventBridge awaiting a response")
+        .register(meterRegistry);
+  }
+
+  private static Timer publishTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder("task.events.publish")
+        .description("PutEvents requests to EventBridge")
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private static Counter entryCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("task.events.publish.entries")
+        .description("Outbox events sent to EventBridge, by result")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /** Drain every due event, then refresh the backlog metrics */
+  @Scheduled(fixedDelayString = "${task.events.outbox.poll-interval:1000}")
+  public void dispatch() {
+    int fetched;
+    do {
+      fetched = dispatchOnce();
+    } while (fetched == fetchSize);
+    refreshMetrics();
+  }
+
+  /**
+   * Claim and send one fetch of due events, or a single probe batch while the circuit is half-open
+   *
+   * @return number of events fetched from the outbox
+   */
+  int dispatchOnce() {
+    if (!circuitBreaker.allowsRequests()) {
+      return 0;
+    }
+    int limit = circuitBreaker.isHalfOpen() ? MAX_ENTRIES_PER_REQUEST : fetchSize;
+    LocalDateTime now = LocalDateTime.now();
+    List<OutboxEvent> due =
+        outboxRepository.claimDue(now, maxAttempts, limit, now.plus(claimLease));
+    List<CompletableFuture<Outcome>> sent = new ArrayList<>();
+    List<OutboxEvent> unsent = new ArrayList<>();
+    for (int from = 0; from < due.size(); from += MAX_ENTRIES_PER_REQUEST) {
+      // a circuit opened by an earlier batch hands the rest of the fetch back, attempts unused
+      if (!circuitBreaker.allowsRequests()) {
+        for (OutboxEvent event : due.subList(from, due.size())) {
+          event.setAttempts(event.getAttempts() - 1);
+          event.setNextAttemptAt(now);
+          unsent.add(event);
+        }
+        break;
+      }
+      inFlight.acquireUninterruptibly();
+      sent.add(
+          publish(due.subList(from, Math.min(from + MAX_ENTRIES_PER_REQUEST, due.size())))
+              .whenComplete((outcome, error) -> inFlight.release()));
+    }
+
+    List<OutboxEvent> delivered = new ArrayList<>(due.size());
+    List<OutboxEvent> failed = new ArrayList<>();
+    for (CompletableFuture<Outcome> outcome : sent) {
+      delivered.addAll(outcome.join().delivered());
+      failed.addAll(outcome.join().failed());
+    }
+    int written = 0;
+    if (!delivered.isEmpty()) {
+      written += outboxRepository.deleteUnchanged(delivered);
+    }
+    if (!failed.isEmpty()) {
+      logger.warn("{} of {} outbox events will be retried", failed.size(), due.size());
+      written += outboxRepository.rescheduleUnchanged(failed);
+    }
+    if (!unsent.isEmpty()) {
+      written += outboxRepository.rescheduleUnchanged(unsent);
+    }
+    if (written < due.size()) {
+      logger.debug(
+          "{} outbox events were changed while in flight and were left as they are",
+          due.size() - written);
+    }
+    return due.size();
+  }
+
+  /** Send one PutEvents request; the returned future always completes normally */
+  private CompletableFuture<Outcome> publish(List<OutboxEvent> batch) {
+    List<PutEventsRequestEntry> entries = new ArrayList<>(batch.size());
+    for (OutboxEvent event : batch) {
+      entries.add(
+          PutEventsRequestEntry.builder()
+              .source(event.getSource())
+              .detailType(event.getDetailType())
+              .detail(event.getDetail())
+              .time(Instant.now())
+              .build());
+    }
+
+    long start = System.nanoTime();
+    CompletableFuture<PutEventsResponse> response;
+    try {
+      response = eventBridgeClient.putEvents(PutEventsRequest.builder().entries(entries).build());
+    } catch (SdkException e) {
+      response = CompletableFuture.failedFuture(e);
+    }
+    return response.handle(
+        (result, error) -> {
+          if (error != null) {
+            return requestFailed(batch, error, System.nanoTime() - start);
+          }
+          publishSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+          return entriesResult(batch, result);
+        });
+  }
+
+  private Outcome entriesResult(List<OutboxEvent> batch, PutEventsResponse response) {
+    List<OutboxEvent> delivered = new ArrayList<>(batch.size());
+    List<OutboxEvent> failed = new ArrayList<>();
+    // Result entries are returned in the same order as the request entries
+    List<PutEventsResultEntry> results = response.entries();
+    for (int i = 0; i < batch.size(); i++) {
+      PutEventsResultEntry result = i < results.size() ? results.get(i) : null;
+      if (result != null && result.errorCode() == null) {
+        delivered.add(batch.get(i));
+      } else {
+        String error =
+            result == null
+                ? "Missing result entry"
+                : result.errorCode() + ": " + result.errorMessage();
+        failed.add(markFailed(batch.get(i), error));
+      }
+    }
+    // a request that got through counts as success unless every entry was rejected
+    if (delivered.isEmpty()) {
+      circuitBreaker.recordFailure();
+    } else {
+      circuitBreaker.recordSuccess();
+    }
+    entriesDelivered.increment(delivered.size());
+    entriesFailed.increment(failed.size());
+    return new Outcome(delivered, failed);
+  }
+
+  private Outcome requestFailed(List<OutboxEvent> batch, Throwable error, long nanos) {
+    Throwable cause =
+        error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+    publishFailure.record(nanos, TimeUnit.NANOSECONDS);
+    logger.warn("PutEvents request for {} outbox events failed", batch.size(), cause);
+    circuitBreaker.recordFailure();
+    List<OutboxEvent> failed = new ArrayList<>(batch.size());
+    for (OutboxEvent event : batch) {
+      failed.add(markFailed(event, cause.getMessage()));
+    }
+    entriesFailed.increment(failed.size());
+    return new Outcome(List.of(), failed);
+  }
+
+  /** Schedule the next attempt of a claimed event, whose claim already counted this attempt */
+  private OutboxEvent markFailed(OutboxEvent event, String error) {
+    int attempts = event.getAttempts();
+    event.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+    event.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+    if (attempts >= maxAttempts) {
+      logger.error(
+          "Giving up on outbox event {} after {} attempts: {}", event.getId(), attempts, error);
+    }
+    return event;
+  }
+
+  /** Exponential backoff with equal jitter, so retries of a throttled burst spread out */
+  private Duration backoff(int attempts) {
+    Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+    long millis = (delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay).toMillis();
+    return Duration.ofMillis(millis / 2 + ThreadLocalRandom.current().nextLong(millis / 2 + 1));
+  }
+
+  private void refreshMetrics() {
+    backlog.set(outboxRepository.countByAttemptsLessThan(maxAttempts));
+    LocalDateTime oldest = outboxRepository.findOldestPendingCreatedAt(maxAttempts);
+    lagMillis.set(
+        oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+  }
+
+  /** What became of one PutEvents batch */
+  private record Outcome(List<OutboxEvent> delivered, List<OutboxEvent> failed) {}
+}
@@ -0,0 +1,101 @@
+package com.snehit.springboottaskapi.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Circuit breaker around PutEvents requests.
+ *
+ * <p>{@code failureThreshold} consecutive failed requests open the circuit. While it is open no
+ * requests are sent and events wait in the outbox without using up attempts. After
+ * {@code openDuration} it is half-open and lets one probe request through: success closes it,
+ * failure opens it again.
+ *
+ * <p>The gauge {@code task.events.circuit} is 1 for the current state and 0 for the others, and
+ * {@code task.events.circuit.transitions} counts entries into each state.
+ */
+class PublishCircuitBreaker {
+
+  enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+
+  private final Duration openDuration;
+
+  private final Map<State, Counter> transitions = new EnumMap<>(State.class);
+
+  private volatile State state = State.CLOSED;
+
+  private int consecutiveFailures;
+
+  private Instant openedAt;
+
+  PublishCircuitBreaker(int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+    this.failureThreshold = failureThreshold;
+    this.openDuration = openDuration;
+    for (State gaugeState : State.values()) {
+      String tag = gaugeState.name().toLowerCase(Locale.ROOT);
+      Gauge.builder("task.events.circuit", this, breaker -> breaker.state == gaugeState ? 1 : 0)
+          .description("State of the EventBridge circuit breaker, 1 for the current state")
+          .tag("state", tag)
+          .register(meterRegistry);
+      transitions.put(
+          gaugeState,
+          Counter.builder("task.events.circuit.transitions")
+              .description("EventBridge circuit breaker state changes, by new state")
+              .tag("state", tag)
+              .register(meterRegistry));
+    }
+  }
+
+  /**
+   * Whether requests may be sent now, moving an open circuit to half-open once its open duration
+   * has passed
+   */
+  synchronized boolean allowsRequests() {
+    if (state == State.OPEN && !Instant.now().isBefore(openedAt.plus(openDuration))) {
+      transition(State.HALF_OPEN);
+    }
+    return state != State.OPEN;
+  }
+
+  /** Whether only a single probe request may be sent */
+  boolean isHalfOpen() {
+    return state == State.HALF_OPEN;
+  }
+
+  synchronized void recordSuccess() {
+    consecutiveFailures = 0;
+    if (state != State.CLOSED) {
+      transition(State.CLOSED);
+    }
+  }
+
+  synchronized void recordFailure() {
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN
+        || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+      openedAt = Instant.now();
+      transition(State.OPEN);
+    }
+  }
+
+  State state() {
+    return state;
+  }
+
+  private void transition(State next) {
+    state = next;
+    transitions.get(next).increment();
+  }
+}
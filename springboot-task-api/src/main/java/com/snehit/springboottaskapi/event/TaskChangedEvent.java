@@ -0,0 +1,46 @@
+package com.snehit.springboottaskapi.event;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+
+/**
+ * Application event published by TaskService for every task write. Listeners that keep derived
+ * state (counters, indexes, caches) should consume it with
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * @param type kind of change
+ * @param taskId id of the changed task
+ * @param previousStatus status before the change, null for CREATED
+ * @param task state after the change, null for DELETED and ARCHIVED
+ */
+public record TaskChangedEvent(Type type, Long taskId, TaskStatus previousStatus, Task task) {
+
+  public enum Type {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /** Moved to the archive by TaskArchiver; still readable by id, but no longer listed by default */
+    ARCHIVED
+  }
+
+  public static TaskChangedEvent created(Task task) {
+    return new TaskChangedEvent(Type.CREATED, task.getId(), null, task);
+  }
+
+  public static TaskChangedEvent updated(TaskStatus previousStatus, Task task) {
+    return new TaskChangedEvent(Type.UPDATED, task.getId(), previousStatus, task);
+  }
+
+  public static TaskChangedEvent deleted(Long taskId, TaskStatus previousStatus) {
+    return new TaskChangedEvent(Type.DELETED, taskId, previousStatus, null);
+  }
+
+  public static TaskChangedEvent archived(Long taskId, TaskStatus previousStatus) {
+    return new TaskChangedEvent(Type.ARCHIVED, taskId, previousStatus, null);
+  }
+
+  /** Status after the change, null for DELETED and ARCHIVED */
+  public TaskStatus status() {
+    return task == null ? null : task.getStatus();
+  }
+}
@@ -0,0 +1,192 @@
+package com.snehit.springboottaskapi.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.repository.IOutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes task events to the outbox table. Must be called inside the transaction that changes the
+ * task so the event is committed (or rolled back) together with it.
+ *
+ * <p>Status change events wait in the outbox for {@code coalesce-window} before they are sent;
+ * further changes of the same task in that time are merged into the waiting event, so a task that
+ * flips back and forth produces one event, or none if it ends where it started. An event the
+ * dispatcher has claimed has an attempt counted, so it is never merged into while it is sent.
+ */
+@Component
+public class TaskEventOutbox {
+
+  public static final String EVENT_SOURCE = "task.manager";
+
+  public static final String TASK_COMPLETED = "Task Completed";
+
+  public static final String TASK_STATUS_CHANGED = "Task Status Changed";
+
+  public static final String TASKS_COMPLETED = "Tasks Completed";
+
+  public static final String TASK_DUE_SOON = "Task Due Soon";
+
+  public static final String TASK_OVERDUE = "Task Overdue";
+
+  /** Tasks per aggregated event, keeping each entry well below the 256 KB EventBridge limit */
+  static final int MAX_TASKS_PER_EVENT = 100;
+
+  private static final List<String> STATUS_CHANGE_TYPES =
+      List.of(TASK_COMPLETED, TASK_STATUS_CHANGED);
+
+  private final IOutboxEventRepository outboxRepository;
+
+  private final ObjectMapper objectMapper;
+
+  private final Duration coalesceWindow;
+
+  private final Counter coalesced;
+
+  @Autowired
+  public TaskEventOutbox(
+      IOutboxEventRepository outboxRepository,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${task.events.coalesce-window:PT5S}") Duration coalesceWindow) {
+    this.outboxRepository = outboxRepository;
+    this.objectMapper = objectMapper;
+    this.coalesceWindow = coalesceWindow;
+    this.coalesced =
+        Counter.builder("task.events.coalesced")
+            .description("Task status changes merged into an event still waiting in the outbox")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Enqueue an event for a status transition of a task: Task Completed when it moved to COMPLETED,
+   * Task Status Changed otherwise; nothing when the status stayed the same. The detail carries the
+   * task, its previousStatus and the sequence.
+   *
+   * @param previousStatus status before the change, null for a new task
+   * @param sequence the task version written by the change; it grows with every write of the
+   *     task, so consumers can drop an event with a lower sequence than one they have handled
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueueStatusChange(Task task, TaskStatus previousStatus, long sequence) {
+    if (task.getStatus() == previousStatus) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    if (!coalesceWindow.isZero()) {
+      List<OutboxEvent> waiting =
+          outboxRepository.findWaiting(task.getId(), STATUS_CHANGE_TYPES, now);
+      if (!waiting.isEmpty()) {
+        OutboxEvent event = waiting.get(0);
+        TaskStatus firstStatus = previousStatusOf(event);
+        coalesced.increment();
+        if (firstStatus == task.getStatus()) {
+          // back where it started before anyone was told
+          outboxRepository.delete(event);
+        } else {
+          event.setDetailType(statusChangeType(task));
+          event.setDetail(writeJson(statusChangeDetail(task, firstStatus, sequence)));
+          outboxRepository.save(event);
+        }
+        return;
+      }
+    }
+    OutboxEvent event =
+        newEvent(statusChangeType(task), statusChangeDetail(task, previousStatus, sequence));
+    event.setTaskId(task.getId());
+    event.setNextAttemptAt(now.plus(coalesceWindow));
+    outboxRepository.save(event);
+  }
+
+  /**
+   * Enqueue aggregated TasksCompleted events for a batch of tasks, one event per {@value
+   * #MAX_TASKS_PER_EVENT} tasks
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueueTasksCompleted(List<Task> tasks) {
+    for (int start = 0; start < tasks.size(); start += MAX_TASKS_PER_EVENT) {
+      List<Map<String, Object>> details = new ArrayList<>();
+      for (Task task : tasks.subList(start, Math.min(tasks.size(), start + MAX_TASKS_PER_EVENT))) {
+        details.add(toDetail(task));
+      }
+      Map<String, Object> detailMap = new HashMap<>();
+      detailMap.put("count", details.size());
+      detailMap.put("tasks", details);
+      enqueue(TASKS_COMPLETED, detailMap);
+    }
+  }
+
+  /** Enqueue an event with the given detail type, serializing the detail as JSON */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public OutboxEvent enqueue(String detailType, Object detail) {
+    return outboxRepository.save(newEvent(detailType, detail));
+  }
+
+  /** Build the event detail map for a task */
+  public Map<String, Object> toDetail(Task task) {
+    Map<String, Object> detailMap = new HashMap<>();
+    detailMap.put("id", task.getId());
+    detailMap.put("title", task.getTitle());
+    detailMap.put("description", task.getDescription());
+    detailMap.put("status", task.getStatus().name());
+    detailMap.put("dueDate", task.getDueDate());
+    detailMap.put("createdAt", task.getCreatedAt());
+    detailMap.put("updatedAt", task.getUpdatedAt());
+    return detailMap;
+  }
+
+  private OutboxEvent newEvent(String detailType, Object detail) {
+    OutboxEvent event = new OutboxEvent();
+    event.setSource(EVENT_SOURCE);
+    event.setDetailType(detailType);
+    event.setDetail(writeJson(detail));
+    return event;
+  }
+
+  private static String statusChangeType(Task task) {
+    return task.getStatus() == TaskStatus.COMPLETED ? TASK_COMPLETED : TASK_STATUS_CHANGED;
+  }
+
+  private Map<String, Object> statusChangeDetail(
+      Task task, TaskStatus previousStatus, long sequence) {
+    Map<String, Object> detailMap = toDetail(task);
+    detailMap.put("previousStatus", previousStatus == null ? null : previousStatus.name());
+    detailMap.put("sequence", sequence);
+    return detailMap;
+  }
+
+  private TaskStatus previousStatusOf(OutboxEvent event) {
+    try {
+      JsonNode previousStatus = objectMapper.readTree(event.getDetail()).get("previousStatus");
+      return previousStatus == null || previousStatus.isNull()
+          ? null
+          : TaskStatus.valueOf(previousStatus.asText());
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to read event detail", e);
+    }
+  }
+
+  private String writeJson(Object detail) {
+    try {
+      return objectMapper.writeValueAsString(detail);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize event detail", e);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.snehit.springboottaskapi.event;
+
+import java.util.List;
+
+/**
+ * Application event for many task writes at once, published by TaskBulkService once per chunk and
+ * by TaskArchiver once per batch instead of one {@link TaskChangedEvent} per task. Listeners of
+ * {@link TaskChangedEvent} should also consume this one, applying the changes in order under a
+ * single lock acquisition, so a large batch registers one after-commit callback per chunk rather
+ * than one per task.
+ *
+ * @param changes the changes in the order they were written
+ */
+public record TasksChangedEvent(List<TaskChangedEvent> changes) {
+
+  public TasksChangedEvent {
+    changes = List.copyOf(changes);
+  }
+}
@@ -1,9 +1,12 @@
 package com.snehit.springboottaskapi.exception;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -26,6 +29,56 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(ImportJobNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleImportJobNotFoundException(
+      ImportJobNotFoundException ex) {
+    ErrorResponse error =
+        new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            "Import Job Not Found",
+            ex.getMessage(),
+            LocalDateTime.now());
+    return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+  }
+
+  @ExceptionHandler(TaskVersionMismatchException.class)
+  public ResponseEntity<ErrorResponse> handleTaskVersionMismatchException(
+      TaskVersionMismatchException ex) {
+    ErrorResponse error =
+        new ErrorResponse(
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "Precondition Failed",
+            ex.getMessage(),
+            LocalDateTime.now());
+    return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+  }
+
+  /**
+   * Another request committed a change to the same task between our read and our write. A
+   * request that sent If-Match asked for exactly this check, so it gets 412 like a version
+   * mismatch found before the write; the flush only caught it later.
+   */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+      OptimisticLockingFailureException ex, HttpServletRequest request) {
+    if (request.getHeader(HttpHeaders.IF_MATCH) != null) {
+      ErrorResponse error =
+          new ErrorResponse(
+              HttpStatus.PRECONDITION_FAILED.value(),
+              "Precondition Failed",
+              "The task was modified by another request; If-Match no longer matches",
+              LocalDateTime.now());
+      return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+    ErrorResponse error =
+        new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            "Concurrent Update",
+            "The task was modified by another request; reload it and retry",
+            LocalDateTime.now());
+    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
     ErrorResponse error =
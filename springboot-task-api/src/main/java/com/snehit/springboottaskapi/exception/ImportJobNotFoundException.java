@@ -0,0 +1,8 @@
+package com.snehit.springboottaskapi.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
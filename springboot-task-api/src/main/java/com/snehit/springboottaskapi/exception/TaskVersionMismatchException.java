@@ -0,0 +1,11 @@
+package com.snehit.springboottaskapi.exception;
+
+/**
+ * Thrown when a conditional write names a version of the task other than the current one.
+ */
+public class TaskVersionMismatchException extends RuntimeException {
+
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+}
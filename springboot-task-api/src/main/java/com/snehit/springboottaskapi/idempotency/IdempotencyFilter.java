@@ -0,0 +1,434 @@
+package com.snehit.springboottaskapi.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.snehit.springboottaskapi.config.ClientKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes task creates ({@code POST /api/v1/tasks}) and updates ({@code PUT} and {@code PATCH
+ * /api/v1/tasks/{id}}) that carry an {@code Idempotency-Key} header safe to retry: the first
+ * successful response is stored under the key for {@code ttl}, and retries get it back with
+ * {@code Idempotent-Replayed: true} instead of creating or completing the task again. A key sent
+ * with a different request gets 422. Keys belong to the client that sent them, told apart like in
+ * admission control: by the authenticated user, else by the {@code client-header} from one of the
+ * {@code trusted-proxies}, else by remote address; the same key from two clients is two keys.
+ *
+ * <p>A request claims its key by inserting the key's row, runs, and then stores its response in
+ * the row; failed (non-2xx) requests delete the row, leaving the key free for a retry. Both only
+ * happen under the claim token the request inserted, so a request that outlived its lease and lost
+ * the key to a retry neither overwrites nor frees the retry's claim, and stores nothing. Stored
+ * responses are also kept in a bounded in-memory cache, so a retry usually costs one cache lookup;
+ * after a restart or on another instance, the claim fails on the primary key and the response is
+ * read from the table.
+ *
+ * <p>Concurrent requests with the same key wait for the one in progress on this instance, up to
+ * {@code wait-timeout}, and then get its response; requests still waiting after that, or running
+ * on another instance, get 409. A key whose request never finished, say on a crash, is freed once
+ * its {@code lease} expires.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@ConditionalOnProperty(name = "task.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+  static final String KEY_HEADER = "Idempotency-Key";
+
+  static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final String CREATE_PATH = "/api/v1/tasks";
+
+  private static final Pattern UPDATE_PATH = Pattern.compile("/api/v1/tasks/\\d+/?");
+
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+  private final IdempotencyStore store;
+
+  private final ClientKeys clientKeys;
+
+  private final ObjectMapper objectMapper;
+
+  private final Duration ttl;
+
+  private final Duration waitTimeout;
+
+  private final Duration lease;
+
+  private final Cache<String, StoredResponse> responses;
+
+  private final Map<String, CompletableFuture<StoredResponse>> inProgress =
+      new ConcurrentHashMap<>();
+
+  private final Counter executed;
+
+  private final Counter replayed;
+
+  private final Counter mismatched;
+
+  private final Counter conflicts;
+
+  @Autowired
+  public IdempotencyFilter(
+      IdempotencyStore store,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${task.idempotency.client-header:X-Client-Id}") String clientHeader,
+      @Value("${task.idempotency.trusted-proxies:}") List<String> trustedProxies,
+      @Value("${task.idempotency.ttl:PT24H}") Duration ttl,
+      @Value("${task.idempotency.cache-size:100000}") long cacheSize,
+      @Value("${task.idempotency.wait-timeout:PT10S}") Duration waitTimeout,
+      @Value("${task.idempotency.lease:PT1M}") Duration lease) {
+    this.store = store;
+    this.clientKeys = new ClientKeys(clientHeader, trustedProxies);
+    this.objectMapper = objectMapper;
+    this.ttl = ttl;
+    this.waitTimeout = waitTimeout;
+    this.lease = lease;
+    this.responses = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(ttl).build();
+    this.executed = requestCounter(meterRegistry, "executed");
+    this.replayed = requestCounter(meterRegistry, "replayed");
+    this.mismatched = requestCounter(meterRegistry, "mismatch");
+    this.conflicts = requestCounter(meterRegistry, "conflict");
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (request.getHeader(KEY_HEADER) == null) {
+      return true;
+    }
+    String method = request.getMethod();
+    String path = request.getRequestURI();
+    if ("POST".equals(method)) {
+      return !path.equals(CREATE_PATH) && !path.equals(CREATE_PATH + "/");
+    }
+    return !("PUT".equals(method) || "PATCH".equals(method)) || !UPDATE_PATH.matcher(path).matches();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String clientsKey = request.getHeader(KEY_HEADER);
+    if (clientsKey.isBlank() || clientsKey.length() > MAX_KEY_LENGTH) {
+      reject(
+          response,
+          HttpStatus.BAD_REQUEST,
+          KEY_HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+      return;
+    }
+    String key = storeKey(clientKeys.of(request), clientsKey);
+    BufferedRequest bufferedRequest = new BufferedRequest(request);
+    String fingerprint = fingerprint(bufferedRequest);
+
+    while (true) {
+      StoredResponse stored = responses.getIfPresent(key);
+      if (stored == null) {
+        CompletableFuture<StoredResponse> call = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inProgress.putIfAbsent(key, call);
+        if (running != null) {
+          try {
+            stored = running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+          } catch (TimeoutException e) {
+            conflicts.increment();
+            reject(
+                response, HttpStatus.CONFLICT, "A request with this " + KEY_HEADER + " is in progress");
+            return;
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+          } catch (ExecutionException e) {
+            stored = null;
+          }
+          if (stored == null) {
+            // the request in progress failed and left the key free
+            continue;
+          }
+        } else {
+          Attempt attempt = null;
+          try {
+            attempt = execute(key, fingerprint, bufferedRequest, response, filterChain);
+          } finally {
+            inProgress.remove(key, call);
+            call.complete(attempt == null ? null : attempt.stored());
+          }
+          if (attempt.responded()) {
+            return;
+          }
+          stored = attempt.stored();
+          if (stored == null) {
+            // an expired key was released
+            continue;
+          }
+        }
+      }
+      replay(stored, fingerprint, response);
+      return;
+    }
+  }
+
+  Cache<String, StoredResponse> responses() {
+    return responses;
+  }
+
+  /**
+   * The key's row and cache entry: a SHA-256 of the client, which keeps the row within its column
+   * whatever the client's name, followed by the client's key
+   */
+  static String storeKey(String client, String key) {
+    return HexFormat.of().formatHex(sha256().digest(client.getBytes(StandardCharsets.UTF_8)))
+        + ":"
+        + key;
+  }
+
+  /** Claim the key, run the request and store its response, or free the key if it failed */
+  private Attempt execute(
+      String key,
+      String fingerprint,
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain)
+      throws ServletException, IOException {
+    LocalDateTime now = LocalDateTime.now();
+    String claimToken = UUID.randomUUID().toString();
+    try {
+      store.claim(key, claimToken, fingerprint, now, now.plus(lease));
+    } catch (DuplicateKeyException e) {
+      // claimed before, by this instance before a restart or by another one
+      Optional<StoredResponse> existing = store.find(key);
+      if (existing.isPresent() && !existing.get().isExpired(now)) {
+        responses.put(key, existing.get());
+        return new Attempt(existing.get(), false);
+      }
+      if (store.releaseExpired(key, now)) {
+        return new Attempt(null, false);
+      }
+      conflicts.increment();
+      reject(response, HttpStatus.CONFLICT, "A request with this " + KEY_HEADER + " is in progress");
+      return new Attempt(null, true);
+    }
+
+    ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+    StoredResponse stored = null;
+    boolean lost = false;
+    try {
+      filterChain.doFilter(request, captured);
+      if (captured.getStatus() / 100 == 2) {
+        StoredResponse completed =
+            new StoredResponse(
+                fingerprint,
+                captured.getStatus(),
+                captured.getContentType(),
+                captured.getHeader(HttpHeaders.ETAG),
+                captured.getContentAsByteArray(),
+                LocalDateTime.now().plus(ttl));
+        if (store.complete(key, claimToken, completed)) {
+          stored = completed;
+        } else {
+          lost = true;
+        }
+      }
+    } finally {
+      if (stored == null && !lost) {
+        lost = !store.release(key, claimToken);
+      }
+    }
+    if (lost) {
+      // the response still goes to this client, but retries get the new claim's
+      logger.warn(
+          "Request with {} outlived its lease of {} and lost the key; its response is not stored",
+          KEY_HEADER,
+          lease);
+    }
+    captured.copyBodyToResponse();
+    executed.increment();
+    if (stored != null) {
+      responses.put(key, stored);
+    }
+    return new Attempt(stored, true);
+  }
+
+  private void replay(StoredResponse stored, String fingerprint, HttpServletResponse response)
+      throws IOException {
+    if (!stored.fingerprint().equals(fingerprint)) {
+      mismatched.increment();
+      reject(
+          response,
+          HttpStatus.UNPROCESSABLE_ENTITY,
+          KEY_HEADER + " was already used for a different request");
+      return;
+    }
+    replayed.increment();
+    response.setStatus(stored.status());
+    if (stored.contentType() != null) {
+      response.setContentType(stored.contentType());
+    }
+    if (stored.etag() != null) {
+      response.setHeader(HttpHeaders.ETAG, stored.etag());
+    }
+    response.setHeader(REPLAYED_HEADER, "true");
+    response.setContentLength(stored.body().length);
+    response.getOutputStream().write(stored.body());
+  }
+
+  /** SHA-256 of the method, path and body, which a retry must repeat */
+  private static String fingerprint(BufferedRequest request) {
+    MessageDigest digest = sha256();
+    digest.update(
+        (request.getMethod() + " " + request.getRequestURI() + "\n")
+            .getBytes(StandardCharsets.UTF_8));
+    digest.update(request.body);
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private void reject(HttpServletResponse response, HttpStatus status, String message)
+      throws IOException {
+    Map<String, Object> error = new LinkedHashMap<>();
+    error.put("status", status.value());
+    error.put("error", status.getReasonPhrase());
+    error.put("message", message);
+    error.put("timestamp", LocalDateTime.now());
+
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), error);
+  }
+
+  private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("task.idempotency.requests")
+        .description("Requests with an Idempotency-Key, by outcome")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /**
+   * The stored response to replay, if any, and whether the response was written already
+   */
+  private record Attempt(StoredResponse stored, boolean responded) {}
+
+  /** Reads the body up front, for the fingerprint, and serves it again to the handler */
+  static final class BufferedRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    BufferedRequest(HttpServletRequest request) throws IOException {
+      super(request);
+      this.body = request.getInputStream().readAllBytes();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream in = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public int read() {
+          return in.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+          return in.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+          return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          // the whole body is already here
+          try {
+            readListener.onDataAvailable();
+            readListener.onAllDataRead();
+          } catch (IOException e) {
+            readListener.onError(e);
+          }
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      return new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+    }
+
+    @Override
+    public int getContentLength() {
+      return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return body.length;
+    }
+
+    private Charset charset() {
+      String encoding = getCharacterEncoding();
+      try {
+        return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+      } catch (IllegalArgumentException e) {
+        return StandardCharsets.UTF_8;
+      }
+    }
+  }
+}
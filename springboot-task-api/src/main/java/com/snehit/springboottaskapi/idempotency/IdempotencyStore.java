@@ -0,0 +1,130 @@
+package com.snehit.springboottaskapi.idempotency;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * The idempotency_keys table. A key is claimed by inserting its row, so a second request with the
+ * same key fails on the primary key; the row gets the response once the request completes. Rows
+ * are only completed or freed under the claim token of the request that inserted them. Bodies are
+ * kept Base64-encoded, as they may be CBOR or Smile.
+ */
+@Component
+@ConditionalOnProperty(name = "task.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public IdempotencyStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Claim a key for a request until {@code leaseExpiresAt}, under the request's {@code claimToken};
+   * throws DuplicateKeyException when it is already taken
+   */
+  void claim(
+      String key,
+      String claimToken,
+      String fingerprint,
+      LocalDateTime now,
+      LocalDateTime leaseExpiresAt) {
+    jdbcTemplate.update(
+        "INSERT INTO idempotency_keys "
+            + "(idempotency_key, claim_token, fingerprint, created_at, expires_at) "
+            + "VALUES (?, ?, ?, ?, ?)",
+        key,
+        claimToken,
+        fingerprint,
+        Timestamp.valueOf(now),
+        Timestamp.valueOf(leaseExpiresAt));
+  }
+
+  /**
+   * Record the response to the request that claimed the key, kept until it expires; returns false
+   * when the request no longer holds the key, as its lease expired and another request claimed it
+   */
+  boolean complete(String key, String claimToken, StoredResponse response) {
+    return jdbcTemplate.update(
+            "UPDATE idempotency_keys SET status = ?, content_type = ?, etag = ?, body = ?, "
+                + "expires_at = ? WHERE idempotency_key = ? AND claim_token = ? "
+                + "AND status IS NULL",
+            response.status(),
+            response.contentType(),
+            response.etag(),
+            Base64.getEncoder().encodeToString(response.body()),
+            Timestamp.valueOf(response.expiresAt()),
+            key,
+            claimToken)
+        > 0;
+  }
+
+  /**
+   * Free a key whose request failed, so it can be retried; returns false when the request no
+   * longer holds the key
+   */
+  boolean release(String key, String claimToken) {
+    return jdbcTemplate.update(
+            "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND claim_token = ? "
+                + "AND status IS NULL",
+            key,
+            claimToken)
+        > 0;
+  }
+
+  Optional<StoredResponse> find(String key) {
+    List<StoredResponse> found =
+        jdbcTemplate.query(
+            "SELECT fingerprint, status, content_type, etag, body, expires_at "
+                + "FROM idempotency_keys WHERE idempotency_key = ? AND status IS NOT NULL",
+            (rs, rowNum) ->
+                new StoredResponse(
+                    rs.getString("fingerprint"),
+                    rs.getInt("status"),
+                    rs.getString("content_type"),
+                    rs.getString("etag"),
+                    Base64.getDecoder().decode(rs.getString("body")),
+                    rs.getObject("expires_at", LocalDateTime.class)),
+            key);
+    return found.stream().findFirst();
+  }
+
+  /**
+   * Remove a key whose response or lease has expired but was not purged yet, so it can be claimed
+   * again; returns whether there was one
+   */
+  boolean releaseExpired(String key, LocalDateTime now) {
+    return jdbcTemplate.update(
+            "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at <= ?",
+            key,
+            Timestamp.valueOf(now))
+        > 0;
+  }
+
+  /** Remove expired keys */
+  @Scheduled(
+      initialDelayString = "${task.idempotency.purge-interval:PT1H}",
+      fixedDelayString = "${task.idempotency.purge-interval:PT1H}")
+  public void purgeExpired() {
+    int purged =
+        jdbcTemplate.update(
+            "DELETE FROM idempotency_keys WHERE expires_at <= ?",
+            Timestamp.valueOf(LocalDateTime.now()));
+    if (purged > 0) {
+      logger.info("Purged {} expired idempotency keys", purged);
+    }
+  }
+}
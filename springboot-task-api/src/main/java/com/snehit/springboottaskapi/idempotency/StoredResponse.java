@@ -0,0 +1,20 @@
+package com.snehit.springboottaskapi.idempotency;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response to a request with an Idempotency-Key, replayed to retries of that request. The
+ * fingerprint identifies the request, so the key cannot be reused for a different one.
+ */
+record StoredResponse(
+    String fingerprint,
+    int status,
+    String contentType,
+    String etag,
+    byte[] body,
+    LocalDateTime expiresAt) {
+
+  boolean isExpired(LocalDateTime now) {
+    return !expiresAt.isAfter(now);
+  }
+}
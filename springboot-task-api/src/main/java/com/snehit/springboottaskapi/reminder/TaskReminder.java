@@ -0,0 +1,45 @@
+package com.snehit.springboottaskapi.reminder;
+
+import com.snehit.springboottaskapi.event.TaskEventOutbox;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * A reminder event scheduled for one task.
+ *
+ * <p>Reminders are ordered by fire time, then task id. For a single kind that is the same order as
+ * (dueDate, id), the order the due_date index is read in.
+ *
+ * @param kind which reminder
+ * @param fireAt when the reminder is due to be emitted
+ * @param taskId id of the task
+ * @param dueDate due date of the task the reminder was scheduled for
+ */
+record TaskReminder(Kind kind, LocalDateTime fireAt, Long taskId, LocalDateTime dueDate)
+    implements Comparable<TaskReminder> {
+
+  private static final Comparator<TaskReminder> ORDER =
+      Comparator.comparing(TaskReminder::fireAt)
+          .thenComparing(TaskReminder::taskId)
+          .thenComparing(TaskReminder::kind);
+
+  enum Kind {
+    DUE_SOON(TaskEventOutbox.TASK_DUE_SOON),
+    OVERDUE(TaskEventOutbox.TASK_OVERDUE);
+
+    private final String detailType;
+
+    Kind(String detailType) {
+      this.detailType = detailType;
+    }
+
+    String detailType() {
+      return detailType;
+    }
+  }
+
+  @Override
+  public int compareTo(TaskReminder other) {
+    return ORDER.compare(this, other);
+  }
+}
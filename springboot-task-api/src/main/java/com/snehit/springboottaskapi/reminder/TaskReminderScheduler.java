@@ -0,0 +1,444 @@
+package com.snehit.springboottaskapi.reminder;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TasksChangedEvent;
+import com.snehit.springboottaskapi.event.TaskEventOutbox;
+import com.snehit.springboottaskapi.reminder.TaskReminder.Kind;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Emits "Task Due Soon" events {@code due-soon-lead} before a task is due and "Task Overdue" events
+ * {@code overdue-after} past its due date, through the event outbox.
+ *
+ * <p>Pending reminders are held in a set ordered by fire time. The set only covers the near-term
+ * window, from {@code catch-up} ago to {@code horizon} ahead, and holds at most {@code max-pending}
+ * reminders. It is loaded incrementally: for each kind, a keyset position on (dueDate, id) records
+ * how far the due_date index has been read, and each refill reads on from there up to the horizon
+ * in batches of {@code load-batch}. When the set is full, the reminders that fire last are dropped
+ * and the position moves back before them, so they are read again once there is room. The table is
+ * never scanned as a whole, and memory does not grow with the number of open tasks.
+ *
+ * <p>Committed task changes inside the loaded range update the set directly; changes beyond it are
+ * picked up when the window reaches them. Completed and deleted tasks lose their reminders. After a
+ * restart only the window is rebuilt: reminders that came due within the last {@code catch-up}
+ * are emitted again, older ones are assumed to have been emitted before the restart.
+ *
+ * <p>The set is guarded by a lock that is held only while it is read or updated. The index reads
+ * run outside it, so request threads applying their committed changes never wait for the
+ * database. A change applied while a read is running is applied again once the rows it read are
+ * merged, replacing what the read saw of that task.
+ *
+ * <p>Like the status counters, the set is local to this instance and only sees writes made
+ * through it; before a reminder is emitted the task is read again, and reminders for tasks that
+ * were completed, deleted or rescheduled elsewhere are skipped. Enable it on a single instance.
+ */
+@Component
+@ConditionalOnProperty(name = "task.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskReminderScheduler {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskReminderScheduler.class);
+
+  private final ITaskRepository taskRepository;
+
+  private final TaskEventOutbox eventOutbox;
+
+  private final TransactionTemplate transactionTemplate;
+
+  /** Fire time minus due date, per kind */
+  private final Map<Kind, Duration> offsets = new EnumMap<>(Kind.class);
+
+  private final Duration horizon;
+
+  private final Duration catchUp;
+
+  private final int maxPending;
+
+  private final int loadBatch;
+
+  private final Map<Kind, Counter> emitted = new EnumMap<>(Kind.class);
+
+  /** Guards the pending reminders; never held across a database call */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /** Lets one rebuild or refill read the index at a time */
+  private final ReentrantLock loading = new ReentrantLock();
+
+  // guarded by lock
+  private final NavigableSet<TaskReminder> queue = new TreeSet<>();
+
+  // guarded by lock
+  private final Map<Kind, Map<Long, TaskReminder>> pending = new EnumMap<>(Kind.class);
+
+  /** Last (dueDate, id) read from the index per kind; empty until the first rebuild */
+  // guarded by lock
+  private final Map<Kind, Position> loadedThrough = new EnumMap<>(Kind.class);
+
+  /**
+   * Tasks changed while an index read runs, with the change if it fell beyond the loaded range
+   * and has to be replayed; null when no read is running
+   */
+  // guarded by lock
+  private Map<Long, TaskChangedEvent> changedWhileLoading;
+
+  @Autowired
+  public TaskReminderScheduler(
+      ITaskRepository taskRepository,
+      TaskEventOutbox eventOutbox,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${task.reminders.due-soon-lead:PT24H}") Duration dueSoonLead,
+      @Value("${task.reminders.overdue-after:PT0S}") Duration overdueAfter,
+      @Value("${task.reminders.horizon:PT1H}") Duration horizon,
+      @Value("${task.reminders.catch-up:PT15M}") Duration catchUp,
+      @Value("${task.reminders.max-pending:100000}") int maxPending,
+      @Value("${task.reminders.load-batch:1000}") int loadBatch) {
+    this.taskRepository = taskRepository;
+    this.eventOutbox = eventOutbox;
+    this.transactionTemplate = transactionTemplate;
+    this.horizon = horizon;
+    this.catchUp = catchUp;
+    this.maxPending = maxPending;
+    this.loadBatch = loadBatch;
+    offsets.put(Kind.DUE_SOON, dueSoonLead.negated());
+    offsets.put(Kind.OVERDUE, overdueAfter);
+
+    for (Kind kind : Kind.values()) {
+      pending.put(kind, new HashMap<>());
+      emitted.put(
+          kind,
+          Counter.builder("task.reminders.emitted")
+              .description("Task reminder events written to the outbox")
+              .tag("kind", kind.name())
+              .register(meterRegistry));
+    }
+    Gauge.builder("task.reminders.pending", this, TaskReminderScheduler::pendingCount)
+        .description("Task reminders waiting for their fire time")
+        .register(meterRegistry);
+  }
+
+  /** Number of reminders waiting for their fire time */
+  public int pendingCount() {
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void initialize() {
+    rebuild();
+  }
+
+  /** Drop every pending reminder and reload the window from catch-up ago to the horizon */
+  public void rebuild() {
+    loading.lock();
+    try {
+      lock.lock();
+      try {
+        queue.clear();
+        pending.values().forEach(Map::clear);
+        LocalDateTime start = LocalDateTime.now().minus(catchUp);
+        for (Kind kind : Kind.values()) {
+          loadedThrough.put(kind, new Position(start.minus(offsets.get(kind)), Long.MIN_VALUE));
+        }
+      } finally {
+        lock.unlock();
+      }
+      refill();
+    } finally {
+      loading.unlock();
+    }
+  }
+
+  /** Read the due_date index on from the last loaded position up to the horizon */
+  @Scheduled(
+      initialDelayString = "${task.reminders.refill-interval:PT1M}",
+      fixedDelayString = "${task.reminders.refill-interval:PT1M}")
+  public void refill() {
+    loading.lock();
+    try {
+      LocalDateTime until = LocalDateTime.now().plus(horizon);
+      for (Kind kind : Kind.values()) {
+        refill(kind, until.minus(offsets.get(kind)));
+      }
+    } finally {
+      loading.unlock();
+    }
+  }
+
+  /** Read one kind's due dates on up to, not including, the given one, a batch at a time */
+  private void refill(Kind kind, LocalDateTime before) {
+    boolean more = true;
+    while (more) {
+      Position from;
+      lock.lock();
+      try {
+        if (loadedThrough.isEmpty() || pending.get(kind).size() >= maxPending) {
+          return;
+        }
+        from = loadedThrough.get(kind);
+        changedWhileLoading = new HashMap<>();
+      } finally {
+        lock.unlock();
+      }
+      List<ITaskRepository.DueTask> rows;
+      try {
+        rows =
+            taskRepository.findOpenDueAfter(
+                from.dueDate(), from.id(), before, PageRequest.of(0, loadBatch));
+      } catch (RuntimeException e) {
+        lock.lock();
+        try {
+          changedWhileLoading = null;
+        } finally {
+          lock.unlock();
+        }
+        throw e;
+      }
+      Position through;
+      if (rows.size() < loadBatch) {
+        // everything due before the horizon is loaded, including tasks with no reminder yet
+        Position end = new Position(before.minusNanos(1), Long.MAX_VALUE);
+        through = end.compareTo(from) > 0 ? end : from;
+        more = false;
+      } else {
+        ITaskRepository.DueTask last = rows.get(rows.size() - 1);
+        through = new Position(last.getDueDate(), last.getId());
+      }
+      lock.lock();
+      try {
+        merge(kind, rows, from, through);
+        // the set is full of reminders firing earlier, so trim dropped the whole batch again
+        if (loadedThrough.get(kind).compareTo(from) <= 0) {
+          return;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Schedule the rows read from {@code from} through {@code through}, then replay the changes that
+   * fell beyond the range before it was extended
+   */
+  private void merge(
+      Kind kind, List<ITaskRepository.DueTask> rows, Position from, Position through) {
+    Map<Long, TaskChangedEvent> changed = changedWhileLoading;
+    changedWhileLoading = null;
+    for (ITaskRepository.DueTask row : rows) {
+      // the read may predate a change made meanwhile, which has the last word
+      if (!changed.containsKey(row.getId())) {
+        schedule(kind, row.getId(), row.getDueDate());
+      }
+    }
+    // a trim during the read moved the position back; the rows past it are read again
+    if (loadedThrough.get(kind).equals(from)) {
+      loadedThrough.put(kind, through);
+    }
+    LocalDateTime now = LocalDateTime.now();
+    for (TaskChangedEvent event : changed.values()) {
+      if (event != null) {
+        apply(event, now);
+      }
+    }
+    trim();
+  }
+
+  /** Emit every reminder whose fire time has passed */
+  @Scheduled(fixedDelayString = "${task.reminders.tick:PT5S}")
+  public void fireDue() {
+    LocalDateTime now = LocalDateTime.now();
+    List<TaskReminder> due;
+    while (!(due = takeDue(now)).isEmpty()) {
+      List<TaskReminder> batch = due;
+      try {
+        transactionTemplate.executeWithoutResult(status -> emit(batch, now));
+      } catch (RuntimeException e) {
+        logger.warn("Failed to emit {} task reminders, retrying on the next tick", batch.size(), e);
+        requeue(batch);
+        return;
+      }
+    }
+  }
+
+  /** Apply a committed task change to the pending reminders */
+  @TransactionalEventListener
+  public void onTaskChanged(TaskChangedEvent event) {
+    lock.lock();
+    try {
+      if (loadedThrough.isEmpty()) {
+        return;
+      }
+      apply(event, LocalDateTime.now());
+      trim();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Apply a committed batch of task changes to the pending reminders */
+  @TransactionalEventListener
+  public void onTasksChanged(TasksChangedEvent event) {
+    lock.lock();
+    try {
+      if (loadedThrough.isEmpty()) {
+        return;
+      }
+      LocalDateTime now = LocalDateTime.now();
+      for (TaskChangedEvent change : event.changes()) {
+        apply(change, now);
+      }
+      trim();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void apply(TaskChangedEvent event, LocalDateTime now) {
+    boolean beyondLoaded = false;
+    Task task = event.task();
+    for (Kind kind : Kind.values()) {
+      boolean wasPending = unschedule(kind, event.taskId());
+      if (task == null || task.getStatus() == TaskStatus.COMPLETED || task.getDueDate() == null) {
+        continue;
+      }
+      if (new Position(task.getDueDate(), task.getId()).compareTo(loadedThrough.get(kind)) > 0) {
+        // beyond the loaded range; read from the index when the window gets there
+        beyondLoaded = true;
+        continue;
+      }
+      // a reminder whose time has passed was emitted already, unless it was still pending or the
+      // task is new or reopened
+      boolean fresh =
+          wasPending
+              || event.type() == TaskChangedEvent.Type.CREATED
+              || event.previousStatus() == TaskStatus.COMPLETED;
+      if (fresh || task.getDueDate().plus(offsets.get(kind)).isAfter(now)) {
+        schedule(kind, task.getId(), task.getDueDate());
+      }
+    }
+    if (changedWhileLoading != null) {
+      changedWhileLoading.put(event.taskId(), beyondLoaded ? event : null);
+    }
+  }
+
+  private void emit(List<TaskReminder> reminders, LocalDateTime now) {
+    Map<Long, Task> tasks = new HashMap<>();
+    for (Task task :
+        taskRepository.findAllById(reminders.stream().map(TaskReminder::taskId).toList())) {
+      tasks.put(task.getId(), task);
+    }
+    for (TaskReminder reminder : reminders) {
+      Task task = tasks.get(reminder.taskId());
+      if (task == null
+          || task.getStatus() == TaskStatus.COMPLETED
+          || task.getDueDate().plus(offsets.get(reminder.kind())).isAfter(now)) {
+        continue;
+      }
+      eventOutbox.enqueue(reminder.kind().detailType(), eventOutbox.toDetail(task));
+      emitted.get(reminder.kind()).increment();
+    }
+  }
+
+  /** Remove and return up to one load batch of reminders due at the given time */
+  private List<TaskReminder> takeDue(LocalDateTime now) {
+    lock.lock();
+    try {
+      List<TaskReminder> due = new ArrayList<>();
+      while (due.size() < loadBatch && !queue.isEmpty() && !queue.first().fireAt().isAfter(now)) {
+        TaskReminder reminder = queue.pollFirst();
+        pending.get(reminder.kind()).remove(reminder.taskId());
+        due.add(reminder);
+      }
+      return due;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void requeue(List<TaskReminder> reminders) {
+    lock.lock();
+    try {
+      for (TaskReminder reminder : reminders) {
+        // a write seen meanwhile has already scheduled a newer reminder
+        if (pending.get(reminder.kind()).putIfAbsent(reminder.taskId(), reminder) == null) {
+          queue.add(reminder);
+        }
+      }
+      trim();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void schedule(Kind kind, Long taskId, LocalDateTime dueDate) {
+    TaskReminder reminder =
+        new TaskReminder(kind, dueDate.plus(offsets.get(kind)), taskId, dueDate);
+    TaskReminder previous = pending.get(kind).put(taskId, reminder);
+    if (previous != null) {
+      queue.remove(previous);
+    }
+    queue.add(reminder);
+  }
+
+  private boolean unschedule(Kind kind, Long taskId) {
+    TaskReminder previous = pending.get(kind).remove(taskId);
+    if (previous == null) {
+      return false;
+    }
+    queue.remove(previous);
+    return true;
+  }
+
+  /** Drop the reminders that fire last until the set fits, moving the loaded range back */
+  private void trim() {
+    while (queue.size() > maxPending) {
+      TaskReminder last = queue.pollLast();
+      pending.get(last.kind()).remove(last.taskId());
+      Position reload = new Position(last.dueDate(), last.taskId() - 1);
+      if (reload.compareTo(loadedThrough.get(last.kind())) < 0) {
+        loadedThrough.put(last.kind(), reload);
+      }
+    }
+  }
+
+  /** A position in (dueDate, id) order, as read from the due_date index */
+  private record Position(LocalDateTime dueDate, long id) implements Comparable<Position> {
+
+    @Override
+    public int compareTo(Position other) {
+      int byDueDate = dueDate.compareTo(other.dueDate);
+      return byDueDate != 0 ? byDueDate : Long.compare(id, other.id);
+    }
+  }
+}
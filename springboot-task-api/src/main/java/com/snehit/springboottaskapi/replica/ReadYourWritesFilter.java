@@ -0,0 +1,88 @@
+package com.snehit.springboottaskapi.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.snehit.springboottaskapi.config.ClientKeys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Read-your-writes for clients of the ReplicaRoutingDataSource: for {@code sticky-for} after a
+ * client's write request, its read-only transactions go to the primary, so it does not read
+ * from a replica that has not caught up with its own change yet.
+ *
+ * <p>Clients are told apart by the authenticated user, else by the {@code client-header} when the
+ * connection comes from one of the {@code trusted-proxies}, else by remote address, so a client
+ * cannot read another's writes from the primary or lose its own pinning by changing the header.
+ * Writes are remembered by this instance only, so with several instances the load balancer should
+ * keep a client on one of them for at least {@code sticky-for}. Asynchronous requests such as
+ * exports read from a replica once they leave the request thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "task.replicas.urls")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+  private final ClientKeys clientKeys;
+
+  private final Cache<String, Boolean> recentWriters;
+
+  @Autowired
+  public ReadYourWritesFilter(
+      @Value("${task.replicas.client-header:X-Client-Id}") String clientHeader,
+      @Value("${task.replicas.trusted-proxies:}") List<String> trustedProxies,
+      @Value("${task.replicas.sticky-for:PT5S}") Duration stickyFor) {
+    this.clientKeys = new ClientKeys(clientHeader, trustedProxies);
+    this.recentWriters =
+        Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(stickyFor).build();
+  }
+
+  /** Whether the current request must read from the primary */
+  public static boolean isPrimaryRequired() {
+    return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String client = clientKeys.of(request);
+    boolean write = isWrite(request);
+    if (write) {
+      // remembered before the write, as the client may send its next request as soon as the
+      // response is flushed; a failed write only pins its reads needlessly
+      recentWriters.put(client, Boolean.TRUE);
+    }
+    if (recentWriters.getIfPresent(client) != null) {
+      PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      PRIMARY_REQUIRED.remove();
+      if (write) {
+        // and again once it has committed, for writes that take longer than sticky-for
+        recentWriters.put(client, Boolean.TRUE);
+      }
+    }
+  }
+
+  private static boolean isWrite(HttpServletRequest request) {
+    String method = request.getMethod();
+    return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+  }
+}
@@ -0,0 +1,202 @@
+package com.snehit.springboottaskapi.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections of read-only transactions to a healthy replica, round robin, and all others
+ * to the primary.
+ *
+ * <p>Reads go to the primary instead when the request is pinned to it by {@link
+ * ReadYourWritesFilter} after the client's own write, or when no replica is healthy. A replica is
+ * healthy when its {@code lag-query} (seconds behind the primary) succeeds and returns at most
+ * {@code max-lag}, or, without a lag query, when it accepts connections; this is checked every
+ * {@code health-interval}.
+ *
+ * <p>The routing decision is taken when the connection is first used, so this must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: transaction managers
+ * fetch the connection before the transaction is marked read-only.
+ *
+ * <p>Metrics: {@code task.datasource.route} counts connections by route and reason, {@code
+ * task.datasource.replica.healthy} and {@code task.datasource.replica.lag} (seconds) describe each
+ * replica.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource
+    implements DisposableBean {
+
+  static final String PRIMARY = "primary";
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  private final List<Replica> replicas = new ArrayList<>();
+
+  private final String lagQuery;
+
+  private final double maxLagSeconds;
+
+  private final AtomicInteger next = new AtomicInteger();
+
+  private final Counter writes;
+
+  private final Counter sticky;
+
+  private final Counter fallbacks;
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      Map<String, DataSource> replicaDataSources,
+      String lagQuery,
+      Duration maxLag,
+      MeterRegistry meterRegistry) {
+    this.lagQuery = lagQuery;
+    this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    Map<Object, Object> targets = new HashMap<>(replicaDataSources);
+    targets.put(PRIMARY, primary);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    for (Map.Entry<String, DataSource> entry : replicaDataSources.entrySet()) {
+      Replica replica = new Replica(entry.getKey(), entry.getValue(), meterRegistry);
+      replicas.add(replica);
+      Gauge.builder("task.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+          .description("Whether the replica receives read-only transactions")
+          .tag("replica", replica.name)
+          .register(meterRegistry);
+      Gauge.builder("task.datasource.replica.lag", replica, r -> r.lagSeconds)
+          .description("Seconds the replica is behind the primary, as of the last check")
+          .tag("replica", replica.name)
+          .register(meterRegistry);
+    }
+    this.writes = routeCounter(meterRegistry, PRIMARY, "write");
+    this.sticky = routeCounter(meterRegistry, PRIMARY, "sticky");
+    this.fallbacks = routeCounter(meterRegistry, PRIMARY, "fallback");
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    super.afterPropertiesSet();
+    checkReplicas();
+  }
+
+  /** Close the replica pools; the primary is closed by its owner */
+  @Override
+  public void destroy() throws Exception {
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      writes.increment();
+      return PRIMARY;
+    }
+    if (ReadYourWritesFilter.isPrimaryRequired()) {
+      sticky.increment();
+      return PRIMARY;
+    }
+    int size = replicas.size();
+    int start = Math.floorMod(next.getAndIncrement(), size);
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (replica.healthy) {
+        replica.reads.increment();
+        return replica.name;
+      }
+    }
+    fallbacks.increment();
+    return PRIMARY;
+  }
+
+  /** Update the health and lag of every replica */
+  @Scheduled(
+      initialDelayString = "${task.replicas.health-interval:PT5S}",
+      fixedDelayString = "${task.replicas.health-interval:PT5S}")
+  public void checkReplicas() {
+    for (Replica replica : replicas) {
+      boolean wasHealthy = replica.healthy;
+      try (Connection connection = replica.dataSource.getConnection()) {
+        replica.lagSeconds = lagSeconds(connection);
+        replica.healthy = replica.lagSeconds <= maxLagSeconds;
+        if (wasHealthy && !replica.healthy) {
+          logger.warn(
+              "Replica {} is {} s behind the primary, reads go elsewhere",
+              replica.name,
+              replica.lagSeconds);
+        }
+      } catch (SQLException | RuntimeException e) {
+        replica.healthy = false;
+        if (wasHealthy) {
+          logger.warn("Replica {} failed its health check, reads go elsewhere", replica.name, e);
+        }
+      }
+      if (!wasHealthy && replica.healthy) {
+        logger.info(
+            "Replica {} is healthy, {} s behind the primary", replica.name, replica.lagSeconds);
+      }
+    }
+  }
+
+  private double lagSeconds(Connection connection) throws SQLException {
+    if (lagQuery == null || lagQuery.isBlank()) {
+      if (!connection.isValid(5)) {
+        throw new SQLException("Connection is not valid");
+      }
+      return 0;
+    }
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(lagQuery)) {
+      if (!resultSet.next()) {
+        throw new SQLException("Lag query returned no rows");
+      }
+      return resultSet.getDouble(1);
+    }
+  }
+
+  private static Counter routeCounter(MeterRegistry meterRegistry, String route, String reason) {
+    return Counter.builder("task.datasource.route")
+        .description("Connections handed out, by route and reason")
+        .tag("route", route)
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  private static final class Replica {
+
+    private final String name;
+
+    private final DataSource dataSource;
+
+    private final Counter reads;
+
+    private volatile boolean healthy;
+
+    private volatile double lagSeconds;
+
+    private Replica(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+      this.name = name;
+      this.dataSource = dataSource;
+      this.reads = routeCounter(meterRegistry, name, "read");
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.entity.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IArchivedTaskRepository extends JpaRepository<ArchivedTask, Long>,
+        JpaSpecificationExecutor<ArchivedTask> {
+}
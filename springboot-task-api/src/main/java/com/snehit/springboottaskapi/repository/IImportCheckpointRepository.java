@@ -0,0 +1,9 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.entity.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -0,0 +1,38 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IOutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventWrites {
+
+    /**
+     * Find events of the given types for a task that are not due yet and were never sent, latest
+     * first, locking them so the dispatcher cannot delete one before the caller has merged into it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.taskId = :taskId AND e.detailType IN :detailTypes " +
+            "AND e.nextAttemptAt > :now AND e.attempts = 0 ORDER BY e.id DESC")
+    List<OutboxEvent> findWaiting(@Param("taskId") Long taskId,
+                                  @Param("detailTypes") Collection<String> detailTypes,
+                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Count events still waiting for delivery
+     */
+    long countByAttemptsLessThan(int maxAttempts);
+
+    /**
+     * Creation time of the oldest event still waiting for delivery
+     */
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.attempts < :maxAttempts")
+    LocalDateTime findOldestPendingCreatedAt(@Param("maxAttempts") int maxAttempts);
+}
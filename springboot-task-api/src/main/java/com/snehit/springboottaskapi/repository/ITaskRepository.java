@@ -2,15 +2,30 @@ package com.snehit.springboottaskapi.repository;
 
 import com.snehit.springboottaskapi.entity.Task;
 import com.snehit.springboottaskapi.enums.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface ITaskRepository extends JpaRepository<Task, Long> {
+public interface ITaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskSingleStatementWrites, TaskViewQueries, TaskArchiveMoves {
+
+    /**
+     * Rows fetched per JDBC round trip when streaming
+     */
+    String STREAM_FETCH_SIZE = "500";
 
     /**
      * Find tasks by status with pagination
@@ -18,12 +33,65 @@ public interface ITaskRepository extends JpaRepository<Task, Long> {
     Page<Task> findByStatus(TaskStatus status, Pageable pageable);
 
     /**
-     * Find tasks by status and title containing given text
+     * Find tasks by status and title containing given text. Built from {@link TaskSpecifications}
+     * so an absent filter is left out of the SQL rather than written as {@code ? IS NULL OR ...},
+     * which keeps the status indexes usable.
+     */
+    default Page<Task> findTasksWithFilters(TaskStatus status, String title, Pageable pageable) {
+        return findAll(TaskSpecifications.withFilters(status, title), pageable);
+    }
+
+    /**
+     * Same filters as findTasksWithFilters, returned as a Slice so no count query is issued
+     */
+    default Slice<Task> findTaskSliceWithFilters(TaskStatus status, String title, Pageable pageable) {
+        return findBy(TaskSpecifications.<Task>withFilters(status, title), query -> query.slice(pageable));
+    }
+
+    /**
+     * Same filters as findTasksWithFilters, as a forward-only stream in id order. Entities are
+     * loaded read-only; the stream must be consumed and closed inside a transaction.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("SELECT t FROM Task t WHERE " +
             "(:status IS NULL OR t.status = :status) AND " +
-            "(:title IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%')))")
-    Page<Task> findTasksWithFilters(@Param("status") TaskStatus status,
-                                    @Param("title") String title,
-                                    Pageable pageable);
-}
\ No newline at end of file
+            "(:title IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%'))) " +
+            "ORDER BY t.id")
+    Stream<Task> streamTasksWithFilters(@Param("status") TaskStatus status,
+                                        @Param("title") String title);
+
+    /**
+     * Find open tasks due before the given time, in (dueDate, id) order starting after the given
+     * position, so the due_date index is read as a keyset
+     */
+    @Query("SELECT t.id AS id, t.dueDate AS dueDate FROM Task t WHERE " +
+            "t.status <> com.snehit.springboottaskapi.enums.TaskStatus.COMPLETED AND " +
+            "t.dueDate < :before AND " +
+            "(t.dueDate > :afterDueDate OR (t.dueDate = :afterDueDate AND t.id > :afterId)) " +
+            "ORDER BY t.dueDate, t.id")
+    List<DueTask> findOpenDueAfter(@Param("afterDueDate") LocalDateTime afterDueDate,
+                                   @Param("afterId") long afterId,
+                                   @Param("before") LocalDateTime before,
+                                   Pageable pageable);
+
+    /**
+     * Count tasks per status
+     */
+    @Query("SELECT t.status AS status, COUNT(t) AS count FROM Task t GROUP BY t.status")
+    List<StatusCount> countGroupedByStatus();
+
+    interface StatusCount {
+        TaskStatus getStatus();
+
+        long getCount();
+    }
+
+    interface DueTask {
+        Long getId();
+
+        LocalDateTime getDueDate();
+    }
+}
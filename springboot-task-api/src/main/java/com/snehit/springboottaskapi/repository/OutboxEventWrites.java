@@ -0,0 +1,39 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes of the outbox dispatcher. Due rows are claimed before they are sent, so several
+ * dispatchers never send the same row at once, and the writes after sending only apply to rows
+ * still at the version the dispatcher claimed. A row that changed meanwhile is left alone.
+ */
+public interface OutboxEventWrites {
+
+    /**
+     * Claim up to {@code limit} events that are due and have attempts left, oldest first, skipping
+     * rows another transaction has locked. Claiming counts as an attempt: it increments attempts
+     * and version and moves nextAttemptAt to {@code leaseUntil}, so no other dispatcher fetches the
+     * rows before then, and rows of a dispatcher that stopped mid-send are retried afterwards.
+     *
+     * @return the claimed events as they are after the claim, in id order
+     */
+    List<OutboxEvent> claimDue(LocalDateTime now, int maxAttempts, int limit, LocalDateTime leaseUntil);
+
+    /**
+     * Delete the given events, each only if it is still at its version
+     *
+     * @return number of rows deleted
+     */
+    int deleteUnchanged(List<OutboxEvent> events);
+
+    /**
+     * Store attempts, lastError and nextAttemptAt of the given events, each only if it is still at
+     * its version, and increment the version
+     *
+     * @return number of rows updated
+     */
+    int rescheduleUnchanged(List<OutboxEvent> events);
+}
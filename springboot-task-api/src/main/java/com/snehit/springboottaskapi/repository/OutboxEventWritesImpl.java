@@ -0,0 +1,125 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implements the claim as one {@code UPDATE} of the rows a {@code FOR UPDATE SKIP LOCKED} subquery
+ * picks, returning the claimed rows with {@code RETURNING} on PostgreSQL and a {@code FINAL TABLE}
+ * data change delta table on H2; other databases lock the rows with a SELECT and update them by id.
+ * The conditional writes are JDBC batches of single-row statements keyed on id and version, one
+ * round trip per batch.
+ */
+class OutboxEventWritesImpl implements OutboxEventWrites {
+
+    private static final String COLUMNS = "id, source, detail_type, task_id, detail, created_at, "
+            + "next_attempt_at, attempts, last_error, version";
+
+    private static final String DUE =
+            "FROM event_outbox WHERE next_attempt_at <= ? AND attempts < ? ORDER BY id";
+
+    private static final String CLAIM =
+            "UPDATE event_outbox SET attempts = attempts + 1, next_attempt_at = ?, version = version + 1 "
+                    + "WHERE id IN (SELECT id " + DUE + " LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    private static final RowMapper<OutboxEvent> EVENT_ROW_MAPPER = (rs, rowNum) -> {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(rs.getLong("id"));
+        event.setSource(rs.getString("source"));
+        event.setDetailType(rs.getString("detail_type"));
+        event.setTaskId(rs.getObject("task_id", Long.class));
+        event.setDetail(rs.getString("detail"));
+        event.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        event.setNextAttemptAt(rs.getObject("next_attempt_at", LocalDateTime.class));
+        event.setAttempts(rs.getInt("attempts"));
+        event.setLastError(rs.getString("last_error"));
+        event.setVersion(rs.getLong("version"));
+        return event;
+    };
+
+    private static final String DELETE_UNCHANGED =
+            "DELETE FROM event_outbox WHERE id = ? AND version = ?";
+
+    private static final String RESCHEDULE_UNCHANGED =
+            "UPDATE event_outbox SET attempts = ?, last_error = ?, next_attempt_at = ?, "
+                    + "version = version + 1 WHERE id = ? AND version = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SqlDialect dialect;
+
+    OutboxEventWritesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = SqlDialect.of(jdbcTemplate);
+    }
+
+    @Override
+    @Transactional
+    public List<OutboxEvent> claimDue(LocalDateTime now, int maxAttempts, int limit, LocalDateTime leaseUntil) {
+        Timestamp due = Timestamp.valueOf(now);
+        Timestamp lease = Timestamp.valueOf(leaseUntil);
+        switch (dialect) {
+            case POSTGRESQL:
+                List<OutboxEvent> claimed = new ArrayList<>(jdbcTemplate.query(
+                        CLAIM + " RETURNING " + COLUMNS, EVENT_ROW_MAPPER, lease, due, maxAttempts, limit));
+                // RETURNING has no defined order
+                claimed.sort(Comparator.comparing(OutboxEvent::getId));
+                return claimed;
+            case H2:
+                return jdbcTemplate.query("SELECT " + COLUMNS + " FROM FINAL TABLE (" + CLAIM + ") ORDER BY id",
+                        EVENT_ROW_MAPPER, lease, due, maxAttempts, limit);
+            default:
+                List<OutboxEvent> locked = jdbcTemplate.query(
+                        "SELECT " + COLUMNS + " " + DUE + " FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED",
+                        EVENT_ROW_MAPPER, due, maxAttempts, limit);
+                jdbcTemplate.batchUpdate("UPDATE event_outbox SET attempts = attempts + 1, next_attempt_at = ?, "
+                        + "version = version + 1 WHERE id = ?", locked, locked.size(), (ps, event) -> {
+                            ps.setTimestamp(1, lease);
+                            ps.setLong(2, event.getId());
+                        });
+                for (OutboxEvent event : locked) {
+                    event.setAttempts(event.getAttempts() + 1);
+                    event.setNextAttemptAt(leaseUntil);
+                    event.setVersion(event.getVersion() + 1);
+                }
+                return locked;
+        }
+    }
+
+    @Override
+    public int deleteUnchanged(List<OutboxEvent> events) {
+        return sum(jdbcTemplate.batchUpdate(DELETE_UNCHANGED, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getId());
+            ps.setLong(2, event.getVersion());
+        }));
+    }
+
+    @Override
+    public int rescheduleUnchanged(List<OutboxEvent> events) {
+        return sum(jdbcTemplate.batchUpdate(RESCHEDULE_UNCHANGED, events, events.size(), (ps, event) -> {
+            ps.setInt(1, event.getAttempts());
+            ps.setString(2, event.getLastError());
+            ps.setObject(3, event.getNextAttemptAt());
+            ps.setLong(4, event.getId());
+            ps.setLong(5, event.getVersion());
+        }));
+    }
+
+    private static int sum(int[][] counts) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+}
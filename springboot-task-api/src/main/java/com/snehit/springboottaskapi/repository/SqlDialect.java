@@ -0,0 +1,34 @@
+package com.snehit.springboottaskapi.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The databases the hand-written repository statements have a single-statement form for. Any
+ * other database gets the portable form: a locked read followed by the write.
+ */
+enum SqlDialect {
+
+    /** Data change delta tables, {@code SELECT ... FROM OLD TABLE (UPDATE ...)} */
+    H2,
+
+    /** {@code UPDATE ... RETURNING} and {@code DELETE ... RETURNING} */
+    POSTGRESQL,
+
+    OTHER;
+
+    /**
+     * The dialect of the database behind the template, from the JDBC driver's product name
+     */
+    static SqlDialect of(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            return H2;
+        }
+        if ("PostgreSQL".equals(product)) {
+            return POSTGRESQL;
+        }
+        return OTHER;
+    }
+}
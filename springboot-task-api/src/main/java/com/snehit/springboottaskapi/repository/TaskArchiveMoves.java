@@ -0,0 +1,22 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.entity.ArchivedTask;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves completed tasks from the tasks table to archived_tasks.
+ */
+public interface TaskArchiveMoves {
+
+    /**
+     * Move up to {@code limit} tasks completed and last updated before {@code completedBefore},
+     * taking ids after {@code afterId} in order, so repeated calls walk the primary key once.
+     * Must run in a transaction, which makes the delete and the copy atomic.
+     *
+     * @return the archived rows, in id order
+     */
+    List<ArchivedTask> archiveCompleted(LocalDateTime completedBefore, long afterId, int limit,
+                                        LocalDateTime archivedAt);
+}
@@ -0,0 +1,116 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.entity.ArchivedTask;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implements the move per database. On PostgreSQL a data-modifying CTE,
+ * {@code WITH moved AS (DELETE ... RETURNING ...) INSERT INTO archived_tasks SELECT ... FROM moved},
+ * deletes the batch and copies it in one statement. On H2 a data change delta table,
+ * {@code SELECT ... FROM OLD TABLE (DELETE ...)}, deletes the batch and returns the deleted rows,
+ * and a JDBC batch inserts them into the archive. Other databases lock the batch with
+ * {@code SELECT ... FOR UPDATE}, copy it and then delete it by id.
+ *
+ * <p>The delete repeats the completed filter, so a task reopened after the batch was chosen is
+ * left alone.
+ */
+class TaskArchiveMovesImpl implements TaskArchiveMoves {
+
+    private static final String COLUMNS =
+            "id, title, description, status, due_date, created_at, updated_at, version";
+
+    private static final String COMPLETED = "status = 'COMPLETED' AND updated_at < ?";
+
+    private static final String NEXT_BATCH =
+            "SELECT id FROM tasks WHERE id > ? AND " + COMPLETED + " ORDER BY id LIMIT ?";
+
+    private static final String MOVE_BATCH_POSTGRESQL =
+            "WITH moved AS (DELETE FROM tasks WHERE id IN (" + NEXT_BATCH + ") AND " + COMPLETED
+                    + " RETURNING " + COLUMNS + ") "
+                    + "INSERT INTO archived_tasks (" + COLUMNS + ", archived_at) "
+                    + "SELECT " + COLUMNS + ", ? FROM moved RETURNING " + COLUMNS;
+
+    private static final String DELETE_BATCH_H2 =
+            "SELECT " + COLUMNS + " FROM OLD TABLE (DELETE FROM tasks WHERE id IN (" + NEXT_BATCH + ") AND "
+                    + COMPLETED + ") ORDER BY id";
+
+    private static final String LOCK_BATCH =
+            "SELECT " + COLUMNS + " FROM tasks WHERE id > ? AND " + COMPLETED
+                    + " ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE";
+
+    private static final String INSERT_ARCHIVED =
+            "INSERT INTO archived_tasks (" + COLUMNS + ", archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SqlDialect dialect;
+
+    TaskArchiveMovesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = SqlDialect.of(jdbcTemplate);
+    }
+
+    @Override
+    public List<ArchivedTask> archiveCompleted(LocalDateTime completedBefore, long afterId, int limit,
+                                               LocalDateTime archivedAt) {
+        Timestamp before = Timestamp.valueOf(completedBefore);
+        RowMapper<ArchivedTask> rowMapper = archivedRowMapper(archivedAt);
+        switch (dialect) {
+            case POSTGRESQL:
+                List<ArchivedTask> moved = new ArrayList<>(jdbcTemplate.query(MOVE_BATCH_POSTGRESQL, rowMapper,
+                        afterId, before, limit, before, archivedAt));
+                // RETURNING has no defined order
+                moved.sort(Comparator.comparing(ArchivedTask::getId));
+                return moved;
+            case H2:
+                List<ArchivedTask> deleted = jdbcTemplate.query(DELETE_BATCH_H2, rowMapper,
+                        afterId, before, limit, before);
+                insertArchived(deleted, archivedAt);
+                return deleted;
+            default:
+                List<ArchivedTask> locked = jdbcTemplate.query(LOCK_BATCH, rowMapper, afterId, before, limit);
+                insertArchived(locked, archivedAt);
+                jdbcTemplate.batchUpdate("DELETE FROM tasks WHERE id = ?", locked, locked.size(),
+                        (ps, task) -> ps.setLong(1, task.getId()));
+                return locked;
+        }
+    }
+
+    private void insertArchived(List<ArchivedTask> tasks, LocalDateTime archivedAt) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ARCHIVED, tasks, tasks.size(), (ps, task) -> {
+            ps.setLong(1, task.getId());
+            ps.setString(2, task.getTitle());
+            ps.setString(3, task.getDescription());
+            ps.setString(4, task.getStatus().name());
+            ps.setObject(5, task.getDueDate());
+            ps.setObject(6, task.getCreatedAt());
+            ps.setObject(7, task.getUpdatedAt());
+            ps.setLong(8, task.getVersion());
+            ps.setObject(9, archivedAt);
+        });
+    }
+
+    private static RowMapper<ArchivedTask> archivedRowMapper(LocalDateTime archivedAt) {
+        return (rs, rowNum) -> new ArchivedTask(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                TaskStatus.valueOf(rs.getString("status")),
+                rs.getObject("due_date", LocalDateTime.class),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getLong("version"),
+                archivedAt);
+    }
+}
@@ -0,0 +1,34 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Task writes that run as one SQL statement without loading the entity first (on H2 and
+ * PostgreSQL; a locked read and the write elsewhere). Each returns the row as it was before the
+ * write, so callers can still tell which status the task moved from. They bypass the persistence context, so they must not be mixed with
+ * managed changes to the same task in one transaction.
+ */
+public interface TaskSingleStatementWrites {
+
+    /**
+     * Apply the non-null fields of the patch, stamp updatedAt and increment the version
+     *
+     * @param expectedVersion only update if the task is at this version; null means unconditional
+     * @return the task before the update, or empty if no row matched
+     */
+    Optional<Task> patchReturningPrevious(Long id, TaskPatch patch, Long expectedVersion,
+                                          LocalDateTime updatedAt);
+
+    /**
+     * Delete the task
+     *
+     * @param expectedVersion only delete if the task is at this version; null means unconditional
+     * @return the status of the deleted task, or empty if no row matched
+     */
+    Optional<TaskStatus> deleteReturningStatus(Long id, Long expectedVersion);
+}
@@ -0,0 +1,125 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implements the single-statement writes per database. On H2 a data change delta table,
+ * {@code SELECT ... FROM OLD TABLE (UPDATE ...)}, runs the write and returns the rows it touched as
+ * they were before. On PostgreSQL the UPDATE joins the row it locks in a subquery and returns that
+ * pre-image with {@code RETURNING}; a DELETE returns the deleted row anyway. Both are one round
+ * trip. Other databases get a {@code SELECT ... FOR UPDATE} followed by the write.
+ */
+class TaskSingleStatementWritesImpl implements TaskSingleStatementWrites {
+
+    private static final String COLUMNS =
+            "id, title, description, status, due_date, created_at, updated_at, version";
+
+    private static final RowMapper<Task> TASK_ROW_MAPPER = (rs, rowNum) -> new Task(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            TaskStatus.valueOf(rs.getString("status")),
+            rs.getObject("due_date", LocalDateTime.class),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SqlDialect dialect;
+
+    TaskSingleStatementWritesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = SqlDialect.of(jdbcTemplate);
+    }
+
+    @Override
+    public Optional<Task> patchReturningPrevious(Long id, TaskPatch patch, Long expectedVersion,
+                                                 LocalDateTime updatedAt) {
+        StringBuilder set = new StringBuilder();
+        List<Object> setArgs = new ArrayList<>();
+        if (patch.getTitle() != null) {
+            set.append("title = ?, ");
+            setArgs.add(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            set.append("description = ?, ");
+            setArgs.add(patch.getDescription());
+        }
+        if (patch.getStatus() != null) {
+            set.append("status = ?, ");
+            setArgs.add(patch.getStatus().name());
+        }
+        if (patch.getDueDate() != null) {
+            set.append("due_date = ?, ");
+            setArgs.add(patch.getDueDate());
+        }
+        set.append("updated_at = ?, version = tasks.version + 1");
+        setArgs.add(updatedAt);
+
+        String where = expectedVersion == null ? "id = ?" : "id = ? AND version = ?";
+        List<Object> whereArgs = expectedVersion == null ? List.of(id) : List.of(id, expectedVersion);
+
+        switch (dialect) {
+            case H2:
+                return queryFirst(
+                        "SELECT " + COLUMNS + " FROM OLD TABLE (UPDATE tasks SET " + set + " WHERE " + where + ")",
+                        setArgs, whereArgs);
+            case POSTGRESQL:
+                return queryFirst(
+                        "UPDATE tasks SET " + set
+                                + " FROM (SELECT " + COLUMNS + " FROM tasks WHERE " + where + " FOR UPDATE) old"
+                                + " WHERE tasks.id = old.id RETURNING old.id, old.title, old.description,"
+                                + " old.status, old.due_date, old.created_at, old.updated_at, old.version",
+                        setArgs, whereArgs);
+            default:
+                Optional<Task> previous = queryFirst(
+                        "SELECT " + COLUMNS + " FROM tasks WHERE " + where + " FOR UPDATE", List.of(), whereArgs);
+                if (previous.isPresent()) {
+                    List<Object> args = new ArrayList<>(setArgs);
+                    args.add(id);
+                    jdbcTemplate.update("UPDATE tasks SET " + set + " WHERE id = ?", args.toArray());
+                }
+                return previous;
+        }
+    }
+
+    @Override
+    public Optional<TaskStatus> deleteReturningStatus(Long id, Long expectedVersion) {
+        String where = expectedVersion == null ? "id = ?" : "id = ? AND version = ?";
+        Object[] args = expectedVersion == null ? new Object[] {id} : new Object[] {id, expectedVersion};
+        List<String> statuses;
+        switch (dialect) {
+            case H2:
+                statuses = jdbcTemplate.queryForList(
+                        "SELECT status FROM OLD TABLE (DELETE FROM tasks WHERE " + where + ")", String.class, args);
+                break;
+            case POSTGRESQL:
+                statuses = jdbcTemplate.queryForList(
+                        "DELETE FROM tasks WHERE " + where + " RETURNING status", String.class, args);
+                break;
+            default:
+                statuses = jdbcTemplate.queryForList(
+                        "SELECT status FROM tasks WHERE " + where + " FOR UPDATE", String.class, args);
+                if (!statuses.isEmpty()) {
+                    jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", id);
+                }
+        }
+        return statuses.stream().findFirst().map(TaskStatus::valueOf);
+    }
+
+    private Optional<Task> queryFirst(String sql, List<Object> setArgs, List<Object> whereArgs) {
+        List<Object> args = new ArrayList<>(setArgs);
+        args.addAll(whereArgs);
+        return jdbcTemplate.query(sql, TASK_ROW_MAPPER, args.toArray()).stream().findFirst();
+    }
+}
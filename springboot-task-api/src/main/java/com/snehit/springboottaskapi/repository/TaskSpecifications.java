@@ -0,0 +1,35 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specifications for the filters of task listings, used by {@link
+ * ITaskRepository#findTasksWithFilters} and by queries that need dynamic sorting or scrolling. Only
+ * the filters given become predicates, so the database sees {@code status = ?} and can use an index
+ * on it.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Match tasks by optional status and optional case-insensitive title substring; applies to
+     * {@link Task} and to {@link com.snehit.springboottaskapi.entity.ArchivedTask} alike
+     */
+    public static <T> Specification<T> withFilters(TaskStatus status, String title) {
+        return (root, query, cb) -> {
+            var predicate = cb.conjunction();
+            if (status != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("status"), status));
+            }
+            if (title != null) {
+                predicate = cb.and(predicate,
+                        cb.like(cb.lower(root.get("title")), "%" + title.toLowerCase() + "%"));
+            }
+            return predicate;
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.dto.TaskView;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Listing queries that select only the requested columns, so unused columns are neither read nor
+ * hydrated into managed entities.
+ */
+public interface TaskViewQueries {
+
+    /**
+     * Find one page of tasks by optional status, title substring and ids, without a count
+     *
+     * @param fields columns to select
+     * @param ids only tasks among these ids; null for no restriction
+     */
+    Slice<TaskView> findViews(Set<TaskField> fields, TaskStatus status, String title,
+                              Collection<Long> ids, Pageable pageable);
+
+    /**
+     * Same as {@link #findViews} without ids, over the tasks table and the archive together
+     *
+     * @throws IllegalArgumentException if the sort is not by {@link TaskField} properties
+     */
+    Slice<TaskView> findViewsIncludingArchived(Set<TaskField> fields, TaskStatus status,
+                                               String title, Pageable pageable);
+}
@@ -0,0 +1,163 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.dto.TaskView;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implements the listing queries as tuple queries: only the requested columns appear in the SELECT
+ * list, and rows come back as scalars rather than managed entities, so the persistence context
+ * holds no snapshot of them. The tasks table alone is queried with Criteria; together with the
+ * archive it is a {@code UNION ALL} in HQL, which Criteria cannot express.
+ */
+class TaskViewQueriesImpl implements TaskViewQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TaskView> findViews(Set<TaskField> fields, TaskStatus status, String title,
+                                     Collection<Long> ids, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<TaskField> selected = List.copyOf(fields);
+        query.multiselect(selected.stream()
+                .<Selection<?>>map(field -> root.get(field.getProperty()))
+                .toList());
+
+        Predicate predicate = TaskSpecifications.<Task>withFilters(status, title)
+                .toPredicate(root, query, cb);
+        if (ids != null) {
+            predicate = cb.and(predicate, root.get("id").in(ids));
+        }
+        query.where(predicate);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            // one extra row tells whether there is a next page without a count
+            typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        }
+        return toSlice(typedQuery, selected, selected.size(), pageable);
+    }
+
+    @Override
+    public Slice<TaskView> findViewsIncludingArchived(Set<TaskField> fields, TaskStatus status,
+                                                      String title, Pageable pageable) {
+        // a union can only be ordered by its own columns, so sort fields are selected as well and
+        // referenced by alias
+        List<TaskField> selected = new ArrayList<>(fields);
+        StringBuilder orderBy = new StringBuilder();
+        for (Sort.Order order : pageable.getSort()) {
+            TaskField field = TaskField.fromProperty(order.getProperty());
+            if (!selected.contains(field)) {
+                selected.add(field);
+            }
+            orderBy.append(orderBy.isEmpty() ? " order by " : ", ")
+                    .append("u.").append(alias(selected.indexOf(field)))
+                    .append(order.isAscending() ? " asc" : " desc");
+        }
+        // ordered outside the union, as Hibernate would otherwise apply it to the last select only
+        StringBuilder hql = new StringBuilder("select ");
+        for (int i = 0; i < selected.size(); i++) {
+            hql.append(i == 0 ? "" : ", ").append("u.").append(alias(i));
+        }
+        hql.append(" from (")
+                .append(select(selected, "Task", status, title))
+                .append(" union all ")
+                .append(select(selected, "ArchivedTask", status, title))
+                .append(") u")
+                .append(orderBy);
+
+        TypedQuery<Tuple> query = entityManager.createQuery(hql.toString(), Tuple.class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (title != null) {
+            query.setParameter("title", "%" + title.toLowerCase() + "%");
+        }
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize() + 1);
+        }
+        return toSlice(query, selected, fields.size(), pageable);
+    }
+
+    private static String select(List<TaskField> selected, String entity, TaskStatus status,
+                                 String title) {
+        StringBuilder hql = new StringBuilder("select ");
+        for (int i = 0; i < selected.size(); i++) {
+            hql.append(i == 0 ? "" : ", ").append("t.").append(selected.get(i).getProperty())
+                    .append(" as ").append(alias(i));
+        }
+        hql.append(" from ").append(entity).append(" t where 1 = 1");
+        if (status != null) {
+            hql.append(" and t.status = :status");
+        }
+        if (title != null) {
+            hql.append(" and lower(t.title) like :title");
+        }
+        return hql.toString();
+    }
+
+    private static String alias(int column) {
+        return "c" + column;
+    }
+
+    /** Map the first {@code mapped} columns of the rows; the query fetched one row extra */
+    private static Slice<TaskView> toSlice(TypedQuery<Tuple> query, List<TaskField> selected,
+                                           int mapped, Pageable pageable) {
+        List<Tuple> rows = query.getResultList();
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+
+        List<TaskView> views = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            TaskView view = new TaskView();
+            for (int i = 0; i < mapped; i++) {
+                set(view, selected.get(i), row.get(i));
+            }
+            views.add(view);
+        }
+        return new SliceImpl<>(views, pageable, hasNext);
+    }
+
+    private static void set(TaskView view, TaskField field, Object value) {
+        switch (field) {
+            case ID -> view.setId((Long) value);
+            case TITLE -> view.setTitle((String) value);
+            case DESCRIPTION -> view.setDescription((String) value);
+            case STATUS -> view.setStatus((TaskStatus) value);
+            case DUE_DATE -> view.setDueDate((LocalDateTime) value);
+            case CREATED_AT -> view.setCreatedAt((LocalDateTime) value);
+            case UPDATED_AT -> view.setUpdatedAt((LocalDateTime) value);
+            case VERSION -> view.setVersion((Long) value);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.snehit.springboottaskapi.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of task ids backed by a primitive array. Task ids are assigned in increasing order,
+ * so adds are almost always appends.
+ */
+final class PostingList {
+
+  private long[] ids = new long[4];
+
+  private int size;
+
+  int size() {
+    return size;
+  }
+
+  long get(int index) {
+    return ids[index];
+  }
+
+  void add(long id) {
+    if (size > 0 && ids[size - 1] >= id) {
+      int pos = Arrays.binarySearch(ids, 0, size, id);
+      if (pos >= 0) {
+        return;
+      }
+      insertAt(-pos - 1, id);
+      return;
+    }
+    ensureCapacity();
+    ids[size++] = id;
+  }
+
+  /** @return true when the list became empty */
+  boolean remove(long id) {
+    int pos = Arrays.binarySearch(ids, 0, size, id);
+    if (pos >= 0) {
+      System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+      size--;
+    }
+    return size == 0;
+  }
+
+  boolean contains(long id) {
+    return Arrays.binarySearch(ids, 0, size, id) >= 0;
+  }
+
+  private void insertAt(int pos, long id) {
+    ensureCapacity();
+    System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+    ids[pos] = id;
+    size++;
+  }
+
+  private void ensureCapacity() {
+    if (size == ids.length) {
+      ids = Arrays.copyOf(ids, ids.length * 2);
+    }
+  }
+}
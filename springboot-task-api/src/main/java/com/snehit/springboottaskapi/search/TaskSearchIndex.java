@@ -0,0 +1,431 @@
+package com.snehit.springboottaskapi.search;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TasksChangedEvent;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import com.snehit.springboottaskapi.repository.TaskSpecifications;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory trigram index over task titles and descriptions.
+ *
+ * <p>Each field keeps an inverted index from trigram to a sorted {@link PostingList} of task ids.
+ * A substring query is answered by intersecting the posting lists of its trigrams, starting from
+ * the shortest, and verifying the few surviving candidates, so the cost follows the rarest trigram
+ * rather than the table size. Word starts are additionally indexed with a marker character, which
+ * lets two-character queries match word prefixes. One-character queries fall back to a scan.
+ *
+ * <p>The index is rebuilt from the database at startup and kept current from committed {@link
+ * TaskChangedEvent}s; until the first build finishes {@link #isReady()} is false and callers fall
+ * back to the SQL LIKE query. Like the status counters, it is local to this instance and does not
+ * see writes made by other instances until its next rebuild, so it only backs the ranked search
+ * endpoint; the title filter of the list endpoints always queries the database. Queries are
+ * matched literally, so {@code %} and {@code _} are not wildcards as they are in LIKE.
+ */
+@Component
+public class TaskSearchIndex {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+  private static final char WORD_START = '\u0001';
+
+  private static final int REBUILD_BATCH_SIZE = 1000;
+
+  private final ITaskRepository taskRepository;
+
+  private final TaskExecutor taskExecutor;
+
+  private final boolean indexDescription;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<Long, IndexedTask> tasks = new HashMap<>();
+
+  private final Map<String, PostingList> titleGrams = new HashMap<>();
+
+  private final Map<String, PostingList> descriptionGrams = new HashMap<>();
+
+  /** Ids deleted while a rebuild is in progress, so the rebuild does not resurrect them */
+  private final Set<Long> tombstones = new HashSet<>();
+
+  private boolean building;
+
+  private volatile boolean ready;
+
+  @Autowired
+  public TaskSearchIndex(
+      ITaskRepository taskRepository,
+      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+          TaskExecutor taskExecutor,
+      @Value("${task.search.index-description:true}") boolean indexDescription) {
+    this.taskRepository = taskRepository;
+    this.taskExecutor = taskExecutor;
+    this.indexDescription = indexDescription;
+  }
+
+  /** Ranked search result: one page of matching ids plus the total number of matches */
+  public record SearchResult(List<Long> ids, int total) {}
+
+  private record IndexedTask(
+      long id, TaskStatus status, String title, String description, LocalDateTime updatedAt) {}
+
+  private record Hit(long id, int score) {}
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void initialize() {
+    taskExecutor.execute(this::rebuild);
+  }
+
+  /** Keep the index in step with committed task changes */
+  @TransactionalEventListener
+  public void onTaskChanged(TaskChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      applyLocked(event);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Apply a committed batch of task changes under one acquisition of the write lock */
+  @TransactionalEventListener
+  public void onTasksChanged(TasksChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      event.changes().forEach(this::applyLocked);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Reload the whole index from the database */
+  public void rebuild() {
+    long start = System.currentTimeMillis();
+    lock.writeLock().lock();
+    try {
+      tasks.clear();
+      titleGrams.clear();
+      descriptionGrams.clear();
+      tombstones.clear();
+      building = true;
+      ready = false;
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    Sort byId = Sort.by(Sort.Direction.ASC, "id");
+    ScrollPosition position = ScrollPosition.keyset();
+    Window<Task> window;
+    do {
+      ScrollPosition current = position;
+      window =
+          taskRepository.findBy(
+              TaskSpecifications.withFilters(null, null),
+              query -> query.sortBy(byId).limit(REBUILD_BATCH_SIZE).scroll(current));
+      lock.writeLock().lock();
+      try {
+        for (Task task : window) {
+          if (!tombstones.contains(task.getId())) {
+            putLocked(task);
+          }
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+      if (!window.isEmpty()) {
+        position = window.positionAt(window.size() - 1);
+      }
+    } while (window.hasNext());
+
+    lock.writeLock().lock();
+    try {
+      building = false;
+      tombstones.clear();
+      ready = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    logger.info(
+        "Search index built with {} tasks in {} ms",
+        tasks.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  public void put(Task task) {
+    lock.writeLock().lock();
+    try {
+      putLocked(task);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(long id) {
+    lock.writeLock().lock();
+    try {
+      deleteLocked(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Ranked substring/prefix search over title and description
+   *
+   * @return empty when the index has not been built yet
+   */
+  public Optional<SearchResult> search(String text, TaskStatus status, int offset, int limit) {
+    String query = normalize(text);
+    if (!ready) {
+      return Optional.empty();
+    }
+    lock.readLock().lock();
+    try {
+      List<Hit> hits = new ArrayList<>();
+      if (query.length() == 1) {
+        for (IndexedTask task : tasks.values()) {
+          collect(task, query, status, hits);
+        }
+      } else {
+        Set<String> grams =
+            query.length() == 2 ? Set.of(WORD_START + query) : trigrams(query);
+        long[] titleCandidates = candidates(titleGrams, grams);
+        long[] descriptionCandidates =
+            indexDescription ? candidates(descriptionGrams, grams) : new long[0];
+        for (long id : union(titleCandidates, descriptionCandidates)) {
+          collect(tasks.get(id), query, status, hits);
+        }
+      }
+      hits.sort(
+          Comparator.comparingInt(Hit::score)
+              .reversed()
+              .thenComparing(Hit::id, Comparator.reverseOrder()));
+      List<Long> page = new ArrayList<>();
+      for (int i = offset; i < Math.min(hits.size(), offset + limit); i++) {
+        page.add(hits.get(i).id());
+      }
+      return Optional.of(new SearchResult(page, hits.size()));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void collect(IndexedTask task, String query, TaskStatus status, List<Hit> hits) {
+    if (status != null && task.status() != status) {
+      return;
+    }
+    int score = score(task.title(), query) * 4;
+    if (indexDescription) {
+      score += score(task.description(), query);
+    }
+    if (score > 0) {
+      hits.add(new Hit(task.id(), score));
+    }
+  }
+
+  /** Exact match beats prefix, prefix beats word prefix, word prefix beats plain substring */
+  private static int score(String field, String query) {
+    if (field == null) {
+      return 0;
+    }
+    int index = field.indexOf(query);
+    if (index < 0) {
+      return 0;
+    }
+    if (field.length() == query.length()) {
+      return 8;
+    }
+    if (index == 0) {
+      return 6;
+    }
+    return field.contains(" " + query) ? 4 : query.length() > 2 ? 2 : 0;
+  }
+
+  private void applyLocked(TaskChangedEvent event) {
+    if (event.task() == null) {
+      // deleted or archived; the index only covers the tasks table
+      deleteLocked(event.taskId());
+    } else {
+      putLocked(event.task());
+    }
+  }
+
+  private void deleteLocked(long id) {
+    removeLocked(id);
+    if (building) {
+      tombstones.add(id);
+    }
+  }
+
+  private void putLocked(Task task) {
+    IndexedTask existing = tasks.get(task.getId());
+    if (existing != null) {
+      if (existing.updatedAt() != null
+          && task.getUpdatedAt() != null
+          && task.getUpdatedAt().isBefore(existing.updatedAt())) {
+        return;
+      }
+      removeLocked(task.getId());
+    }
+    IndexedTask indexed =
+        new IndexedTask(
+            task.getId(),
+            task.getStatus(),
+            normalize(task.getTitle()),
+            indexDescription && task.getDescription() != null
+                ? normalize(task.getDescription())
+                : null,
+            task.getUpdatedAt());
+    tasks.put(indexed.id(), indexed);
+    addGrams(titleGrams, indexed.title(), indexed.id());
+    addGrams(descriptionGrams, indexed.description(), indexed.id());
+  }
+
+  private void removeLocked(long id) {
+    IndexedTask existing = tasks.remove(id);
+    if (existing != null) {
+      removeGrams(titleGrams, existing.title(), id);
+      removeGrams(descriptionGrams, existing.description(), id);
+    }
+  }
+
+  private static void addGrams(Map<String, PostingList> index, String text, long id) {
+    if (text == null) {
+      return;
+    }
+    for (String gram : documentGrams(text)) {
+      index.computeIfAbsent(gram, key -> new PostingList()).add(id);
+    }
+  }
+
+  private static void removeGrams(Map<String, PostingList> index, String text, long id) {
+    if (text == null) {
+      return;
+    }
+    for (String gram : documentGrams(text)) {
+      PostingList postings = index.get(gram);
+      if (postings != null && postings.remove(id)) {
+        index.remove(gram);
+      }
+    }
+  }
+
+  /** Trigrams of the text plus a marker gram for the first two characters of every word */
+  private static Set<String> documentGrams(String text) {
+    Set<String> grams = trigrams(text);
+    for (int i = 0; i + 1 < text.length(); i++) {
+      if (i == 0 || text.charAt(i - 1) == ' ') {
+        grams.add(WORD_START + text.substring(i, i + 2));
+      }
+    }
+    return grams;
+  }
+
+  private static Set<String> trigrams(String text) {
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i + 3 <= text.length(); i++) {
+      grams.add(text.substring(i, i + 3));
+    }
+    return grams;
+  }
+
+  /** Ids present in the posting list of every gram, intersected from the shortest list up */
+  private static long[] candidates(Map<String, PostingList> index, Set<String> grams) {
+    List<Long> ids = new ArrayList<>();
+    forEachCandidate(index, grams, ids::add);
+    return ids.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  /**
+   * Visit, in id order, the ids present in the posting list of every gram, stopping as soon as the
+   * visitor returns false
+   *
+   * @return false when the visitor stopped the iteration early
+   */
+  private static boolean forEachCandidate(
+      Map<String, PostingList> index, Set<String> grams, LongPredicate visitor) {
+    List<PostingList> lists = new ArrayList<>(grams.size());
+    for (String gram : grams) {
+      PostingList postings = index.get(gram);
+      if (postings == null) {
+        return true;
+      }
+      lists.add(postings);
+    }
+    if (lists.isEmpty()) {
+      return true;
+    }
+    lists.sort(Comparator.comparingInt(PostingList::size));
+    PostingList shortest = lists.get(0);
+    outer:
+    for (int i = 0; i < shortest.size(); i++) {
+      long id = shortest.get(i);
+      for (int j = 1; j < lists.size(); j++) {
+        if (!lists.get(j).contains(id)) {
+          continue outer;
+        }
+      }
+      if (!visitor.test(id)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long[] union(long[] a, long[] b) {
+    long[] result = new long[a.length + b.length];
+    int i = 0;
+    int j = 0;
+    int count = 0;
+    while (i < a.length || j < b.length) {
+      long next;
+      if (j == b.length || (i < a.length && a[i] < b[j])) {
+        next = a[i++];
+      } else if (i == a.length || b[j] < a[i]) {
+        next = b[j++];
+      } else {
+        next = a[i++];
+        j++;
+      }
+      result[count++] = next;
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private static String normalize(String text) {
+    return text == null ? "" : text.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,83 @@
+package com.snehit.springboottaskapi.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 reader: returns one record at a time, with quoted fields that may contain
+ * delimiters, doubled quotes and line breaks. Empty unquoted fields are returned as null.
+ */
+final class CsvRecordReader {
+
+  private final Reader reader;
+
+  private int pending = -2;
+
+  CsvRecordReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /** @return the next record, or null at end of input */
+  List<String> next() throws IOException {
+    int c = read();
+    while (c == '\r' || c == '\n') {
+      c = read();
+    }
+    if (c == -1) {
+      return null;
+    }
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    boolean wasQuoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        if (c == '"') {
+          int next = read();
+          if (next == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            c = next;
+            continue;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.length() == 0) {
+        quoted = true;
+        wasQuoted = true;
+      } else if (c == ',' || c == '\n' || c == '\r' || c == -1) {
+        fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+        field.setLength(0);
+        wasQuoted = false;
+        if (c != ',') {
+          if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+              pending = next;
+            }
+          }
+          return fields;
+        }
+      } else {
+        field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  private int read() throws IOException {
+    if (pending != -2) {
+      int c = pending;
+      pending = -2;
+      return c;
+    }
+    return reader.read();
+  }
+}
@@ -0,0 +1,15 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.dto.BulkResult;
+import com.snehit.springboottaskapi.entity.Task;
+
+import java.util.List;
+
+public interface ITaskBulkService {
+
+    BulkResult createTasks(List<Task> tasks);
+
+    BulkResult updateTasks(List<Task> tasks);
+
+    BulkResult deleteTasks(List<Long> ids);
+}
@@ -0,0 +1,13 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.enums.ExportFormat;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ITaskExportService {
+
+    long exportTasks(TaskStatus status, String title, ExportFormat format, OutputStream out)
+            throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.dto.ImportResult;
+import com.snehit.springboottaskapi.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ITaskImportService {
+
+    ImportResult importTasks(InputStream in, ExportFormat format, String jobId) throws IOException;
+
+    ImportResult getImportProgress(String jobId);
+}
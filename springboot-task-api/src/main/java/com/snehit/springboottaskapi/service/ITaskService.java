@@ -1,9 +1,19 @@
 package com.snehit.springboottaskapi.service;
 
+import com.snehit.springboottaskapi.dto.CursorPage;
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.dto.TaskStats;
+import com.snehit.springboottaskapi.dto.TaskView;
 import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.enums.TaskSortField;
 import com.snehit.springboottaskapi.enums.TaskStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
 
 public interface ITaskService {
 
@@ -13,10 +23,33 @@ public interface ITaskService {
 
     Page<Task> getAllTasks(TaskStatus status, String title, Pageable pageable);
 
+    Slice<Task> getTaskSlice(TaskStatus status, String title, Pageable pageable);
+
+    Page<TaskView> getAllTaskViews(Set<TaskField> fields, TaskStatus status, String title,
+                                   boolean includeArchived, Pageable pageable);
+
+    Slice<TaskView> getTaskViewSlice(Set<TaskField> fields, TaskStatus status, String title,
+                                     boolean includeArchived, Pageable pageable);
+
+    TaskStats getTaskStats();
+
+    Page<Task> searchTasks(String query, TaskStatus status, Pageable pageable);
+
+    CursorPage<Task> getTasksAfter(TaskStatus status, String title, String after, int limit,
+                                   TaskSortField sortField, Sort.Direction direction);
+
     Task updateTask(Long id, Task taskDetails);
 
+    /** expectedVersion null means unconditional */
+    Task updateTask(Long id, Task taskDetails, Long expectedVersion);
+
+    /** expectedVersion null means unconditional */
+    Task patchTask(Long id, TaskPatch patch, Long expectedVersion);
+
     void deleteTask(Long id);
 
+    void deleteTask(Long id, Long expectedVersion);
+
     void validateTask(Task task);
 
 
@@ -0,0 +1,273 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.dto.BulkItemResult;
+import com.snehit.springboottaskapi.dto.BulkResult;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TaskEventOutbox;
+import com.snehit.springboottaskapi.event.TasksChangedEvent;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creates, updates and deletes many tasks per call.
+ *
+ * <p>Every item is validated on its own and rejected items are reported without failing the rest
+ * of the batch. Accepted items are written in one transaction, in chunks that are flushed as JDBC
+ * batches (see {@code spring.jpa.properties.hibernate.jdbc.batch_size}) and then cleared from the
+ * persistence context, so the persistence context stays small for large batches. Each chunk
+ * publishes one {@link TasksChangedEvent} for the after-commit listeners instead of one event per
+ * item; its entries, which the listeners need after commit, are the only per-item state kept until
+ * the transaction ends. Tasks created as COMPLETED are written to the outbox in aggregated
+ * completion events; status changes by updates get one event per task, as for single updates, so
+ * they are coalesced with the task's other changes and consumers see every transition.
+ */
+@Service
+@Transactional
+public class TaskBulkService implements ITaskBulkService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskBulkService.class);
+
+  /** Items written per flush; a multiple of the JDBC batch size */
+  static final int CHUNK_SIZE = 1000;
+
+  private final ITaskRepository taskRepository;
+
+  private final ITaskService taskService;
+
+  private final TaskEventOutbox eventOutbox;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final Validator validator;
+
+  private final EntityManager entityManager;
+
+  @Value("${task.bulk.max-items:100000}")
+  private int maxItems = 100_000;
+
+  @Autowired
+  public TaskBulkService(
+      ITaskRepository taskRepository,
+      ITaskService taskService,
+      TaskEventOutbox eventOutbox,
+      ApplicationEventPublisher eventPublisher,
+      Validator validator,
+      EntityManager entityManager) {
+    this.taskRepository = taskRepository;
+    this.taskService = taskService;
+    this.eventOutbox = eventOutbox;
+    this.eventPublisher = eventPublisher;
+    this.validator = validator;
+    this.entityManager = entityManager;
+  }
+
+  /** Create all valid tasks of the batch; any client-supplied ids are ignored */
+  @Override
+  public BulkResult createTasks(List<Task> tasks) {
+    checkSize(tasks);
+    logger.info("Bulk creating {} tasks", tasks.size());
+    List<BulkItemResult> results = new ArrayList<>(tasks.size());
+    List<Task> completed = new ArrayList<>();
+    List<TaskChangedEvent> changes = new ArrayList<>();
+    for (int i = 0; i < tasks.size(); i++) {
+      Task task = tasks.get(i);
+      String error = validate(task);
+      if (error != null) {
+        results.add(failed(i, null, HttpStatus.BAD_REQUEST, error));
+        continue;
+      }
+      task.setId(null);
+      task.setVersion(null);
+      entityManager.persist(task);
+      results.add(new BulkItemResult(i, task.getId(), HttpStatus.CREATED.value(), null));
+      if (task.getStatus() == TaskStatus.COMPLETED) {
+        completed.add(task);
+      }
+      changes.add(TaskChangedEvent.created(task));
+      if (changes.size() == CHUNK_SIZE) {
+        flushAndClear();
+        publish(changes);
+      }
+    }
+    publish(changes);
+    return finish(results, completed);
+  }
+
+  /**
+   * Update all valid tasks of the batch; each item must carry the id of an existing task, and items
+   * that also carry a version are only applied if the task is still at that version
+   */
+  @Override
+  public BulkResult updateTasks(List<Task> tasks) {
+    checkSize(tasks);
+    logger.info("Bulk updating {} tasks", tasks.size());
+    List<BulkItemResult> results = new ArrayList<>(tasks.size());
+    Set<Long> seen = new HashSet<>();
+    List<TaskChangedEvent> changes = new ArrayList<>();
+    for (int start = 0; start < tasks.size(); start += CHUNK_SIZE) {
+      List<Task> chunk = tasks.subList(start, Math.min(tasks.size(), start + CHUNK_SIZE));
+      Map<Long, Task> existing = loadExisting(chunk.stream().map(Task::getId).toList());
+      for (int offset = 0; offset < chunk.size(); offset++) {
+        int index = start + offset;
+        Task details = chunk.get(offset);
+        Long id = details.getId();
+        if (id == null) {
+          results.add(failed(index, null, HttpStatus.BAD_REQUEST, "Task id is required"));
+          continue;
+        }
+        if (!seen.add(id)) {
+          results.add(failed(index, id, HttpStatus.BAD_REQUEST, "Duplicate task id in batch"));
+          continue;
+        }
+        Task task = existing.get(id);
+        if (task == null) {
+          results.add(failed(index, id, HttpStatus.NOT_FOUND, "Task not found with id: " + id));
+          continue;
+        }
+        if (details.getVersion() != null && !details.getVersion().equals(task.getVersion())) {
+          results.add(
+              failed(
+                  index,
+                  id,
+                  HttpStatus.PRECONDITION_FAILED,
+                  "Task is at version " + task.getVersion() + ", not " + details.getVersion()));
+          continue;
+        }
+        String error = validate(details);
+        if (error != null) {
+          results.add(failed(index, id, HttpStatus.BAD_REQUEST, error));
+          continue;
+        }
+        TaskStatus previousStatus = task.getStatus();
+        task.setTitle(details.getTitle());
+        task.setDescription(details.getDescription());
+        task.setStatus(details.getStatus());
+        task.setDueDate(details.getDueDate());
+        results.add(new BulkItemResult(index, id, HttpStatus.OK.value(), null));
+        // the version is only incremented on flush; this update writes the next one
+        eventOutbox.enqueueStatusChange(task, previousStatus, task.getVersion() + 1);
+        changes.add(TaskChangedEvent.updated(previousStatus, task));
+      }
+      flushAndClear();
+      publish(changes);
+    }
+    return finish(results, List.of());
+  }
+
+  /** Delete all existing tasks of the batch with one DELETE statement per chunk */
+  @Override
+  public BulkResult deleteTasks(List<Long> ids) {
+    checkSize(ids);
+    logger.info("Bulk deleting {} tasks", ids.size());
+    List<BulkItemResult> results = new ArrayList<>(ids.size());
+    Set<Long> seen = new HashSet<>();
+    for (int start = 0; start < ids.size(); start += CHUNK_SIZE) {
+      List<Long> chunk = ids.subList(start, Math.min(ids.size(), start + CHUNK_SIZE));
+      Map<Long, Task> existing = loadExisting(chunk);
+      List<Long> deletable = new ArrayList<>();
+      for (int offset = 0; offset < chunk.size(); offset++) {
+        int index = start + offset;
+        Long id = chunk.get(offset);
+        if (id == null || !seen.add(id)) {
+          String error = id == null ? "Task id is required" : "Duplicate task id in batch";
+          results.add(failed(index, id, HttpStatus.BAD_REQUEST, error));
+        } else if (!existing.containsKey(id)) {
+          results.add(failed(index, id, HttpStatus.NOT_FOUND, "Task not found with id: " + id));
+        } else {
+          deletable.add(id);
+          results.add(new BulkItemResult(index, id, HttpStatus.NO_CONTENT.value(), null));
+        }
+      }
+      if (!deletable.isEmpty()) {
+        taskRepository.deleteAllByIdInBatch(deletable);
+        publish(
+            deletable.stream()
+                .map(id -> TaskChangedEvent.deleted(id, existing.get(id).getStatus()))
+                .collect(Collectors.toCollection(ArrayList::new)));
+      }
+      entityManager.clear();
+    }
+    return finish(results, List.of());
+  }
+
+  private void checkSize(List<?> items) {
+    if (items == null || items.isEmpty()) {
+      throw new IllegalArgumentException("Bulk request must contain at least one item");
+    }
+    if (items.size() > maxItems) {
+      throw new IllegalArgumentException("Bulk request must not exceed " + maxItems + " items");
+    }
+  }
+
+  private Map<Long, Task> loadExisting(List<Long> ids) {
+    Map<Long, Task> existing = new HashMap<>();
+    for (Task task : taskRepository.findAllById(ids.stream().filter(id -> id != null).toList())) {
+      existing.put(task.getId(), task);
+    }
+    return existing;
+  }
+
+  /** Bean Validation constraints plus the service's business rules, as for single requests */
+  private String validate(Task task) {
+    if (task == null) {
+      return "Task is required";
+    }
+    Set<ConstraintViolation<Task>> violations = validator.validate(task);
+    if (!violations.isEmpty()) {
+      return violations.stream()
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .sorted()
+          .collect(Collectors.joining("; "));
+    }
+    try {
+      taskService.validateTask(task);
+      return null;
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+  }
+
+  private void flushAndClear() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /** Publish the chunk's changes as one event and start the next chunk */
+  private void publish(List<TaskChangedEvent> changes) {
+    if (!changes.isEmpty()) {
+      eventPublisher.publishEvent(new TasksChangedEvent(changes));
+      changes.clear();
+    }
+  }
+
+  private BulkResult finish(List<BulkItemResult> results, List<Task> completed) {
+    if (!completed.isEmpty()) {
+      eventOutbox.enqueueTasksCompleted(completed);
+    }
+    int failed = (int) results.stream().filter(result -> result.getError() != null).count();
+    return new BulkResult(results.size() - failed, failed, results);
+  }
+
+  private static BulkItemResult failed(int index, Long id, HttpStatus status, String error) {
+    return new BulkItemResult(index, id, status.value(), error);
+  }
+}
@@ -0,0 +1,67 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.enums.TaskSortField;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Opaque keyset cursor for task listings. A cursor records the sort it was issued for and the
+ * (sort value, id) of the last task returned, so the next query can seek directly past it.
+ *
+ * <p>Encoded form is base64url of {@code v1|<field>|<direction>|<value>|<id>}.
+ */
+record TaskCursor(TaskSortField sortField, Sort.Direction direction, Object value, long id) {
+
+  private static final String VERSION = "v1";
+
+  /** Build the cursor pointing after the given scroll position */
+  static TaskCursor from(
+      TaskSortField sortField, Sort.Direction direction, KeysetScrollPosition position) {
+    Map<String, Object> keys = position.getKeys();
+    Object id = keys.get(TaskSortField.ID.getProperty());
+    return new TaskCursor(
+        sortField, direction, keys.get(sortField.getProperty()), ((Number) id).longValue());
+  }
+
+  /** Decode a cursor previously produced by {@link #encode()} */
+  static TaskCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|", -1);
+      if (parts.length != 5 || !VERSION.equals(parts[0])) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      TaskSortField sortField = TaskSortField.valueOf(parts[1]);
+      Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+      Object value =
+          sortField == TaskSortField.ID ? Long.valueOf(parts[3]) : LocalDateTime.parse(parts[3]);
+      return new TaskCursor(sortField, direction, value, Long.parseLong(parts[4]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+
+  String encode() {
+    String raw =
+        String.join(
+            "|", VERSION, sortField.name(), direction.name(), value.toString(), Long.toString(id));
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Scroll position that resumes right after this cursor */
+  ScrollPosition toScrollPosition() {
+    Map<String, Object> keys = new LinkedHashMap<>();
+    keys.put(sortField.getProperty(), value);
+    keys.put(TaskSortField.ID.getProperty(), id);
+    return ScrollPosition.forward(keys);
+  }
+}
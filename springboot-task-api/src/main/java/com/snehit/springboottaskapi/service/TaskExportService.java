@@ -0,0 +1,152 @@
+package com.snehit.springboottaskapi.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.ExportFormat;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes every task matching the list filters to an output stream, one row at a time.
+ *
+ * <p>Rows are read through a forward-only database cursor and each entity is detached once it has
+ * been written, so neither the result set nor the persistence context grows with the export and
+ * heap use stays flat regardless of the number of rows.
+ */
+@Service
+public class TaskExportService implements ITaskExportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskExportService.class);
+
+  private static final String[] CSV_HEADER = {
+    "id", "title", "description", "status", "dueDate", "createdAt", "updatedAt"
+  };
+
+  /** Rows written between explicit flushes, so clients see progress on long exports */
+  private static final int FLUSH_INTERVAL = 1000;
+
+  private final ITaskRepository taskRepository;
+
+  private final EntityManager entityManager;
+
+  private final ObjectMapper objectMapper;
+
+  @Autowired
+  public TaskExportService(
+      ITaskRepository taskRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+    this.taskRepository = taskRepository;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Export matching tasks in id order
+   *
+   * @return number of tasks written
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public long exportTasks(TaskStatus status, String title, ExportFormat format, OutputStream out)
+      throws IOException {
+    long start = System.currentTimeMillis();
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    long rows = 0;
+    try (Stream<Task> tasks = taskRepository.streamTasksWithFilters(status, title)) {
+      Iterator<Task> iterator = tasks.iterator();
+      if (format == ExportFormat.CSV) {
+        writeCsvRow(writer, CSV_HEADER);
+        while (iterator.hasNext()) {
+          Task task = iterator.next();
+          writeCsvRow(writer, toCsv(task));
+          rows = written(task, rows, writer);
+        }
+      } else {
+        SequenceWriter json =
+            objectMapper
+                .writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        while (iterator.hasNext()) {
+          Task task = iterator.next();
+          json.write(task);
+          rows = written(task, rows, writer);
+        }
+        json.flush();
+        if (rows > 0) {
+          writer.write('\n');
+        }
+      }
+    }
+    writer.flush();
+    logger.info(
+        "Exported {} tasks as {} in {} ms", rows, format, System.currentTimeMillis() - start);
+    return rows;
+  }
+
+  private long written(Task task, long rows, Writer writer) throws IOException {
+    entityManager.detach(task);
+    rows++;
+    if (rows % FLUSH_INTERVAL == 0) {
+      writer.flush();
+    }
+    return rows;
+  }
+
+  private static String[] toCsv(Task task) {
+    return new String[] {
+      String.valueOf(task.getId()),
+      task.getTitle(),
+      task.getDescription(),
+      task.getStatus() == null ? null : task.getStatus().name(),
+      format(task.getDueDate()),
+      format(task.getCreatedAt()),
+      format(task.getUpdatedAt())
+    };
+  }
+
+  private static String format(LocalDateTime value) {
+    return value == null ? null : value.toString();
+  }
+
+  /** Write one RFC 4180 row: fields containing a delimiter, quote or line break are quoted */
+  private static void writeCsvRow(Writer writer, String[] fields) throws IOException {
+    for (int i = 0; i < fields.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      String field = fields[i];
+      if (field == null) {
+        continue;
+      }
+      if (field.indexOf(',') >= 0
+          || field.indexOf('"') >= 0
+          || field.indexOf('\n') >= 0
+          || field.indexOf('\r') >= 0) {
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+      } else {
+        writer.write(field);
+      }
+    }
+    writer.write("\r\n");
+  }
+}
@@ -0,0 +1,288 @@
+package com.snehit.springboottaskapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snehit.springboottaskapi.dto.BulkItemResult;
+import com.snehit.springboottaskapi.dto.BulkResult;
+import com.snehit.springboottaskapi.dto.ImportResult;
+import com.snehit.springboottaskapi.entity.ImportCheckpoint;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.ExportFormat;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.exception.ImportJobNotFoundException;
+import com.snehit.springboottaskapi.repository.IImportCheckpointRepository;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports tasks from an NDJSON or CSV stream without holding the input in memory.
+ *
+ * <p>Records are read incrementally and written through {@link ITaskBulkService#createTasks} in
+ * chunks, each chunk in its own transaction together with the job's {@link ImportCheckpoint}. If
+ * an import fails part way, resubmitting the same input with the same job id skips the records
+ * that were already committed and continues from there. CSV input uses the export's header
+ * names; records that cannot be parsed or fail validation are counted as rejected.
+ */
+@Service
+public class TaskImportService implements ITaskImportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskImportService.class);
+
+  /** Records per transaction */
+  static final int CHUNK_SIZE = TaskBulkService.CHUNK_SIZE;
+
+  /** Rejections reported in the result; the rest are only counted */
+  static final int MAX_REPORTED_ERRORS = 100;
+
+  private static final long PROGRESS_LOG_INTERVAL = 100_000;
+
+  private final ITaskBulkService taskBulkService;
+
+  private final IImportCheckpointRepository checkpointRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final ObjectMapper objectMapper;
+
+  @Autowired
+  public TaskImportService(
+      ITaskBulkService taskBulkService,
+      IImportCheckpointRepository checkpointRepository,
+      TransactionTemplate transactionTemplate,
+      ObjectMapper objectMapper) {
+    this.taskBulkService = taskBulkService;
+    this.checkpointRepository = checkpointRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.objectMapper = objectMapper;
+  }
+
+  /** A source of parsed tasks; throws IllegalArgumentException for a malformed record */
+  private interface TaskSource {
+
+    /** @return the next task, or null at end of input */
+    Task next() throws IOException;
+  }
+
+  /**
+   * Import tasks, resuming the given job if an earlier run of it did not complete
+   *
+   * @param jobId identifies the import for resuming; a new id is generated when null
+   */
+  @Override
+  public ImportResult importTasks(InputStream in, ExportFormat format, String jobId)
+      throws IOException {
+    String id = jobId == null || jobId.isBlank() ? UUID.randomUUID().toString() : jobId.trim();
+    ImportCheckpoint checkpoint = checkpointRepository.findById(id).orElse(null);
+    if (checkpoint == null) {
+      checkpoint = new ImportCheckpoint();
+      checkpoint.setJobId(id);
+      checkpoint.setFormat(format.name());
+      checkpoint = checkpointRepository.save(checkpoint);
+    } else if (!checkpoint.getFormat().equals(format.name())) {
+      throw new IllegalArgumentException(
+          "Import job " + id + " was started with format " + checkpoint.getFormat());
+    } else if (checkpoint.isCompleted()) {
+      return toResult(checkpoint, checkpoint.getRowsRead(), List.of());
+    }
+
+    long resumedFrom = checkpoint.getRowsRead();
+    TaskSource source = open(in, format);
+    for (long row = 0; row < resumedFrom; row++) {
+      if (!skip(source)) {
+        break;
+      }
+    }
+    if (resumedFrom > 0) {
+      logger.info("Resuming import {} after {} records", id, resumedFrom);
+    }
+
+    List<String> errors = new ArrayList<>();
+    long row = resumedFrom;
+    boolean done = false;
+    while (!done) {
+      List<Task> tasks = new ArrayList<>(CHUNK_SIZE);
+      List<Long> taskRows = new ArrayList<>(CHUNK_SIZE);
+      int records = 0;
+      int parseErrors = 0;
+      while (records < CHUNK_SIZE) {
+        Task task;
+        try {
+          task = source.next();
+        } catch (IllegalArgumentException e) {
+          records++;
+          parseErrors++;
+          reportError(errors, row + records, e.getMessage());
+          continue;
+        }
+        if (task == null) {
+          done = true;
+          break;
+        }
+        records++;
+        tasks.add(task);
+        taskRows.add(row + records);
+      }
+      checkpoint = commitChunk(checkpoint, tasks, taskRows, records, parseErrors, errors, done);
+      row += records;
+      if (row / PROGRESS_LOG_INTERVAL != (row - records) / PROGRESS_LOG_INTERVAL) {
+        logger.info(
+            "Import {}: {} records read, {} imported, {} rejected",
+            id,
+            checkpoint.getRowsRead(),
+            checkpoint.getImported(),
+            checkpoint.getRejected());
+      }
+    }
+    logger.info(
+        "Import {} completed: {} records read, {} imported, {} rejected",
+        id,
+        checkpoint.getRowsRead(),
+        checkpoint.getImported(),
+        checkpoint.getRejected());
+    return toResult(checkpoint, resumedFrom, errors);
+  }
+
+  /** Get the progress of an import from its checkpoint */
+  @Override
+  public ImportResult getImportProgress(String jobId) {
+    ImportCheckpoint checkpoint =
+        checkpointRepository
+            .findById(jobId)
+            .orElseThrow(() -> new ImportJobNotFoundException("Import job not found: " + jobId));
+    return toResult(checkpoint, 0, List.of());
+  }
+
+  /** Create the chunk's tasks and advance the checkpoint in one transaction */
+  private ImportCheckpoint commitChunk(
+      ImportCheckpoint checkpoint,
+      List<Task> tasks,
+      List<Long> taskRows,
+      int records,
+      int parseErrors,
+      List<String> errors,
+      boolean done) {
+    return transactionTemplate.execute(
+        status -> {
+          long imported = 0;
+          long rejected = parseErrors;
+          if (!tasks.isEmpty()) {
+            BulkResult result = taskBulkService.createTasks(tasks);
+            imported = result.getSucceeded();
+            rejected += result.getFailed();
+            for (BulkItemResult item : result.getItems()) {
+              if (item.getError() != null) {
+                reportError(errors, taskRows.get(item.getIndex()), item.getError());
+              }
+            }
+          }
+          checkpoint.setRowsRead(checkpoint.getRowsRead() + records);
+          checkpoint.setImported(checkpoint.getImported() + imported);
+          checkpoint.setRejected(checkpoint.getRejected() + rejected);
+          checkpoint.setCompleted(done);
+          return checkpointRepository.save(checkpoint);
+        });
+  }
+
+  private static boolean skip(TaskSource source) throws IOException {
+    try {
+      return source.next() != null;
+    } catch (IllegalArgumentException e) {
+      return true;
+    }
+  }
+
+  private static void reportError(List<String> errors, long row, String message) {
+    if (errors.size() < MAX_REPORTED_ERRORS) {
+      errors.add("row " + row + ": " + message);
+    }
+  }
+
+  private TaskSource open(InputStream in, ExportFormat format) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    if (format == ExportFormat.CSV) {
+      return csvSource(new CsvRecordReader(reader));
+    }
+    return () -> {
+      String line = reader.readLine();
+      while (line != null && line.isBlank()) {
+        line = reader.readLine();
+      }
+      if (line == null) {
+        return null;
+      }
+      try {
+        return objectMapper.readValue(line, Task.class);
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+      }
+    };
+  }
+
+  private static TaskSource csvSource(CsvRecordReader reader) throws IOException {
+    List<String> header = reader.next();
+    Map<String, Integer> columns = new HashMap<>();
+    if (header != null) {
+      for (int i = 0; i < header.size(); i++) {
+        if (header.get(i) != null) {
+          columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+      }
+    }
+    if (header != null && !columns.containsKey("title")) {
+      throw new IllegalArgumentException("CSV header must contain a title column");
+    }
+    return () -> {
+      List<String> fields = reader.next();
+      if (fields == null) {
+        return null;
+      }
+      Task task = new Task();
+      task.setTitle(field(fields, columns, "title"));
+      task.setDescription(field(fields, columns, "description"));
+      String status = field(fields, columns, "status");
+      String dueDate = field(fields, columns, "duedate");
+      try {
+        task.setStatus(status == null ? null : TaskStatus.valueOf(status.trim().toUpperCase()));
+        task.setDueDate(dueDate == null ? null : LocalDateTime.parse(dueDate.trim()));
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Invalid dueDate: " + dueDate);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Invalid status: " + status);
+      }
+      return task;
+    };
+  }
+
+  private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+    Integer index = columns.get(name);
+    return index == null || index >= fields.size() ? null : fields.get(index);
+  }
+
+  private static ImportResult toResult(
+      ImportCheckpoint checkpoint, long resumedFrom, List<String> errors) {
+    return new ImportResult(
+        checkpoint.getJobId(),
+        checkpoint.getRowsRead(),
+        checkpoint.getImported(),
+        checkpoint.getRejected(),
+        resumedFrom,
+        checkpoint.isCompleted(),
+        errors);
+  }
+}
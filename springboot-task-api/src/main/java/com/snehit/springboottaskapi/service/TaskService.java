@@ -1,25 +1,46 @@
 package com.snehit.springboottaskapi.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snehit.springboottaskapi.config.CacheConfig;
+import com.snehit.springboottaskapi.dto.CursorPage;
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.dto.TaskStats;
+import com.snehit.springboottaskapi.dto.TaskView;
+import com.snehit.springboottaskapi.entity.ArchivedTask;
 import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.enums.TaskSortField;
 import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TaskEventOutbox;
 import com.snehit.springboottaskapi.exception.TaskNotFoundException;
+import com.snehit.springboottaskapi.exception.TaskVersionMismatchException;
+import com.snehit.springboottaskapi.repository.IArchivedTaskRepository;
 import com.snehit.springboottaskapi.repository.ITaskRepository;
-import java.time.Instant;
+import com.snehit.springboottaskapi.repository.TaskSpecifications;
+import com.snehit.springboottaskapi.search.TaskSearchIndex;
+import com.snehit.springboottaskapi.stats.TaskStatusCounters;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import software.amazon.awssdk.services.eventbridge.EventBridgeClient;
-import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
-import software.amazon.awssdk.services.eventbridge.model.PutEventsRequestEntry;
-import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
 
 @Service
 @Transactional
@@ -27,44 +48,236 @@ public class TaskService implements ITaskService {
 
   private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
 
+  static final int MAX_CURSOR_LIMIT = 1000;
+
   private final ITaskRepository taskRepository;
 
-  private final ObjectMapper objectMapper;
+  private final TaskEventOutbox eventOutbox;
+
+  private final TaskStatusCounters statusCounters;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final TaskSearchIndex searchIndex;
 
-  private EventBridgeClient eventBridgeClient;
+  private final IArchivedTaskRepository archivedTaskRepository;
 
   @Autowired
   public TaskService(
       ITaskRepository taskRepository,
-      EventBridgeClient eventBridgeClient,
-      ObjectMapper objectMapper) {
+      TaskEventOutbox eventOutbox,
+      TaskStatusCounters statusCounters,
+      ApplicationEventPublisher eventPublisher,
+      TaskSearchIndex searchIndex,
+      IArchivedTaskRepository archivedTaskRepository) {
     this.taskRepository = taskRepository;
-    this.eventBridgeClient = eventBridgeClient;
-    this.objectMapper = objectMapper;
+    this.eventOutbox = eventOutbox;
+    this.statusCounters = statusCounters;
+    this.eventPublisher = eventPublisher;
+    this.searchIndex = searchIndex;
+    this.archivedTaskRepository = archivedTaskRepository;
   }
 
   /** Create a new task */
   @Override
   public Task createTask(Task task) {
     validateTask(task);
+    // a new task always starts at the initial version
+    task.setVersion(null);
     Task updatedTask = taskRepository.save(task);
     if (updatedTask.getStatus() == TaskStatus.COMPLETED) {
-      sendCompletedTaskToEventBridge(updatedTask);
+      eventOutbox.enqueueStatusChange(updatedTask, null, updatedTask.getVersion());
     }
+    eventPublisher.publishEvent(TaskChangedEvent.created(updatedTask));
     return updatedTask;
   }
 
-  /** Get all tasks with pagination and filtering */
+  /**
+   * Get all tasks with pagination, filtering and a total count
+   *
+   * @implNote without a title filter the total comes from the per-status counters instead of a
+   *     COUNT query; a title filter always runs the LIKE query against the database, since the
+   *     search index is local to this instance
+   */
   @Override
   @Transactional(readOnly = true)
   public Page<Task> getAllTasks(TaskStatus status, String title, Pageable pageable) {
-    return taskRepository.findTasksWithFilters(status, title, pageable);
+    if (title != null) {
+      return taskRepository.findTasksWithFilters(status, title, pageable);
+    }
+    Slice<Task> slice = taskRepository.findTaskSliceWithFilters(status, null, pageable);
+    return new PageImpl<>(slice.getContent(), pageable, statusCounters.count(status));
   }
 
-  /** Get task by ID */
+  /** Get one page of tasks with filtering, without computing a total */
   @Override
   @Transactional(readOnly = true)
+  public Slice<Task> getTaskSlice(TaskStatus status, String title, Pageable pageable) {
+    return taskRepository.findTaskSliceWithFilters(status, title, pageable);
+  }
+
+  /**
+   * Get all tasks with only the given fields, with a total count
+   *
+   * @implNote totals are found as in {@link #getAllTasks}; only the selected columns are read and
+   *     no entities are loaded. Including archived tasks adds a count of the archive.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public Page<TaskView> getAllTaskViews(
+      Set<TaskField> fields,
+      TaskStatus status,
+      String title,
+      boolean includeArchived,
+      Pageable pageable) {
+    if (includeArchived) {
+      Slice<TaskView> slice =
+          taskRepository.findViewsIncludingArchived(fields, status, title, pageable);
+      long active =
+          title == null
+              ? statusCounters.count(status)
+              : taskRepository.count(TaskSpecifications.withFilters(status, title));
+      long archived =
+          archivedTaskRepository.count(TaskSpecifications.withFilters(status, title));
+      return new PageImpl<>(slice.getContent(), pageable, active + archived);
+    }
+    if (title != null) {
+      Slice<TaskView> slice = taskRepository.findViews(fields, status, title, null, pageable);
+      return new PageImpl<>(
+          slice.getContent(),
+          pageable,
+          taskRepository.count(TaskSpecifications.withFilters(status, title)));
+    }
+    Slice<TaskView> slice = taskRepository.findViews(fields, status, null, null, pageable);
+    return new PageImpl<>(slice.getContent(), pageable, statusCounters.count(status));
+  }
+
+  /** Get one page of tasks with only the given fields, without computing a total */
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<TaskView> getTaskViewSlice(
+      Set<TaskField> fields,
+      TaskStatus status,
+      String title,
+      boolean includeArchived,
+      Pageable pageable) {
+    if (includeArchived) {
+      return taskRepository.findViewsIncludingArchived(fields, status, title, pageable);
+    }
+    return taskRepository.findViews(fields, status, title, null, pageable);
+  }
+
+  /**
+   * Search titles and descriptions for a substring or word prefix, best matches first
+   *
+   * @implNote answered from this instance's search index, which may miss writes made through other
+   *     instances until it is rebuilt; falls back to the unranked title LIKE query while the index
+   *     is being built
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public Page<Task> searchTasks(String query, TaskStatus status, Pageable pageable) {
+    if (query == null || query.trim().isEmpty()) {
+      throw new IllegalArgumentException("Search query is required");
+    }
+    String text = query.trim();
+    Optional<TaskSearchIndex.SearchResult> result =
+        searchIndex.search(text, status, (int) pageable.getOffset(), pageable.getPageSize());
+    if (result.isEmpty()) {
+      return taskRepository.findTasksWithFilters(status, text, pageable);
+    }
+
+    List<Long> ids = result.get().ids();
+    Map<Long, Integer> rank = new HashMap<>();
+    for (int i = 0; i < ids.size(); i++) {
+      rank.put(ids.get(i), i);
+    }
+    List<Task> tasks =
+        taskRepository.findAllById(ids).stream()
+            .sorted(Comparator.comparing(task -> rank.get(task.getId())))
+            .toList();
+    return new PageImpl<>(tasks, pageable, result.get().total());
+  }
+
+  /** Get the number of tasks per status from the maintained counters */
+  @Override
+  @Transactional(readOnly = true)
+  public TaskStats getTaskStats() {
+    return statusCounters.snapshot();
+  }
+
+  /**
+   * Get one keyset-paginated window of tasks
+   *
+   * @implNote seeks past the cursor on (sortField, id) instead of skipping rows, and issues no
+   *     count query, so every window costs the same regardless of depth
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<Task> getTasksAfter(
+      TaskStatus status,
+      String title,
+      String after,
+      int limit,
+      TaskSortField sortField,
+      Sort.Direction direction) {
+    if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CURSOR_LIMIT);
+    }
+
+    ScrollPosition position = ScrollPosition.keyset();
+    if (after != null) {
+      TaskCursor cursor = TaskCursor.decode(after);
+      if ((sortField != null && sortField != cursor.sortField())
+          || (direction != null && direction != cursor.direction())) {
+        throw new IllegalArgumentException("Cursor was issued for a different sort order");
+      }
+      sortField = cursor.sortField();
+      direction = cursor.direction();
+      position = cursor.toScrollPosition();
+    }
+    TaskSortField field = sortField != null ? sortField : TaskSortField.CREATED_AT;
+    Sort.Direction dir = direction != null ? direction : Sort.Direction.DESC;
+
+    Sort sort = Sort.by(dir, field.getProperty());
+    if (field != TaskSortField.ID) {
+      sort = sort.and(Sort.by(dir, TaskSortField.ID.getProperty()));
+    }
+    Sort finalSort = sort;
+    ScrollPosition finalPosition = position;
+    Window<Task> window =
+        taskRepository.findBy(
+            TaskSpecifications.withFilters(status, title),
+            query -> query.sortBy(finalSort).limit(limit).scroll(finalPosition));
+
+    String nextCursor = null;
+    if (window.hasNext() && !window.isEmpty()) {
+      KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+      nextCursor = TaskCursor.from(field, dir, last).encode();
+    }
+    return new CursorPage<>(window.getContent(), window.size(), window.hasNext(), nextCursor);
+  }
+
+  /**
+   * Get task by ID
+   *
+   * @implNote read through the tasks cache; concurrent misses for the same id wait for a single
+   *     load, and entries are refreshed or evicted by TaskCacheSynchronizer after each write.
+   *     Misses load from the primary rather than a read replica: a miss usually follows an
+   *     eviction by a write, and a lagging replica would put the old row back for every client
+   */
+  @Override
+  @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, sync = true)
   public Task getTaskById(Long id) {
+    // archived tasks are only looked up once the tasks table misses
+    return taskRepository
+        .findById(id)
+        .or(() -> archivedTaskRepository.findById(id).map(ArchivedTask::toTask))
+        .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+  }
+
+  /** Load the managed task from the database, bypassing the cache */
+  private Task findTask(Long id) {
     return taskRepository
         .findById(id)
         .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
@@ -73,11 +286,25 @@ public class TaskService implements ITaskService {
   /**
    * Update an existing task
    *
-   * @implNote send to EventBridge rule if the status is COMPLETED
+   * @implNote writes a status change event to the outbox if the status changed; the
+   *     OutboxDispatcher delivers it to EventBridge after commit
    */
   @Override
   public Task updateTask(Long id, Task taskDetails) {
-    Task existingTask = getTaskById(id);
+    return updateTask(id, taskDetails, null);
+  }
+
+  /**
+   * Update an existing task if it is still at the expected version
+   *
+   * @implNote the version check on the loaded task is repeated by the UPDATE statement, so a write
+   *     committed in between fails with an optimistic locking exception instead of being overwritten
+   */
+  @Override
+  public Task updateTask(Long id, Task taskDetails, Long expectedVersion) {
+    Task existingTask = findTask(id);
+    checkVersion(existingTask, expectedVersion);
+    TaskStatus previousStatus = existingTask.getStatus();
 
     // Update fields
     logger.info("Updating task with id: {}", id);
@@ -88,61 +315,104 @@ public class TaskService implements ITaskService {
     existingTask.setDueDate(taskDetails.getDueDate());
 
     validateTask(existingTask);
+    // the version is only incremented on flush; this update writes the next one
+    long writtenVersion = existingTask.getVersion() + 1;
     Task updatedTask = taskRepository.save(existingTask);
 
-    // checking status and sending to EventBridge
-    if (updatedTask.getStatus() == TaskStatus.COMPLETED) {
-      sendCompletedTaskToEventBridge(updatedTask);
-    }
+    // queueing the EventBridge event, if the status changed
+    eventOutbox.enqueueStatusChange(updatedTask, previousStatus, writtenVersion);
+    eventPublisher.publishEvent(TaskChangedEvent.updated(previousStatus, updatedTask));
     return updatedTask;
   }
 
-  /** Send TaskCompleted event to Amazon EventBridge */
-  private void sendCompletedTaskToEventBridge(Task task) {
-    try {
-      // Build the detail map
-      Map<String, Object> detailMap = new HashMap<>();
-      detailMap.put("id", task.getId());
-      detailMap.put("title", task.getTitle());
-      detailMap.put("description", task.getDescription());
-      detailMap.put("status", task.getStatus().name());
-      detailMap.put("dueDate", task.getDueDate());
-      detailMap.put("createdAt", task.getCreatedAt());
-      detailMap.put("updatedAt", task.getUpdatedAt());
-
-      // Convert to JSON string
-      String detailJson = objectMapper.writeValueAsString(detailMap);
-
-      // Build the request entry
-      PutEventsRequestEntry requestEntry =
-          PutEventsRequestEntry.builder()
-              .source("task.manager")
-              .detailType("Task Completed")
-              .detail(detailJson)
-              .time(Instant.now())
-              .build();
+  /**
+   * Change only the given fields of a task if it is still at the expected version
+   *
+   * @implNote runs a single UPDATE without loading the task first; the statement returns the row
+   *     as it was before, so a status change event is only written when the status actually
+   *     changes, and the derived state sees the previous status as with a full update
+   */
+  @Override
+  public Task patchTask(Long id, TaskPatch patch, Long expectedVersion) {
+    validatePatch(patch);
+    logger.info("Patching task with id: {}", id);
 
-      // Send the event to EventBridge
-      PutEventsResponse response =
-          eventBridgeClient.putEvents(PutEventsRequest.builder().entries(requestEntry).build());
+    LocalDateTime updatedAt = LocalDateTime.now();
+    // the row comes back as it was before the update; bring it to the state just written
+    Task patchedTask =
+        taskRepository
+            .patchReturningPrevious(id, patch, expectedVersion, updatedAt)
+            .orElseThrow(() -> missingOrStale(id, expectedVersion));
+    TaskStatus previousStatus = patchedTask.getStatus();
+    patch.applyTo(patchedTask);
+    patchedTask.setUpdatedAt(updatedAt);
+    patchedTask.setVersion(patchedTask.getVersion() + 1);
 
-      logger.info("Event sent to EventBridge for task {}: {}", task.getId(), response);
-    } catch (Exception e) {
-      logger.error("Failed to send event to EventBridge for task {}", task.getId(), e);
-    }
+    eventOutbox.enqueueStatusChange(patchedTask, previousStatus, patchedTask.getVersion());
+    eventPublisher.publishEvent(TaskChangedEvent.updated(previousStatus, patchedTask));
+    return patchedTask;
   }
 
   /** Delete a task */
   @Override
   public void deleteTask(Long id) {
-    Task task = getTaskById(id);
-    taskRepository.delete(task);
+    deleteTask(id, null);
+  }
+
+  /**
+   * Delete a task if it is still at the expected version
+   *
+   * @implNote a single DELETE that returns the status of the removed row; the task is only read
+   *     again to tell a stale version from a missing task when nothing was deleted
+   */
+  @Override
+  public void deleteTask(Long id, Long expectedVersion) {
+    TaskStatus status =
+        taskRepository
+            .deleteReturningStatus(id, expectedVersion)
+            .orElseThrow(() -> missingOrStale(id, expectedVersion));
+    eventPublisher.publishEvent(TaskChangedEvent.deleted(id, status));
+  }
+
+  private static void checkVersion(Task task, Long expectedVersion) {
+    if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+      throw versionMismatch(task.getId(), task.getVersion(), expectedVersion);
+    }
+  }
+
+  /** The exception for a conditional write that matched no row */
+  private RuntimeException missingOrStale(Long id, Long expectedVersion) {
+    if (expectedVersion != null) {
+      Optional<Task> current = taskRepository.findById(id);
+      if (current.isPresent()) {
+        return versionMismatch(id, current.get().getVersion(), expectedVersion);
+      }
+    }
+    return new TaskNotFoundException("Task not found with id: " + id);
+  }
+
+  private static TaskVersionMismatchException versionMismatch(
+      Long id, Long version, Long expectedVersion) {
+    return new TaskVersionMismatchException(
+        "Task " + id + " is at version " + version + ", not " + expectedVersion);
+  }
+
+  private static void validatePatch(TaskPatch patch) {
+    if (patch == null || patch.isEmpty()) {
+      throw new IllegalArgumentException("At least one field to change is required");
+    }
+    if (patch.getDueDate() != null && patch.getDueDate().isBefore(LocalDateTime.now())) {
+      throw new IllegalArgumentException("Due date must be in the future");
+    }
+    if (patch.getTitle() != null && patch.getTitle().trim().isEmpty()) {
+      throw new IllegalArgumentException("Task title is required");
+    }
   }
 
   /** Validate task business rules */
   @Override
   public void validateTask(Task task) {
-    logger.info("Going to validate the task: {}", task.getTitle());
+    logger.debug("Going to validate the task: {}", task.getTitle());
     if (task.getDueDate() != null && task.getDueDate().isBefore(LocalDateTime.now())) {
       throw new IllegalArgumentException("Due date must be in the future");
     }
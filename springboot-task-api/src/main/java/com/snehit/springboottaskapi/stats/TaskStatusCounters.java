@@ -0,0 +1,125 @@
+package com.snehit.springboottaskapi.stats;
+
+import com.snehit.springboottaskapi.dto.TaskStats;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TasksChangedEvent;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Per-status task counters maintained incrementally from committed task changes, so totals can be
+ * served without a COUNT query.
+ *
+ * <p>The counters are local to this instance: writes made by other instances, or directly against
+ * the database, are only picked up by the periodic reconciliation, which replaces every counter
+ * with a fresh GROUP BY count.
+ */
+@Component
+public class TaskStatusCounters {
+
+  private static final Logger logger = LoggerFactory.getLogger(TaskStatusCounters.class);
+
+  private final ITaskRepository taskRepository;
+
+  private final Map<TaskStatus, AtomicLong> counts = new EnumMap<>(TaskStatus.class);
+
+  private volatile LocalDateTime reconciledAt;
+
+  @Autowired
+  public TaskStatusCounters(ITaskRepository taskRepository, MeterRegistry meterRegistry) {
+    this.taskRepository = taskRepository;
+    for (TaskStatus status : TaskStatus.values()) {
+      AtomicLong count = new AtomicLong();
+      counts.put(status, count);
+      Gauge.builder("task.status.count", count, AtomicLong::get)
+          .description("Number of tasks per status")
+          .tag("status", status.name())
+          .register(meterRegistry);
+    }
+  }
+
+  /** Apply a committed task change to the counters */
+  @TransactionalEventListener
+  public void onTaskChanged(TaskChangedEvent event) {
+    apply(event);
+  }
+
+  /** Apply a committed batch of task changes to the counters */
+  @TransactionalEventListener
+  public void onTasksChanged(TasksChangedEvent event) {
+    event.changes().forEach(this::apply);
+  }
+
+  private void apply(TaskChangedEvent event) {
+    if (event.previousStatus() == event.status()) {
+      return;
+    }
+    if (event.previousStatus() != null) {
+      counts.get(event.previousStatus()).decrementAndGet();
+    }
+    if (event.status() != null) {
+      counts.get(event.status()).incrementAndGet();
+    }
+  }
+
+  /** Number of tasks with the given status, or all tasks when status is null */
+  public long count(TaskStatus status) {
+    if (status != null) {
+      return counts.get(status).get();
+    }
+    long total = 0;
+    for (AtomicLong count : counts.values()) {
+      total += count.get();
+    }
+    return total;
+  }
+
+  public TaskStats snapshot() {
+    Map<TaskStatus, Long> snapshot = new EnumMap<>(TaskStatus.class);
+    long total = 0;
+    for (Map.Entry<TaskStatus, AtomicLong> entry : counts.entrySet()) {
+      long count = entry.getValue().get();
+      snapshot.put(entry.getKey(), count);
+      total += count;
+    }
+    return new TaskStats(snapshot, total, reconciledAt);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void initialize() {
+    reconcile();
+  }
+
+  /** Replace the counters with exact counts from the database to correct any drift */
+  @Scheduled(
+      initialDelayString = "${task.stats.reconcile-interval:PT5M}",
+      fixedDelayString = "${task.stats.reconcile-interval:PT5M}")
+  public void reconcile() {
+    Map<TaskStatus, Long> actual = new EnumMap<>(TaskStatus.class);
+    for (ITaskRepository.StatusCount row : taskRepository.countGroupedByStatus()) {
+      actual.put(row.getStatus(), row.getCount());
+    }
+    for (TaskStatus status : TaskStatus.values()) {
+      long expected = actual.getOrDefault(status, 0L);
+      long previous = counts.get(status).getAndSet(expected);
+      if (previous != expected && reconciledAt != null) {
+        logger.info("Corrected {} counter drift: {} -> {}", status, previous, expected);
+      }
+    }
+    reconciledAt = LocalDateTime.now();
+  }
+}
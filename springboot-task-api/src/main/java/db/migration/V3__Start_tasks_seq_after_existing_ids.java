@@ -0,0 +1,32 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Restarts tasks_seq past the ids a baseline database already has. Task ids use Hibernate's pooled
+ * optimizer, which hands out the {@value #ALLOCATION_SIZE} ids up to each value the sequence
+ * returns, so the sequence continues that far above the highest id. Written in Java because H2
+ * and PostgreSQL share no statement that restarts a sequence at a computed value.
+ */
+public class V3__Start_tasks_seq_after_existing_ids extends BaseJavaMigration {
+
+  /** The allocation size of tasks_seq, see Task */
+  static final int ALLOCATION_SIZE = 50;
+
+  @Override
+  public void migrate(Context context) throws Exception {
+    try (Statement statement = context.getConnection().createStatement()) {
+      long maxId;
+      try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM tasks")) {
+        rs.next();
+        maxId = rs.getLong(1);
+      }
+      if (maxId > 0) {
+        statement.execute("ALTER SEQUENCE tasks_seq RESTART WITH " + (maxId + ALLOCATION_SIZE));
+      }
+    }
+  }
+}
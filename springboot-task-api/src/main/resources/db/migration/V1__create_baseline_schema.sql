@@ -0,0 +1,13 @@
+-- The schema as spring.jpa.hibernate.ddl-auto=update created it on PostgreSQL for the original
+-- Task entity. Databases created that way are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and continue with V2, so this file must match them exactly.
+
+CREATE TABLE tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created_at  TIMESTAMP(6),
+    description VARCHAR(1000),
+    due_date    TIMESTAMP(6)  NOT NULL,
+    status      VARCHAR(255)  NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'COMPLETED')),
+    title       VARCHAR(255)  NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
@@ -0,0 +1,48 @@
+-- Brings the baseline schema to the current entities. V3 then moves tasks_seq past the ids the
+-- baseline identity column handed out.
+
+-- optimistic locking; existing rows start at the initial version
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- ids come from tasks_seq, allocated 50 at a time so inserts can be batched
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX idx_tasks_created_at_id ON tasks (created_at, id);
+CREATE INDEX idx_tasks_due_date_id ON tasks (due_date, id);
+
+CREATE TABLE archived_tasks (
+    id          BIGINT        NOT NULL PRIMARY KEY,
+    title       VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(20)   NOT NULL CHECK (status IN ('TODO', 'IN_PROGRESS', 'COMPLETED')),
+    due_date    TIMESTAMP(6)  NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    version     BIGINT        NOT NULL,
+    archived_at TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX idx_archived_tasks_created_at_id ON archived_tasks (created_at, id);
+
+CREATE TABLE event_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    source          VARCHAR(255)  NOT NULL,
+    detail_type     VARCHAR(255)  NOT NULL,
+    detail          VARCHAR(262144) NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    last_error      VARCHAR(1000)
+);
+
+CREATE TABLE import_checkpoints (
+    job_id     VARCHAR(100)  NOT NULL PRIMARY KEY,
+    format     VARCHAR(20)   NOT NULL,
+    rows_read  BIGINT        NOT NULL,
+    imported   BIGINT        NOT NULL,
+    rejected   BIGINT        NOT NULL,
+    completed  BOOLEAN       NOT NULL,
+    started_at TIMESTAMP(6)  NOT NULL,
+    updated_at TIMESTAMP(6)  NOT NULL
+);
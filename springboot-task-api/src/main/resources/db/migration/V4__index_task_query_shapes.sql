@@ -0,0 +1,9 @@
+-- Indexes for the filters and sort orders the API accepts, see TaskSortField. The plans are
+-- checked by TaskQueryPlanTest.
+
+-- status filter, whatever the sort; sorted by createdAt (the default) a page needs no sort on
+-- databases that skip the equality prefix, such as PostgreSQL. Also serves the per-status counts.
+CREATE INDEX IF NOT EXISTS idx_tasks_status_created_at_id ON tasks (status, created_at, id);
+
+-- outbox entries due for delivery, when EventBridge is down and the backlog grows
+CREATE INDEX IF NOT EXISTS idx_event_outbox_next_attempt_at_id ON event_outbox (next_attempt_at, id);
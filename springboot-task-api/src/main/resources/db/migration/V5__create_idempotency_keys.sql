@@ -0,0 +1,15 @@
+-- Responses of create and update requests by Idempotency-Key, see IdempotencyFilter. A row without
+-- a status is a request in progress, which holds the key until it completes or its lease expires.
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255)  NOT NULL PRIMARY KEY,
+    fingerprint     VARCHAR(64)   NOT NULL,
+    status          INTEGER,
+    content_type    VARCHAR(255),
+    etag            VARCHAR(255),
+    body            VARCHAR(65536),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    expires_at      TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,6 @@
+-- The task a status change event is about, so that changes of the same task still waiting in the
+-- outbox can be merged, see TaskEventOutbox. Null for other events.
+
+ALTER TABLE event_outbox ADD COLUMN task_id BIGINT;
+
+CREATE INDEX idx_event_outbox_task_id ON event_outbox (task_id);
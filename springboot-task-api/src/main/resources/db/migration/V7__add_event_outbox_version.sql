@@ -0,0 +1,5 @@
+-- Incremented by every write of an outbox row. A status change may be merged into a row while the
+-- dispatcher is sending it, so the dispatcher only deletes or reschedules the row at the version it
+-- sent, see OutboxEventWrites.
+
+ALTER TABLE event_outbox ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,7 @@
+-- Keys are scoped to the client that sent them, so idempotency_key becomes a hash of the client
+-- followed by the client's key, see IdempotencyFilter. The claim token names the request holding
+-- the key, so a request whose lease expired and was taken over cannot complete or free the key.
+
+ALTER TABLE idempotency_keys ALTER COLUMN idempotency_key SET DATA TYPE VARCHAR(320);
+
+ALTER TABLE idempotency_keys ADD COLUMN claim_token VARCHAR(36);
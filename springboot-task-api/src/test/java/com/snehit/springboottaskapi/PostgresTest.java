@@ -0,0 +1,45 @@
+package com.snehit.springboottaskapi;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test class against the PostgreSQL server given by {@code -Dpostgres.url}, only with
+ * {@code mvn -Ppostgres test}. The schema is dropped and migrated again when the context starts, so
+ * the server should be a scratch database. Classes with the same extra properties share a context.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("postgres")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${postgres.url}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.datasource.username=${postgres.username}",
+        "spring.datasource.password=${postgres.password}",
+        "spring.flyway.clean-disabled=false",
+        "task.events.outbox.dispatcher-enabled=false"
+})
+@Import(PostgresTest.CleanSchema.class)
+public @interface PostgresTest {
+
+    @TestConfiguration
+    class CleanSchema {
+
+        @Bean
+        FlywayMigrationStrategy cleanMigrationStrategy() {
+            return flyway -> {
+                flyway.clean();
+                flyway.migrate();
+            };
+        }
+    }
+}
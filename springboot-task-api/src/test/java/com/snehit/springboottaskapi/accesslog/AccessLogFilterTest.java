@@ -0,0 +1,164 @@
+package com.snehit.springboottaskapi.accesslog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+        private SimpleMeterRegistry meterRegistry;
+
+        // never started, so records stay queued for inspection
+        private AccessLogWriter writer;
+
+        @BeforeEach
+        void setUp() {
+            meterRegistry = new SimpleMeterRegistry();
+            writer = new AccessLogWriter(meterRegistry, 2);
+        }
+
+        @Test
+        void testSuccessfulRequest_LoggedWithoutPayload() throws Exception {
+            // Given
+            AccessLogFilter filter = filter(1.0);
+            MockHttpServletRequest request = post("{\"title\":\"Write docs\"}");
+
+            // When
+            filter.doFilter(request, new MockHttpServletResponse(), respond(201, "{\"id\":1}"));
+
+            // Then
+            List<AccessLogRecord> records = writer.drain();
+            assertEquals(1, records.size());
+            AccessLogRecord record = records.get(0);
+            assertEquals("POST", record.method());
+            assertEquals("/api/v1/tasks", record.path());
+            assertEquals(201, record.status());
+            assertEquals(request.getContentLengthLong(), record.bytesIn());
+            assertEquals(8, record.bytesOut());
+            assertNull(record.payload());
+        }
+
+        @Test
+        void testSuccessfulRequest_SampledOut() throws Exception {
+            // Given
+            AccessLogFilter filter = filter(0.0);
+
+            // When
+            filter.doFilter(post("{}"), new MockHttpServletResponse(), respond(200, ""));
+
+            // Then
+            assertTrue(writer.drain().isEmpty());
+        }
+
+        @Test
+        void testFailedRequest_AlwaysLoggedWithPayloadPrefix() throws Exception {
+            // Given
+            AccessLogFilter filter = filter(0.0);
+
+            // When
+            filter.doFilter(post("{\"title\":\"\",\"status\":\"TODO\"}"), new MockHttpServletResponse(),
+                    respond(400, "{\"error\":\"Validation Failed\"}"));
+
+            // Then
+            List<AccessLogRecord> records = writer.drain();
+            assertEquals(1, records.size());
+            assertEquals(400, records.get(0).status());
+            assertEquals("{\"title\":\"\",\"sta", records.get(0).payload());
+
+            StringBuilder line = new StringBuilder();
+            records.get(0).appendTo(line);
+            assertTrue(line.toString().contains("payload=\"{\\\"title\\\":\\\"\\\",\\\"sta\""));
+        }
+
+        @Test
+        void testPayloadBytesZero_BodyIsNotCaptured() throws Exception {
+            // Given
+            AccessLogFilter filter = new AccessLogFilter(writer, 0.0, Duration.ofSeconds(5), 0);
+            MockHttpServletRequest request = post("{\"title\":\"\"}");
+
+            // When
+            filter.doFilter(request, new MockHttpServletResponse(), (req, resp) -> {
+                assertSame(request, req);
+                respond(400, "").doFilter(req, resp);
+            });
+
+            // Then
+            List<AccessLogRecord> records = writer.drain();
+            assertEquals(1, records.size());
+            assertEquals(400, records.get(0).status());
+            assertNull(records.get(0).payload());
+        }
+
+        @Test
+        void testAsyncRequest_TimedOut_LoggedOnce() throws Exception {
+            // Given
+            AccessLogFilter filter = filter(0.0);
+            MockHttpServletRequest request = post("{}");
+            request.setAsyncSupported(true);
+            filter.doFilter(request, new MockHttpServletResponse(), (req, resp) -> {
+                respond(200, "").doFilter(req, resp);
+                req.startAsync();
+            });
+            assertTrue(writer.drain().isEmpty());
+
+            // When
+            MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+            for (var listener : asyncContext.getListeners()) {
+                listener.onTimeout(new AsyncEvent(asyncContext));
+            }
+            asyncContext.complete();
+
+            // Then
+            List<AccessLogRecord> records = writer.drain();
+            assertEquals(1, records.size());
+            assertEquals(503, records.get(0).status());
+            assertEquals("{}", records.get(0).payload());
+        }
+
+        @Test
+        void testFullQueue_DropsAndCounts() throws Exception {
+            // Given
+            AccessLogFilter filter = filter(1.0);
+
+            // When
+            for (int i = 0; i < 5; i++) {
+                filter.doFilter(post("{}"), new MockHttpServletResponse(), respond(200, ""));
+            }
+
+            // Then
+            assertEquals(2, writer.drain().size());
+            assertEquals(3, meterRegistry.get("task.accesslog.dropped").counter().count());
+        }
+
+        private AccessLogFilter filter(double sampleRate) {
+            return new AccessLogFilter(writer, sampleRate, Duration.ofSeconds(5), 16);
+        }
+
+        private static MockHttpServletRequest post(String body) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tasks");
+            request.setContentType("application/json");
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+            return request;
+        }
+
+        /** Chain that reads the whole request body, then writes the given status and body */
+        private static FilterChain respond(int status, String body) {
+            return (request, response) -> {
+                request.getInputStream().readAllBytes();
+                ((HttpServletResponse) response).setStatus(status);
+                response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            };
+        }
+    }
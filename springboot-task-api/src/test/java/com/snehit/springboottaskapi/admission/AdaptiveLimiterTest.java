@@ -0,0 +1,118 @@
+package com.snehit.springboottaskapi.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveLimiterTest {
+
+        private static final long THRESHOLD = Duration.ofMillis(100).toNanos();
+
+        private static final long FAST = Duration.ofMillis(10).toNanos();
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+        @Test
+        void testTryAcquire_RespectsLimitAndShare() {
+            AdaptiveLimiter limiter = limiter(4);
+
+            assertTrue(limiter.tryAcquire(0.75));
+            assertTrue(limiter.tryAcquire(0.75));
+            assertTrue(limiter.tryAcquire(0.75));
+            // three of four slots are the share of lower-priority requests
+            assertFalse(limiter.tryAcquire(0.75));
+            assertTrue(limiter.tryAcquire(1.0));
+            assertFalse(limiter.tryAcquire(1.0));
+            assertEquals(4, meterRegistry.get("task.admission.in-flight").tag("limiter", "test").gauge().value());
+        }
+
+        @Test
+        void testFastRoundsAtFullUse_RaiseLimit() {
+            AdaptiveLimiter limiter = limiter(10);
+
+            for (int round = 0; round < 10; round++) {
+                runRound(limiter, limiter.limit(), FAST);
+            }
+
+            // at most one per round
+            assertTrue(limiter.limit() > 10 && limiter.limit() <= 20, "limit " + limiter.limit());
+            assertEquals(limiter.limit(), meterRegistry.get("task.admission.limit").tag("limiter", "test").gauge().value());
+        }
+
+        @Test
+        void testFastRoundsAtLowUse_KeepLimit() {
+            AdaptiveLimiter limiter = limiter(10);
+
+            for (int round = 0; round < 100; round++) {
+                runRound(limiter, 2, FAST);
+            }
+
+            assertEquals(10, limiter.limit());
+        }
+
+        @Test
+        void testSlowRound_DecreasesLimitOnce() {
+            AdaptiveLimiter limiter = limiter(20);
+
+            runRound(limiter, 20, 2 * THRESHOLD);
+
+            assertEquals(18, limiter.limit());
+
+            // the next round started after the decrease, so it may decrease the limit again
+            runRound(limiter, 18, 2 * THRESHOLD);
+
+            assertEquals(16, limiter.limit());
+        }
+
+        @Test
+        void testFailures_DecreaseLimitDownToMinimum() {
+            AdaptiveLimiter limiter = limiter(20);
+
+            for (int round = 0; round < 100; round++) {
+                clock.addAndGet(1);
+                long start = clock.get();
+                assertTrue(limiter.tryAcquire(1.0));
+                clock.addAndGet(FAST);
+                limiter.release(start, true, true);
+            }
+
+            assertEquals(2, limiter.limit());
+            assertEquals(0, limiter.inFlight());
+        }
+
+        @Test
+        void testUnsampledRelease_OnlyFreesSlot() {
+            AdaptiveLimiter limiter = limiter(2);
+            long start = clock.addAndGet(1);
+            assertTrue(limiter.tryAcquire(1.0));
+            assertTrue(limiter.tryAcquire(1.0));
+            clock.addAndGet(10 * THRESHOLD);
+
+            limiter.release(start, false, false);
+
+            assertEquals(2, limiter.limit());
+            assertTrue(limiter.tryAcquire(1.0));
+        }
+
+        /** Admit {@code requests} requests, then complete them all after {@code latency} */
+        private void runRound(AdaptiveLimiter limiter, int requests, long latency) {
+            long start = clock.addAndGet(1);
+            for (int i = 0; i < requests; i++) {
+                assertTrue(limiter.tryAcquire(1.0));
+            }
+            clock.addAndGet(latency);
+            for (int i = 0; i < requests; i++) {
+                limiter.release(start, false, true);
+            }
+        }
+
+        private AdaptiveLimiter limiter(int initialLimit) {
+            return new AdaptiveLimiter("test", initialLimit, 2, 100, THRESHOLD, 0.9, clock::get, meterRegistry);
+        }
+    }
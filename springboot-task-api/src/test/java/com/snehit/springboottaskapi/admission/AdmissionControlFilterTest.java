@@ -0,0 +1,185 @@
+package com.snehit.springboottaskapi.admission;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+        private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        private AdmissionControlFilter filter;
+
+        @BeforeEach
+        void setUp() {
+            // 2 requests per second with bursts of 3; 4 concurrent reads of which 3 for lists, 2 writes;
+            // the mock requests come from the trusted proxy
+            filter = new AdmissionControlFilter(objectMapper, meterRegistry, "X-Client-Id", List.of("127.0.0.1"),
+                    2, 3, 4, 2, 2, 100, Duration.ofSeconds(10), 0.9, 0.75, Duration.ofSeconds(2));
+        }
+
+        @Test
+        void testClassify() {
+            assertEquals(AdmissionControlFilter.RequestClass.POINT_READ, classify("GET", "/api/v1/tasks/42"));
+            assertEquals(AdmissionControlFilter.RequestClass.POINT_READ, classify("GET", "/api/v1/tasks/stats"));
+            assertEquals(AdmissionControlFilter.RequestClass.POINT_READ, classify("GET", "/api/v1/tasks/import/job-1"));
+            assertEquals(AdmissionControlFilter.RequestClass.READ, classify("GET", "/api/v1/tasks"));
+            assertEquals(AdmissionControlFilter.RequestClass.READ, classify("GET", "/api/v1/tasks/status/TODO"));
+            assertEquals(AdmissionControlFilter.RequestClass.READ, classify("GET", "/api/v1/tasks/search"));
+            assertEquals(AdmissionControlFilter.RequestClass.WRITE, classify("PATCH", "/api/v1/tasks/42"));
+            assertEquals(AdmissionControlFilter.RequestClass.WRITE, classify("POST", "/api/v1/tasks/bulk"));
+        }
+
+        @Test
+        void testRateLimit_RejectsClientBeyondBurstWith429() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(200, send("GET", "/api/v1/tasks/1", "client-a").getStatus());
+            }
+
+            MockHttpServletResponse rejected = send("GET", "/api/v1/tasks/1", "client-a");
+
+            assertEquals(429, rejected.getStatus());
+            assertEquals("1", rejected.getHeader("Retry-After"));
+            JsonNode body = objectMapper.readTree(rejected.getContentAsByteArray());
+            assertEquals(429, body.get("status").asInt());
+            assertEquals("Too Many Requests", body.get("error").asText());
+            // other clients have their own bucket
+            assertEquals(200, send("GET", "/api/v1/tasks/1", "client-b").getStatus());
+            assertEquals(1, meterRegistry.get("task.admission.rejected")
+                    .tag("class", "point_read").tag("reason", "rate_limit").counter().count());
+        }
+
+        @Test
+        void testOverCapacity_ShedsListsBeforePointReads() throws Exception {
+            // Given three reads in flight
+            for (int i = 0; i < 3; i++) {
+                assertTrue(filter.readLimiter().tryAcquire(1.0));
+            }
+
+            // When
+            MockHttpServletResponse list = send("GET", "/api/v1/tasks", "client-a");
+            MockHttpServletResponse byId = send("GET", "/api/v1/tasks/7", "client-b");
+
+            // Then
+            assertEquals(503, list.getStatus());
+            assertEquals("2", list.getHeader("Retry-After"));
+            assertEquals(503, objectMapper.readTree(list.getContentAsByteArray()).get("status").asInt());
+            assertEquals(200, byId.getStatus());
+            // and the slot of the admitted request was given back
+            assertEquals(3, filter.readLimiter().inFlight());
+            assertEquals(1, meterRegistry.get("task.admission.rejected")
+                    .tag("class", "read").tag("reason", "capacity").counter().count());
+        }
+
+        @Test
+        void testWritesOverCapacity_DoNotAffectReads() throws Exception {
+            // Given both write slots in use
+            assertTrue(filter.writeLimiter().tryAcquire(1.0));
+            assertTrue(filter.writeLimiter().tryAcquire(1.0));
+
+            // Then
+            assertEquals(503, send("POST", "/api/v1/tasks", "client-a").getStatus());
+            assertEquals(200, send("GET", "/api/v1/tasks", "client-b").getStatus());
+        }
+
+        @Test
+        void testClientHeader_OnlyTrustedFromProxies() throws Exception {
+            // Given a client connecting directly, naming a new client id on every request
+            for (int i = 0; i < 3; i++) {
+                assertEquals(200, sendFrom("10.0.0.5", "spoofed-" + i, null).getStatus());
+            }
+
+            // Then it still has a single bucket
+            assertEquals(429, sendFrom("10.0.0.5", "spoofed-3", null).getStatus());
+            // while an authenticated user from the same address has its own
+            assertEquals(200, sendFrom("10.0.0.5", null, "alice").getStatus());
+        }
+
+        @Test
+        void testAsyncRequest_HoldsSlotUntilComplete() throws Exception {
+            // Given an export that continues after the request thread returns
+            MockHttpServletRequest export = asyncRequest("/api/v1/tasks/export");
+
+            // When
+            filter.doFilter(export, new MockHttpServletResponse(), new MockFilterChain(startsAsync()));
+
+            // Then
+            assertEquals(1, filter.readLimiter().inFlight());
+            export.getAsyncContext().complete();
+            assertEquals(0, filter.readLimiter().inFlight());
+        }
+
+        @Test
+        void testChangeFeed_GivesSlotBackWhenRequestThreadReturns() throws Exception {
+            MockHttpServletRequest feed = asyncRequest(AdmissionControlFilter.CHANGE_FEED_PATH);
+
+            filter.doFilter(feed, new MockHttpServletResponse(), new MockFilterChain(startsAsync()));
+
+            assertTrue(feed.isAsyncStarted());
+            assertEquals(0, filter.readLimiter().inFlight());
+        }
+
+        @Test
+        void testOtherPaths_NotFiltered() throws Exception {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(200, send("GET", "/actuator/health", "client-a").getStatus());
+            }
+        }
+
+        private MockHttpServletResponse send(String method, String path, String client) throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+            request.addHeader("X-Client-Id", client);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            return response;
+        }
+
+        private MockHttpServletResponse sendFrom(String remoteAddr, String client, String user) throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/tasks/1");
+            request.setRemoteAddr(remoteAddr);
+            if (client != null) {
+                request.addHeader("X-Client-Id", client);
+            }
+            if (user != null) {
+                request.setUserPrincipal(() -> user);
+            }
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            return response;
+        }
+
+        private static MockHttpServletRequest asyncRequest(String path) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            request.setAsyncSupported(true);
+            return request;
+        }
+
+        private static HttpServlet startsAsync() {
+            return new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                    req.startAsync();
+                }
+            };
+        }
+
+        private static AdmissionControlFilter.RequestClass classify(String method, String path) {
+            return AdmissionControlFilter.classify(new MockHttpServletRequest(method, path));
+        }
+    }
@@ -0,0 +1,216 @@
+package com.snehit.springboottaskapi.admission;
+
+import com.snehit.springboottaskapi.SpringbootTaskApiApplication;
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.search.TaskSearchIndex;
+import com.snehit.springboottaskapi.stats.TaskStatusCounters;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Overloads the API with closed-loop clients, half of them listing tasks with a short title filter
+ * (a LIKE scan plus a count, as it is too short for the search index) and half reading single tasks
+ * by id, once without and once with admission control. Per request kind it reports successful
+ * requests per second, their p50/p99 latency, and how many were rejected and how quickly.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test -Dtest=AdmissionOverloadBenchmarkTest}. Options:
+ * {@code -Dbenchmark.clients=N} (200 by default), {@code -Dbenchmark.seconds=N} (15 by default),
+ * {@code -Dbenchmark.rows=N} seeded tasks (100k by default). Per-client rate limits are raised out
+ * of the way, as every client here is a different user.
+ */
+@Tag("benchmark")
+class AdmissionOverloadBenchmarkTest {
+
+        @Test
+        void overload() throws InterruptedException {
+            int clients = Integer.getInteger("benchmark.clients", 200);
+            Duration duration = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 15));
+            System.out.printf("%n%d clients for %ds, half lists, half reads by id%n", clients, duration.toSeconds());
+            System.out.printf("%-10s %-6s %10s %10s %10s %10s %12s%n",
+                    "admission", "kind", "ok/s", "p50 ms", "p99 ms", "rejected", "reject p99");
+            for (boolean admission : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext context = start(admission)) {
+                    String baseUrl = "http://localhost:"
+                            + context.getEnvironment().getProperty("local.server.port") + "/api/v1/tasks";
+                    long[] ids = context.getBean(JdbcTemplate.class)
+                            .queryForList("SELECT id FROM tasks", Long.class)
+                            .stream().mapToLong(Long::longValue).toArray();
+                    HttpClient client = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(Duration.ofSeconds(30))
+                            .build();
+
+                    run(client, baseUrl, ids, clients, Duration.ofSeconds(5));
+                    Result[] results = run(client, baseUrl, ids, clients, duration);
+                    for (Kind kind : Kind.values()) {
+                        Result result = results[kind.ordinal()];
+                        System.out.printf("%-10s %-6s %10.0f %10.1f %10.1f %10d %12.1f%n",
+                                admission ? "on" : "off", kind.label, result.ok.length / result.seconds,
+                                percentile(result.ok, 0.50), percentile(result.ok, 0.99),
+                                result.rejected.length, percentile(result.rejected, 0.99));
+                    }
+                    assertTrue(results[Kind.BY_ID.ordinal()].ok.length > 0);
+                    if (admission) {
+                        System.out.printf("read limit at the end: %.0f%n", context.getBean(MeterRegistry.class)
+                                .get("task.admission.limit").tag("limiter", "read").gauge().value());
+                    }
+                }
+            }
+        }
+
+        private static ConfigurableApplicationContext start(boolean admission) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootTaskApiApplication.class)
+                    .logStartupInfo(false)
+                    // passed as arguments so they take precedence over application.yaml
+                    .run("--server.port=0",
+                            "--management.server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:overload-" + admission + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                            "--task.events.outbox.dispatcher-enabled=false",
+                            "--task.access-log.enabled=false",
+                            "--task.admission.enabled=" + admission,
+                            "--task.admission.rate=100000",
+                            "--task.admission.burst=100000",
+                            "--logging.level.org.springframework.web=INFO",
+                            "--logging.level.org.springframework.web.servlet.DispatcherServlet=INFO");
+            BenchmarkData.seedTasks(context.getBean(JdbcTemplate.class), BenchmarkData.rows(100_000));
+            // the seed bypasses the service, so bring derived state up to date
+            context.getBean(TaskStatusCounters.class).reconcile();
+            context.getBean(TaskSearchIndex.class).rebuild();
+            return context;
+        }
+
+        private static Result[] run(HttpClient client, String baseUrl, long[] ids, int clients, Duration duration)
+                throws InterruptedException {
+            long start = System.nanoTime();
+            long deadline = start + duration.toNanos();
+            CountDownLatch done = new CountDownLatch(clients);
+            List<ClosedLoopClient> loops = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                ClosedLoopClient loop = new ClosedLoopClient(client, baseUrl, ids, "client-" + i,
+                        i % 2 == 0 ? Kind.LIST : Kind.BY_ID, deadline, done);
+                loops.add(loop);
+                loop.next();
+            }
+            assertTrue(done.await(duration.toSeconds() + 120, TimeUnit.SECONDS), "clients did not finish");
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            Result[] results = new Result[Kind.values().length];
+            for (Kind kind : Kind.values()) {
+                List<ClosedLoopClient> ofKind = loops.stream().filter(loop -> loop.kind == kind).toList();
+                results[kind.ordinal()] = new Result(
+                        ofKind.stream().flatMapToLong(loop -> Arrays.stream(loop.ok, 0, loop.okCount)).sorted().toArray(),
+                        ofKind.stream().flatMapToLong(loop -> Arrays.stream(loop.rejected, 0, loop.rejectedCount))
+                                .sorted().toArray(),
+                        seconds);
+            }
+            return results;
+        }
+
+        /** Latency in milliseconds at the given quantile */
+        private static double percentile(long[] latencies, double quantile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        private enum Kind {
+            LIST("list"),
+            BY_ID("by id");
+
+            private final String label;
+
+            Kind(String label) {
+                this.label = label;
+            }
+        }
+
+        private record Result(long[] ok, long[] rejected, double seconds) {
+        }
+
+        /** One simulated user sending its next request as soon as the previous response arrives */
+        private static final class ClosedLoopClient {
+
+            private final HttpClient client;
+            private final String baseUrl;
+            private final long[] ids;
+            private final String clientId;
+            private final Kind kind;
+            private final long deadline;
+            private final CountDownLatch done;
+
+            private long[] ok = new long[256];
+            private int okCount;
+            private long[] rejected = new long[256];
+            private int rejectedCount;
+
+            ClosedLoopClient(HttpClient client, String baseUrl, long[] ids, String clientId, Kind kind,
+                             long deadline, CountDownLatch done) {
+                this.client = client;
+                this.baseUrl = baseUrl;
+                this.ids = ids;
+                this.clientId = clientId;
+                this.kind = kind;
+                this.deadline = deadline;
+                this.done = done;
+            }
+
+            void next() {
+                long start = System.nanoTime();
+                if (start >= deadline) {
+                    done.countDown();
+                    return;
+                }
+                client.sendAsync(request(), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            long latency = System.nanoTime() - start;
+                            if (failure == null && response.statusCode() < 400) {
+                                ok = record(ok, okCount++, latency);
+                                next();
+                                return;
+                            }
+                            rejected = record(rejected, rejectedCount++, latency);
+                            // back off as Retry-After asks, in a tenth of the time to keep the load up
+                            long pause = failure == null
+                                    ? response.headers().firstValueAsLong("Retry-After").orElse(1) * 100 : 100;
+                            CompletableFuture.delayedExecutor(pause, TimeUnit.MILLISECONDS).execute(this::next);
+                        });
+            }
+
+            private HttpRequest request() {
+                String path = kind == Kind.LIST
+                        ? "?title=ab&includeTotal=true&size=20"
+                        : "/" + ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("X-Client-Id", clientId)
+                        .GET()
+                        .build();
+            }
+
+            private static long[] record(long[] latencies, int index, long nanos) {
+                long[] target = index == latencies.length ? Arrays.copyOf(latencies, index * 2) : latencies;
+                target[index] = nanos;
+                return target;
+            }
+        }
+    }
@@ -0,0 +1,86 @@
+package com.snehit.springboottaskapi.archive;
+
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import com.snehit.springboottaskapi.repository.TaskSpecifications;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the SQL title filter of {@code GET /api/v1/tasks} (page plus count) over a fixed set of
+ * active tasks while completed history accumulates, with and without archiving it.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test -Dtest=TaskArchiveBenchmarkTest [-Dbenchmark.rows=N]};
+ * N is the active set, history grows to 10x that in steps.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive-bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.archive.batch-size=5000"
+})
+class TaskArchiveBenchmarkTest {
+
+        private static final Pageable PAGE =
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "dueDate"));
+
+        @Autowired
+        private TaskArchiver archiver;
+
+        @Autowired
+        private ITaskRepository taskRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void activeSetQueryCostAsHistoryGrows() {
+            BenchmarkData.seedTasks(jdbcTemplate, BenchmarkData.rows(20_000));
+            long active = count();
+            // the active set was all touched recently, so none of it is archived
+            jdbcTemplate.update("UPDATE tasks SET updated_at = ?", LocalDateTime.now());
+
+            System.out.printf("%nActive set of %,d tasks, title LIKE page + count%n", active);
+            System.out.printf("%-16s %12s %12s%n", "history", "tasks rows", "median ms");
+            // warm up the query plan and JIT before the first reading
+            BenchmarkData.medianMillis(this::query, 15);
+            print("none", BenchmarkData.medianMillis(this::query, 15));
+            long history = 0;
+            for (int step : new int[]{1, 4, 5}) {
+                history += step * active;
+                BenchmarkData.seedTasks(jdbcTemplate, (int) (step * active));
+                jdbcTemplate.update("UPDATE tasks SET status = ? WHERE updated_at < ?",
+                        TaskStatus.COMPLETED.name(), LocalDateTime.now().minusDays(60));
+                print(String.format("%,d", history), BenchmarkData.medianMillis(this::query, 15));
+            }
+
+            archiver.archive();
+            assertEquals(active, count());
+            print(String.format("%,d archived", history), BenchmarkData.medianMillis(this::query, 15));
+        }
+
+        private void print(String history, double millis) {
+            System.out.printf("%-16s %,12d %12.1f%n", history, count(), millis);
+        }
+
+        private void query() {
+            taskRepository.findViews(TaskField.SUMMARY, null, "deploy", null, PAGE);
+            taskRepository.count(TaskSpecifications.withFilters(null, "deploy"));
+        }
+
+        private long count() {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Long.class);
+        }
+    }
@@ -0,0 +1,72 @@
+package com.snehit.springboottaskapi.archive;
+
+import com.snehit.springboottaskapi.PostgresTest;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The archive move runs as one data-modifying statement on PostgreSQL.
+ */
+@PostgresTest
+@TestPropertySource(properties = "task.archive.batch-size=2")
+class TaskArchiverPostgresTest {
+
+        @Autowired
+        private TaskArchiver archiver;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @BeforeEach
+        void setUp() {
+            jdbcTemplate.update("DELETE FROM tasks");
+            jdbcTemplate.update("DELETE FROM archived_tasks");
+        }
+
+        @Test
+        void testArchive_MovesOnlyLongCompletedTasks() {
+            // Given
+            List<Task> old = List.of(create("old 1", TaskStatus.COMPLETED, 40),
+                    create("old 2", TaskStatus.COMPLETED, 40),
+                    create("old 3", TaskStatus.COMPLETED, 90));
+            create("recent", TaskStatus.COMPLETED, 5);
+            Task open = create("open", TaskStatus.IN_PROGRESS, 90);
+
+            // When
+            int archived = archiver.archive();
+
+            // Then
+            assertEquals(3, archived);
+            assertEquals(old.stream().map(Task::getId).toList(), jdbcTemplate.queryForList(
+                    "SELECT id FROM archived_tasks ORDER BY id", Long.class));
+            assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Long.class));
+            assertEquals("old 3", taskService.getTaskById(old.get(2).getId()).getTitle());
+            assertEquals(TaskStatus.IN_PROGRESS, taskService.getTaskById(open.getId()).getStatus());
+            assertEquals(0, archiver.archive());
+        }
+
+        private Task create(String title, TaskStatus status, int daysSinceUpdate) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setStatus(status);
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            Task created = taskService.createTask(task);
+            jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?",
+                    LocalDateTime.now().minusDays(daysSinceUpdate), created.getId());
+            return created;
+        }
+    }
@@ -0,0 +1,147 @@
+package com.snehit.springboottaskapi.archive;
+
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.dto.TaskView;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.exception.TaskNotFoundException;
+import com.snehit.springboottaskapi.search.TaskSearchIndex;
+import com.snehit.springboottaskapi.service.ITaskService;
+import com.snehit.springboottaskapi.stats.TaskStatusCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.archive.completed-for=P30D",
+        "task.archive.batch-size=2"
+})
+class TaskArchiverTest {
+
+        private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+
+        @Autowired
+        private TaskArchiver archiver;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private TaskStatusCounters statusCounters;
+
+        @Autowired
+        private TaskSearchIndex searchIndex;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @BeforeEach
+        void setUp() {
+            jdbcTemplate.update("DELETE FROM tasks");
+            jdbcTemplate.update("DELETE FROM archived_tasks");
+            statusCounters.reconcile();
+            searchIndex.rebuild();
+        }
+
+        @Test
+        void testArchive_MovesOnlyLongCompletedTasks() {
+            // Given five old completed tasks, spanning several batches
+            List<Task> old = List.of(create("old report 1", TaskStatus.COMPLETED, 40),
+                    create("old report 2", TaskStatus.COMPLETED, 40),
+                    create("old report 3", TaskStatus.COMPLETED, 31),
+                    create("old report 4", TaskStatus.COMPLETED, 60),
+                    create("old report 5", TaskStatus.COMPLETED, 90));
+            Task recent = create("recent report", TaskStatus.COMPLETED, 5);
+            Task open = create("open report", TaskStatus.IN_PROGRESS, 90);
+
+            // When
+            int archived = archiver.archive();
+
+            // Then
+            assertEquals(5, archived);
+            assertEquals(2, count("tasks"));
+            assertEquals(5, count("archived_tasks"));
+            assertEquals(1, statusCounters.count(TaskStatus.COMPLETED));
+            assertEquals(2, statusCounters.count(null));
+            assertEquals(List.of(recent.getId()),
+                    searchIndex.search("report", TaskStatus.COMPLETED, 0, 10).orElseThrow().ids());
+            assertEquals(open.getId(), taskService.getTaskById(open.getId()).getId());
+            // a second run has nothing left to do
+            assertEquals(0, archiver.archive());
+            assertEquals(old.size(), count("archived_tasks"));
+        }
+
+        @Test
+        void testGetTaskById_ArchivedTask_ReadableButNotWritable() {
+            // Given
+            Task task = create("archived task", TaskStatus.COMPLETED, 45);
+            archiver.archive();
+
+            // When
+            Task found = taskService.getTaskById(task.getId());
+
+            // Then
+            assertEquals("archived task", found.getTitle());
+            assertEquals(TaskStatus.COMPLETED, found.getStatus());
+            assertEquals(task.getVersion(), found.getVersion());
+            TaskPatch patch = new TaskPatch();
+            patch.setStatus(TaskStatus.TODO);
+            assertThrows(TaskNotFoundException.class, () -> taskService.patchTask(task.getId(), patch, null));
+        }
+
+        @Test
+        void testList_IncludeArchived_AddsArchivedTasks() {
+            // Given
+            Task archived = create("deploy archived", TaskStatus.COMPLETED, 45);
+            Task active = create("deploy active", TaskStatus.TODO, 45);
+            create("review active", TaskStatus.TODO, 45);
+            archiver.archive();
+
+            // When
+            Page<TaskView> hot = taskService.getAllTaskViews(TaskField.SUMMARY, null, null, false, PAGE);
+            Page<TaskView> all = taskService.getAllTaskViews(TaskField.SUMMARY, null, null, true, PAGE);
+            Slice<TaskView> titled = taskService.getTaskViewSlice(
+                    TaskField.SUMMARY, null, "deploy", true, PAGE);
+            Slice<TaskView> completed = taskService.getTaskViewSlice(
+                    TaskField.SUMMARY, TaskStatus.COMPLETED, null, true, PAGE);
+
+            // Then
+            assertEquals(2, hot.getTotalElements());
+            assertEquals(3, all.getTotalElements());
+            assertEquals(List.of(archived.getId(), active.getId()),
+                    titled.getContent().stream().map(TaskView::getId).toList());
+            assertEquals(1, completed.getNumberOfElements());
+            assertEquals("deploy archived", completed.getContent().get(0).getTitle());
+            assertNull(completed.getContent().get(0).getDescription());
+        }
+
+        private Task create(String title, TaskStatus status, int daysSinceUpdate) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setStatus(status);
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            Task created = taskService.createTask(task);
+            jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?",
+                    LocalDateTime.now().minusDays(daysSinceUpdate), created.getId());
+            return created;
+        }
+
+        private long count(String table) {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        }
+    }
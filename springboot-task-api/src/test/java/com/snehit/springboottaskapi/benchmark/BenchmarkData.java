@@ -0,0 +1,83 @@
+package com.snehit.springboottaskapi.benchmark;
+
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared helpers for the tagged benchmark tests: bulk seeding of the tasks table over plain JDBC
+ * and simple wall-clock measurement.
+ */
+public final class BenchmarkData {
+
+    public static final String[] WORDS = {
+            "deploy", "review", "migrate", "document", "refactor", "kubernetes", "pipeline",
+            "database", "invoice", "customer", "release", "security", "backup", "dashboard",
+            "onboarding", "analytics", "frontend", "backend", "lambda", "bucket"
+    };
+
+    private static final int INSERT_BATCH = 5_000;
+
+    private BenchmarkData() {
+    }
+
+    /** Number of rows a benchmark should use, overridable with -Dbenchmark.rows */
+    public static int rows(int defaultRows) {
+        return Integer.getInteger("benchmark.rows", defaultRows);
+    }
+
+    /** Insert {@code count} synthetic tasks with distinct, increasing created_at values */
+    public static void seedTasks(JdbcTemplate jdbcTemplate, int count) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+        TaskStatus[] statuses = TaskStatus.values();
+        String sql = "INSERT INTO tasks (id, title, description, status, due_date, created_at, updated_at) " +
+                "VALUES (NEXT VALUE FOR tasks_seq, ?, ?, ?, ?, ?, ?)";
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < count; i++) {
+            Timestamp createdAt = Timestamp.valueOf(base.plusNanos(i * 1_000_000L));
+            batch.add(new Object[]{
+                    title(random),
+                    "Task " + i + " " + WORDS[random.nextInt(WORDS.length)],
+                    statuses[random.nextInt(statuses.length)].name(),
+                    Timestamp.valueOf(base.plusDays(400 + random.nextInt(365))),
+                    createdAt,
+                    createdAt
+            });
+            if (batch.size() == INSERT_BATCH) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    public static String title(Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                + WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(10_000);
+    }
+
+    /** Median wall-clock time in milliseconds of {@code iterations} runs after a short warmup */
+    public static double medianMillis(Runnable action, int iterations) {
+        for (int i = 0; i < 3; i++) {
+            action.run();
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[iterations / 2] / 1_000_000.0;
+    }
+}
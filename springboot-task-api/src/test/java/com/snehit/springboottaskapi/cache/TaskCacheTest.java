@@ -0,0 +1,133 @@
+package com.snehit.springboottaskapi.cache;
+
+import com.snehit.springboottaskapi.config.CacheConfig;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.exception.TaskNotFoundException;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import com.snehit.springboottaskapi.service.ITaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false"
+})
+class TaskCacheTest {
+
+        @Autowired
+        private ITaskService taskService;
+
+        @MockitoSpyBean
+        private ITaskRepository taskRepository;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        private Task task;
+
+        @BeforeEach
+        void setUp() {
+            Task newTask = new Task();
+            newTask.setTitle("Cached Task");
+            newTask.setStatus(TaskStatus.TODO);
+            newTask.setDueDate(LocalDateTime.now().plusDays(1));
+            task = taskService.createTask(newTask);
+            cacheManager.getCache(CacheConfig.TASKS_CACHE).clear();
+            clearInvocations(taskRepository);
+        }
+
+        @Test
+        void testGetTaskById_SecondReadIsServedFromCache() {
+            // When
+            taskService.getTaskById(task.getId());
+            Task cached = taskService.getTaskById(task.getId());
+
+            // Then
+            assertEquals("Cached Task", cached.getTitle());
+            verify(taskRepository, times(1)).findById(task.getId());
+            assertTrue(meterRegistry.get("cache.gets").tag("cache", CacheConfig.TASKS_CACHE)
+                    .tag("result", "hit").functionCounter().count() >= 1);
+        }
+
+        @Test
+        void testUpdateTask_RefreshesCachedEntry() {
+            // Given
+            taskService.getTaskById(task.getId());
+            Task details = new Task();
+            details.setTitle("Renamed Task");
+            details.setStatus(TaskStatus.IN_PROGRESS);
+            details.setDueDate(task.getDueDate());
+
+            // When
+            taskService.updateTask(task.getId(), details);
+            clearInvocations(taskRepository);
+            Task cached = taskService.getTaskById(task.getId());
+
+            // Then
+            assertEquals("Renamed Task", cached.getTitle());
+            verify(taskRepository, never()).findById(any());
+        }
+
+        @Test
+        void testDeleteTask_EvictsCachedEntry() {
+            // Given
+            taskService.getTaskById(task.getId());
+
+            // When
+            taskService.deleteTask(task.getId());
+
+            // Then
+            assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(task.getId()));
+        }
+
+        @Test
+        void testGetTaskById_ConcurrentMissesLoadOnce() throws Exception {
+            // Given
+            doAnswer(invocation -> {
+                Thread.sleep(200);
+                return Optional.of(task);
+            }).when(taskRepository).findById(task.getId());
+            int threads = 8;
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            // When
+            List<Future<Task>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return taskService.getTaskById(task.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<Task> result : results) {
+                assertEquals(task.getId(), result.get().getId());
+            }
+            executor.shutdown();
+
+            // Then
+            verify(taskRepository, times(1)).findById(task.getId());
+        }
+    }
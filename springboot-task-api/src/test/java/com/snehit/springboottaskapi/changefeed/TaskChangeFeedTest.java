@@ -0,0 +1,210 @@
+package com.snehit.springboottaskapi.changefeed;
+
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:changes-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "management.server.port=0",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.changes.senders=1",
+        "task.changes.write-timeout=PT1S"
+})
+class TaskChangeFeedTest {
+
+        /** Small socket send buffers, so a client that stops reading stalls the write soon */
+        @TestConfiguration
+        static class SmallSendBuffers {
+
+            @Bean
+            WebServerFactoryCustomizer<TomcatServletWebServerFactory> smallSendBuffers() {
+                return factory -> factory.addConnectorCustomizers(
+                        connector -> connector.setProperty("socket.txBufSize", "8192"));
+            }
+        }
+
+        private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        private final List<Stream<String>> streams = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+            streams.clear();
+        }
+
+        @AfterEach
+        void tearDown() {
+            streams.forEach(Stream::close);
+        }
+
+        @Test
+        void testCreate_PushedToOpenConnection() {
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                Iterator<String> feed = open("", null);
+
+                Task task = create("Streamed Task");
+
+                Map<String, String> event = nextEvent(feed);
+                assertEquals("created", event.get("event"));
+                assertTrue(event.get("data").contains("\"taskId\":" + task.getId()));
+                assertTrue(event.get("data").contains("Streamed Task"));
+            });
+        }
+
+        @Test
+        void testReconnect_ResumesAfterLastEventIdOrResets() {
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                // Given a client that saw one change, then disconnected
+                Iterator<String> feed = open("", null);
+                create("Seen Task");
+                String lastEventId = nextEvent(feed).get("id");
+                streams.get(0).close();
+                Task missed = create("Missed Task");
+
+                // When it reconnects with the id it saw last
+                Map<String, String> resumed = nextEvent(open("", lastEventId));
+
+                // Then it receives what it missed
+                assertEquals("created", resumed.get("event"));
+                assertTrue(resumed.get("data").contains("\"taskId\":" + missed.getId()));
+
+                // And a token from an earlier run asks it to reload
+                assertEquals(TaskChangeFeed.RESET_EVENT, nextEvent(open("", "0-1")).get("event"));
+            });
+        }
+
+        @Test
+        void testStatusFilter_SendsChangesIntoAndOutOfStatus() {
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                Iterator<String> feed = open("?status=COMPLETED", null);
+
+                Task task = create("Filtered Task");
+                TaskPatch patch = new TaskPatch();
+                patch.setStatus(TaskStatus.COMPLETED);
+                taskService.patchTask(task.getId(), patch, null);
+
+                // the TODO create is filtered out
+                Map<String, String> event = nextEvent(feed);
+                assertEquals("updated", event.get("event"));
+                assertTrue(event.get("data").contains("\"previousStatus\":\"TODO\""));
+            });
+        }
+
+        @Test
+        void testStalledConnection_IsDroppedWithoutHoldingUpOthers() {
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                // Given a client that stops reading, next to one that reads, and a single sender
+                double droppedBefore = meterRegistry.get("task.changes.dropped-slow").counter().count();
+                Iterator<String> feed = open("", null);
+                try (Socket stalled = new Socket()) {
+                    stalled.setReceiveBufferSize(1024);
+                    stalled.connect(new InetSocketAddress("localhost", port));
+                    stalled.getOutputStream().write(("GET /api/v1/tasks/changes HTTP/1.1\r\n"
+                            + "Host: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                    while (meterRegistry.get("task.changes.connections").gauge().value() < 2) {
+                        Thread.sleep(10);
+                    }
+
+                    // When more changes are committed than the stalled connection's buffers hold
+                    String description = "x".repeat(1000);
+                    for (int i = 0; i < 200; i++) {
+                        Task task = new Task();
+                        task.setTitle("Bulky Task " + i);
+                        task.setDescription(description);
+                        task.setStatus(TaskStatus.TODO);
+                        task.setDueDate(LocalDateTime.now().plusDays(1));
+                        taskService.createTask(task);
+                    }
+                    Task last = create("After Stall");
+
+                    // Then the reading client still receives them all
+                    Map<String, String> event = nextEvent(feed);
+                    while (!event.get("data").contains("\"taskId\":" + last.getId())) {
+                        event = nextEvent(feed);
+                    }
+                    assertEquals(droppedBefore + 1,
+                            meterRegistry.get("task.changes.dropped-slow").counter().count());
+                }
+            });
+        }
+
+        private Iterator<String> open(String query, String lastEventId) throws Exception {
+            HttpRequest.Builder request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/api/v1/tasks/changes" + query));
+            if (lastEventId != null) {
+                request.header("Last-Event-ID", lastEventId);
+            }
+            HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+            assertEquals(200, response.statusCode());
+            // the connection is registered before its headers are sent, so no change is missed
+            streams.add(response.body());
+            return response.body().iterator();
+        }
+
+        /** Read the next event's fields, skipping comments */
+        private static Map<String, String> nextEvent(Iterator<String> feed) {
+            Map<String, String> event = new HashMap<>();
+            while (feed.hasNext()) {
+                String line = feed.next();
+                if (line.isEmpty()) {
+                    if (!event.isEmpty()) {
+                        return event;
+                    }
+                } else if (!line.startsWith(":")) {
+                    int colon = line.indexOf(':');
+                    event.merge(line.substring(0, colon), line.substring(colon + 1), String::concat);
+                }
+            }
+            throw new AssertionError("Feed ended before the next event");
+        }
+
+        private Task create(String title) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setStatus(TaskStatus.TODO);
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            return taskService.createTask(task);
+        }
+    }
@@ -0,0 +1,94 @@
+package com.snehit.springboottaskapi.controller;
+
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.dto.BulkResult;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of {@code POST /api/v1/tasks/bulk} against one {@code POST /api/v1/tasks} per task,
+ * over HTTP on a random local port.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test -Dtest=TaskBulkBenchmarkTest}; {@code -Dbenchmark.rows=N}
+ * caps the largest batch (100k by default).
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "logging.level.org.springframework.web=INFO",
+        "logging.level.org.springframework.web.servlet.DispatcherServlet=INFO"
+})
+class TaskBulkBenchmarkTest {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void bulkVersusSingle() {
+            RestClient client = RestClient.builder()
+                    .baseUrl("http://localhost:" + port + "/api/v1/tasks")
+                    .build();
+            // warm up both paths
+            createSingle(client, tasks(500));
+            createBulk(client, tasks(500));
+
+            int maxItems = BenchmarkData.rows(100_000);
+            System.out.printf("%nTask creation throughput (tasks/s)%n");
+            System.out.printf("%-10s %12s %12s %10s%n", "items", "single", "bulk", "speedup");
+            for (int items : new int[]{1_000, 10_000, 100_000}) {
+                if (items > maxItems) {
+                    break;
+                }
+                double single = items / seconds(() -> createSingle(client, tasks(items)));
+                double bulk = items / seconds(() -> createBulk(client, tasks(items)));
+                System.out.printf("%-10d %12.0f %12.0f %9.1fx%n", items, single, bulk, bulk / single);
+            }
+        }
+
+        private void createSingle(RestClient client, List<Task> tasks) {
+            for (Task task : tasks) {
+                client.post().contentType(MediaType.APPLICATION_JSON).body(task).retrieve().toBodilessEntity();
+            }
+        }
+
+        private void createBulk(RestClient client, List<Task> tasks) {
+            BulkResult result = client.post().uri("/bulk").contentType(MediaType.APPLICATION_JSON)
+                    .body(tasks).retrieve().body(BulkResult.class);
+            assertNotNull(result);
+            assertEquals(tasks.size(), result.getSucceeded());
+        }
+
+        private static List<Task> tasks(int count) {
+            Random random = new Random(count);
+            List<Task> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Task task = new Task();
+                task.setTitle(BenchmarkData.title(random));
+                task.setDescription("Imported from planner, row " + i);
+                task.setStatus(i % 10 == 0 ? TaskStatus.COMPLETED : TaskStatus.TODO);
+                task.setDueDate(LocalDateTime.now().plusDays(30));
+                tasks.add(task);
+            }
+            return tasks;
+        }
+
+        private static double seconds(Runnable action) {
+            long start = System.nanoTime();
+            action.run();
+            return (System.nanoTime() - start) / 1_000_000_000.0;
+        }
+    }
@@ -0,0 +1,188 @@
+package com.snehit.springboottaskapi.controller;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.exception.GlobalExceptionHandler;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:etag-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false"
+})
+@AutoConfigureMockMvc
+class TaskConditionalRequestTest {
+
+        private static final String UPDATE_BODY = "{\"title\":\"Renamed\",\"status\":\"IN_PROGRESS\","
+                + "\"dueDate\":\"" + LocalDateTime.now().plusDays(5).withNano(0) + "\"}";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Autowired
+        private GlobalExceptionHandler exceptionHandler;
+
+        private Task task;
+
+        @BeforeEach
+        void setUp() {
+            Task newTask = new Task();
+            newTask.setTitle("Conditional Task");
+            newTask.setStatus(TaskStatus.TODO);
+            newTask.setDueDate(LocalDateTime.now().plusDays(1));
+            task = taskService.createTask(newTask);
+        }
+
+        @Test
+        void testGet_IfNoneMatch_ReturnsNotModifiedWithoutBody() throws Exception {
+            String etag = mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        void testListEtag_ChangesWhenListedTaskIsUpdated() throws Exception {
+            String before = listEtag();
+            mockMvc.perform(get("/api/v1/tasks").param("size", "100").header(HttpHeaders.IF_NONE_MATCH, before))
+                    .andExpect(status().isNotModified());
+
+            taskService.updateTask(task.getId(), details());
+
+            assertNotEquals(before, listEtag());
+        }
+
+        @Test
+        void testPut_IfMatch_CurrentVersionUpdatesAndReturnsNewEtag() throws Exception {
+            mockMvc.perform(put("/api/v1/tasks/{id}", task.getId())
+                            .header(HttpHeaders.IF_MATCH, "\"0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(UPDATE_BODY))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                    .andExpect(jsonPath("$.version").value(1));
+        }
+
+        @Test
+        void testPut_IfMatch_StaleVersionReturnsPreconditionFailed() throws Exception {
+            taskService.updateTask(task.getId(), details());
+
+            mockMvc.perform(put("/api/v1/tasks/{id}", task.getId())
+                            .header(HttpHeaders.IF_MATCH, "\"0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(UPDATE_BODY))
+                    .andExpect(status().isPreconditionFailed());
+            assertEquals("Updated", taskService.getTaskById(task.getId()).getTitle());
+        }
+
+        @Test
+        void testPatch_IfMatch_ChangesOnlyGivenFields() throws Exception {
+            mockMvc.perform(patch("/api/v1/tasks/{id}", task.getId())
+                            .header(HttpHeaders.IF_MATCH, "\"0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"status\":\"COMPLETED\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                    .andExpect(jsonPath("$.title").value("Conditional Task"))
+                    .andExpect(jsonPath("$.status").value("COMPLETED"));
+
+            mockMvc.perform(patch("/api/v1/tasks/{id}", task.getId())
+                            .header(HttpHeaders.IF_MATCH, "\"0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"Renamed\"}"))
+                    .andExpect(status().isPreconditionFailed());
+        }
+
+        @Test
+        void testDelete_IfMatch_StaleVersionReturnsPreconditionFailed() throws Exception {
+            taskService.updateTask(task.getId(), details());
+
+            mockMvc.perform(delete("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.IF_MATCH, "\"0\""))
+                    .andExpect(status().isPreconditionFailed());
+            mockMvc.perform(delete("/api/v1/tasks/{id}", task.getId()).header(HttpHeaders.IF_MATCH, "\"1\""))
+                    .andExpect(status().isNoContent());
+        }
+
+        @Test
+        void testConcurrentUpdate_LaterCommitFailsInsteadOfOverwriting() {
+            assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                    transactionTemplate.executeWithoutResult(status -> {
+                        taskService.updateTask(task.getId(), details());
+                        // another writer commits between our read and our flush
+                        Thread writer = new Thread(() -> jdbcTemplate.update(
+                                "UPDATE tasks SET title = 'Other writer', version = version + 1 WHERE id = ?",
+                                task.getId()));
+                        writer.start();
+                        try {
+                            writer.join();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }));
+            assertEquals("Other writer",
+                    jdbcTemplate.queryForObject("SELECT title FROM tasks WHERE id = ?", String.class, task.getId()));
+        }
+
+        @Test
+        void testFlushTimeLockFailure_IfMatchReturnsPreconditionFailed() {
+            // Given a write whose version check only failed at flush
+            ObjectOptimisticLockingFailureException ex = new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+            MockHttpServletRequest conditional = new MockHttpServletRequest("PUT", "/api/v1/tasks/" + task.getId());
+            conditional.addHeader(HttpHeaders.IF_MATCH, "\"0\"");
+            MockHttpServletRequest unconditional = new MockHttpServletRequest("PUT", "/api/v1/tasks/" + task.getId());
+
+            // When
+            ResponseEntity<?> withIfMatch = exceptionHandler.handleOptimisticLockingFailureException(ex, conditional);
+            ResponseEntity<?> withoutIfMatch = exceptionHandler.handleOptimisticLockingFailureException(ex, unconditional);
+
+            // Then
+            assertEquals(HttpStatus.PRECONDITION_FAILED, withIfMatch.getStatusCode());
+            assertEquals(HttpStatus.CONFLICT, withoutIfMatch.getStatusCode());
+        }
+
+        private String listEtag() throws Exception {
+            return mockMvc.perform(get("/api/v1/tasks").param("size", "100"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        }
+
+        private static Task details() {
+            Task details = new Task();
+            details.setTitle("Updated");
+            details.setStatus(TaskStatus.IN_PROGRESS);
+            details.setDueDate(LocalDateTime.now().plusDays(3));
+            return details;
+        }
+    }
@@ -0,0 +1,125 @@
+package com.snehit.springboottaskapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:wire-format-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "management.server.port=0",
+        "task.events.outbox.dispatcher-enabled=false"
+})
+class TaskContentNegotiationTest {
+
+        private static final String CBOR = "application/cbor";
+
+        private static final String SMILE = "application/x-jackson-smile";
+
+        private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+        private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+        private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void testGet_AcceptCbor_ReturnsCborTask() throws Exception {
+            Task task = taskService.createTask(task("Binary Task"));
+
+            HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri("/" + task.getId()))
+                    .header("Accept", CBOR));
+
+            assertEquals(200, response.statusCode());
+            assertEquals(CBOR, response.headers().firstValue("Content-Type").orElseThrow());
+            Task decoded = cborMapper.readValue(response.body(), Task.class);
+            assertEquals("Binary Task", decoded.getTitle());
+            assertEquals(task.getDueDate().truncatedTo(ChronoUnit.SECONDS), decoded.getDueDate());
+            // JSON stays the default
+            HttpResponse<byte[]> json = send(HttpRequest.newBuilder(uri("/" + task.getId())));
+            assertTrue(json.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+        }
+
+        @Test
+        void testCreate_SmileBody_ReturnsSmileTask() throws Exception {
+            byte[] body = smileMapper.writeValueAsBytes(task("Smile Task"));
+
+            HttpResponse<byte[]> response = send(HttpRequest.newBuilder(uri(""))
+                    .header("Content-Type", SMILE)
+                    .header("Accept", SMILE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+
+            assertEquals(201, response.statusCode());
+            Task created = smileMapper.readValue(response.body(), Task.class);
+            assertNotNull(created.getId());
+            assertEquals("Smile Task", created.getTitle());
+            assertEquals(TaskStatus.TODO, created.getStatus());
+        }
+
+        @Test
+        void testList_AcceptEncodingGzip_CompressesLargeResponses() throws Exception {
+            BenchmarkData.seedTasks(jdbcTemplate, 200);
+
+            HttpResponse<byte[]> page = send(HttpRequest.newBuilder(uri("?size=100&fields=title,description"))
+                    .header("Accept-Encoding", "gzip"));
+
+            assertEquals(200, page.statusCode());
+            assertEquals("gzip", page.headers().firstValue("Content-Encoding").orElseThrow());
+            try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(page.body()))) {
+                JsonNode decoded = jsonMapper.readTree(body);
+                assertEquals(100, decoded.get("content").size());
+            }
+
+            // without Accept-Encoding the body is sent as is
+            HttpResponse<byte[]> plain = send(HttpRequest.newBuilder(uri("?size=100")));
+            assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+            assertEquals(100, jsonMapper.readTree(plain.body()).get("content").size());
+        }
+
+        private HttpResponse<byte[]> send(HttpRequest.Builder request) throws Exception {
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + "/api/v1/tasks" + path);
+        }
+
+        private static Task task(String title) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setStatus(TaskStatus.TODO);
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            return task;
+        }
+    }
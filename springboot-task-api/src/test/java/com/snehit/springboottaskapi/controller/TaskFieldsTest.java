@@ -0,0 +1,113 @@
+package com.snehit.springboottaskapi.controller;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fields-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false"
+})
+@AutoConfigureMockMvc
+class TaskFieldsTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ITaskService taskService;
+
+        private Task task;
+
+        @BeforeEach
+        void setUp() {
+            Task newTask = new Task();
+            newTask.setTitle("Projected Task");
+            newTask.setDescription("Only sent when asked for");
+            newTask.setStatus(TaskStatus.IN_PROGRESS);
+            newTask.setDueDate(LocalDateTime.now().plusDays(1));
+            task = taskService.createTask(newTask);
+        }
+
+        @AfterEach
+        void tearDown() {
+            taskService.deleteTask(task.getId());
+        }
+
+        @Test
+        void testList_DefaultsToSummaryFields() throws Exception {
+            mockMvc.perform(get("/api/v1/tasks/status/{status}", TaskStatus.IN_PROGRESS).param("size", "100"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[?(@.id == %d)].title", task.getId()).value(hasItem("Projected Task")))
+                    .andExpect(jsonPath("$.content[0].status").exists())
+                    .andExpect(jsonPath("$.content[0].dueDate").exists())
+                    .andExpect(jsonPath("$.content[0].version").exists())
+                    .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                    .andExpect(jsonPath("$.content[0].createdAt").doesNotExist());
+        }
+
+        @Test
+        void testList_FieldsParameterSelectsFieldsPlusIdAndVersion() throws Exception {
+            mockMvc.perform(get("/api/v1/tasks")
+                            .param("title", "Projected")
+                            .param("fields", "title, description")
+                            .param("includeTotal", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(1))
+                    .andExpect(jsonPath("$.content[0].id").value(task.getId()))
+                    .andExpect(jsonPath("$.content[0].version").value(0))
+                    .andExpect(jsonPath("$.content[0].title").value("Projected Task"))
+                    .andExpect(jsonPath("$.content[0].description").value("Only sent when asked for"))
+                    .andExpect(jsonPath("$.content[0].status").doesNotExist())
+                    .andExpect(jsonPath("$.content[0].dueDate").doesNotExist());
+        }
+
+        @Test
+        void testList_EtagDependsOnFields() throws Exception {
+            String summary = etag(null);
+            String withDescription = etag("title,description");
+
+            assertNotEquals(summary, withDescription);
+            assertEquals(summary, etag("title,status,dueDate"));
+        }
+
+        @Test
+        void testList_UnknownField_ReturnsBadRequest() throws Exception {
+            mockMvc.perform(get("/api/v1/tasks").param("fields", "title,secret"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void testList_SortByIsLimitedToIndexedFields() throws Exception {
+            mockMvc.perform(get("/api/v1/tasks").param("sortBy", "dueDate").param("sortDir", "asc"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/v1/tasks").param("sortBy", "description"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Unsupported sort field: description"));
+        }
+
+        private String etag(String fields) throws Exception {
+            var request = get("/api/v1/tasks").param("title", "Projected");
+            if (fields != null) {
+                request.param("fields", fields);
+            }
+            return mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        }
+    }
@@ -0,0 +1,228 @@
+package com.snehit.springboottaskapi.controller;
+
+import com.snehit.springboottaskapi.SpringbootTaskApiApplication;
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.search.TaskSearchIndex;
+import com.snehit.springboottaskapi.stats.TaskStatusCounters;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Throughput and latency of a mixed read/write workload over HTTP with Tomcat on platform threads
+ * and on virtual threads ({@code spring.threads.virtual.enabled}), at increasing numbers of
+ * concurrent closed-loop clients. Each client sends its next request as soon as the previous one
+ * completes: 80% {@code GET /api/v1/tasks/{id}}, 15% {@code GET /api/v1/tasks}, 5%
+ * {@code POST /api/v1/tasks}.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test -Dtest=TaskLoadBenchmarkTest}. The virtual-thread mode
+ * needs a Java 21 runtime and is skipped on older ones. Options: {@code -Dbenchmark.clients=1000,10000},
+ * {@code -Dbenchmark.seconds=N} per level (10 by default), {@code -Dbenchmark.rows=N} seeded tasks.
+ * Raise the open file limit to at least twice the largest client count; adding
+ * {@code -Djdk.tracePinnedThreads=short} to the surefire argLine reports any carrier pinning.
+ */
+@Tag("benchmark")
+class TaskLoadBenchmarkTest {
+
+        private static final int[] DEFAULT_CLIENTS = {1_000, 2_500, 5_000, 10_000};
+
+        private static final String DUE_DATE = LocalDateTime.now().plusDays(30).truncatedTo(ChronoUnit.SECONDS).toString();
+
+        @Test
+        void platformThreads() throws InterruptedException {
+            runMode("platform", false);
+        }
+
+        @Test
+        void virtualThreads() throws InterruptedException {
+            assumeTrue(Runtime.version().feature() >= 21,
+                    "virtual threads need Java 21, running on " + Runtime.version());
+            runMode("virtual", true);
+        }
+
+        private void runMode(String mode, boolean virtual) throws InterruptedException {
+            try (ConfigurableApplicationContext context = start(mode, virtual)) {
+                String baseUrl = "http://localhost:"
+                        + context.getEnvironment().getProperty("local.server.port") + "/api/v1/tasks";
+                long[] ids = context.getBean(JdbcTemplate.class)
+                        .queryForList("SELECT id FROM tasks", Long.class)
+                        .stream().mapToLong(Long::longValue).toArray();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .build();
+
+                run(client, baseUrl, ids, 200, Duration.ofSeconds(5));
+
+                Duration duration = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 10));
+                System.out.printf("%nLoad with %s threads (%d tasks, %ds per level)%n",
+                        mode, ids.length, duration.toSeconds());
+                System.out.printf("%-10s %12s %10s %10s %10s %8s%n",
+                        "clients", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+                for (int clients : clientLevels()) {
+                    LoadResult result = run(client, baseUrl, ids, clients, duration);
+                    System.out.printf("%-10d %12.0f %10.1f %10.1f %10.1f %8d%n", clients,
+                            result.throughput(), result.percentile(0.50), result.percentile(0.99),
+                            result.percentile(1.0), result.errors());
+                    assertTrue(result.requests() > 0);
+                }
+            }
+        }
+
+        private static ConfigurableApplicationContext start(String mode, boolean virtual) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootTaskApiApplication.class)
+                    .logStartupInfo(false)
+                    // passed as arguments so they take precedence over application.yaml
+                    .run("--server.port=0",
+                            "--management.server.port=0",
+                            "--server.tomcat.max-connections=20000",
+                            "--server.tomcat.accept-count=10000",
+                            "--spring.threads.virtual.enabled=" + virtual,
+                            "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                            "--task.events.outbox.dispatcher-enabled=false",
+                            // all clients share one address; this measures the server without shedding
+                            "--task.admission.enabled=false",
+                            "--logging.level.org.springframework.web=INFO",
+                            "--logging.level.org.springframework.web.servlet.DispatcherServlet=INFO");
+            BenchmarkData.seedTasks(context.getBean(JdbcTemplate.class), BenchmarkData.rows(10_000));
+            // the seed bypasses the service, so bring derived state up to date
+            context.getBean(TaskStatusCounters.class).reconcile();
+            context.getBean(TaskSearchIndex.class).rebuild();
+            return context;
+        }
+
+        private static int[] clientLevels() {
+            String levels = System.getProperty("benchmark.clients");
+            if (levels == null || levels.isBlank()) {
+                return DEFAULT_CLIENTS;
+            }
+            return Arrays.stream(levels.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        }
+
+        private static LoadResult run(HttpClient client, String baseUrl, long[] ids, int clients, Duration duration)
+                throws InterruptedException {
+            long start = System.nanoTime();
+            long deadline = start + duration.toNanos();
+            CountDownLatch done = new CountDownLatch(clients);
+            List<ClosedLoopClient> loops = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                ClosedLoopClient loop = new ClosedLoopClient(client, baseUrl, ids, deadline, done);
+                loops.add(loop);
+                loop.next();
+            }
+            assertTrue(done.await(duration.toSeconds() + 120, TimeUnit.SECONDS), "clients did not finish");
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            long[] latencies = loops.stream()
+                    .flatMapToLong(loop -> Arrays.stream(loop.latencies, 0, loop.count))
+                    .sorted()
+                    .toArray();
+            long errors = loops.stream().mapToLong(loop -> loop.errors).sum();
+            return new LoadResult(latencies, errors, seconds);
+        }
+
+        /** One simulated user: a chain of requests, each sent when the previous response arrives */
+        private static final class ClosedLoopClient {
+
+            private final HttpClient client;
+            private final String baseUrl;
+            private final long[] ids;
+            private final long deadline;
+            private final CountDownLatch done;
+
+            private long[] latencies = new long[256];
+            private int count;
+            private long errors;
+
+            ClosedLoopClient(HttpClient client, String baseUrl, long[] ids, long deadline, CountDownLatch done) {
+                this.client = client;
+                this.baseUrl = baseUrl;
+                this.ids = ids;
+                this.deadline = deadline;
+                this.done = done;
+            }
+
+            void next() {
+                long start = System.nanoTime();
+                if (start >= deadline) {
+                    done.countDown();
+                    return;
+                }
+                client.sendAsync(request(), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            if (failure != null || response.statusCode() >= 400) {
+                                errors++;
+                            } else {
+                                record(System.nanoTime() - start);
+                            }
+                            next();
+                        });
+            }
+
+            private HttpRequest request() {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int roll = random.nextInt(100);
+                if (roll < 80) {
+                    return HttpRequest.newBuilder(URI.create(baseUrl + "/" + ids[random.nextInt(ids.length)]))
+                            .GET().build();
+                }
+                if (roll < 95) {
+                    return HttpRequest.newBuilder(URI.create(baseUrl + "?page=0&size=10")).GET().build();
+                }
+                String body = "{\"title\":\"" + BenchmarkData.title(new Random(random.nextLong()))
+                        + "\",\"description\":\"Created by TaskLoadBenchmarkTest\",\"status\":\"TODO\",\"dueDate\":\""
+                        + DUE_DATE + "\"}";
+                return HttpRequest.newBuilder(URI.create(baseUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+
+            private void record(long nanos) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = nanos;
+            }
+        }
+
+        private record LoadResult(long[] latencies, long errors, double seconds) {
+
+            long requests() {
+                return latencies.length;
+            }
+
+            double throughput() {
+                return latencies.length / seconds;
+            }
+
+            /** Latency in milliseconds at the given quantile of successful requests */
+            double percentile(double quantile) {
+                if (latencies.length == 0) {
+                    return 0;
+                }
+                int index = (int) Math.ceil(quantile * latencies.length) - 1;
+                return latencies[Math.max(index, 0)] / 1_000_000.0;
+            }
+        }
+    }
@@ -0,0 +1,111 @@
+package com.snehit.springboottaskapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes per page and heap allocated per page for a list page read as full entities (the listing
+ * before {@code fields=}), as views with every field, and as the default summary view. Each page
+ * is read and serialized to JSON on the test thread, so the thread's allocation counter covers
+ * the query, hydration and serialization.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test -Dtest=TaskProjectionBenchmarkTest [-Dbenchmark.rows=N]}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:projection-bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.reminders.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskProjectionBenchmarkTest {
+
+        private static final int PAGE_SIZE = 100;
+
+        private static final int PAGES = 200;
+
+        private static final Pageable FIRST_PAGE =
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @BeforeAll
+        void seed() {
+            BenchmarkData.seedTasks(jdbcTemplate, BenchmarkData.rows(100_000));
+            // descriptions of a realistic length, as they dominate the entity size
+            jdbcTemplate.update("UPDATE tasks SET description = description || ' ' || REPEAT('lorem ipsum ', 40)");
+        }
+
+        @Test
+        void entityVersusProjection() {
+            Result entity = measure(() -> taskService.getTaskSlice(null, null, FIRST_PAGE));
+            Result allFields = measure(() -> taskService.getTaskViewSlice(
+                    EnumSet.allOf(TaskField.class), null, null, false, FIRST_PAGE));
+            Result summary = measure(() -> taskService.getTaskViewSlice(
+                    TaskField.SUMMARY, null, null, false, FIRST_PAGE));
+
+            System.out.printf("%nList page of %d tasks (%d pages per row)%n", PAGE_SIZE, PAGES);
+            System.out.printf("%-22s %14s %18s %12s%n", "representation", "bytes/page", "allocated/page", "median ms");
+            print("entity", entity);
+            print("view, all fields", allFields);
+            print("view, summary", summary);
+
+            assertTrue(summary.bytesPerPage() < entity.bytesPerPage());
+            assertTrue(summary.allocatedPerPage() < entity.allocatedPerPage());
+        }
+
+        private Result measure(Supplier<Object> page) {
+            Runnable serializePage = () -> serialize(page.get());
+            double medianMillis = BenchmarkData.medianMillis(serializePage, 31);
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long bytes = 0;
+            for (int i = 0; i < PAGES; i++) {
+                bytes += serialize(page.get()).length;
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            return new Result(bytes / PAGES, allocated / PAGES, medianMillis);
+        }
+
+        private byte[] serialize(Object page) {
+            try {
+                return objectMapper.writeValueAsBytes(page);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static void print(String name, Result result) {
+            System.out.printf("%-22s %14d %18d %12.2f%n",
+                    name, result.bytesPerPage(), result.allocatedPerPage(), result.medianMillis());
+        }
+
+        private record Result(long bytesPerPage, long allocatedPerPage, double medianMillis) {
+        }
+    }
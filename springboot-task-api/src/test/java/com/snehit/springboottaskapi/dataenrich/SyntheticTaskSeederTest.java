@@ -0,0 +1,40 @@
+package com.snehit.springboottaskapi.dataenrich;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seed-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.seed.count=20000"
+})
+class SyntheticTaskSeederTest {
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void testSeed_ProducesRealisticDistributions() {
+            // sample data is skipped because the table is no longer empty
+            assertEquals(20_000, count("1 = 1"));
+
+            long completed = count("status = 'COMPLETED'");
+            long open = 20_000 - completed;
+            assertTrue(completed > 8_000 && completed < 18_000, "completed: " + completed);
+            assertTrue(count("status = 'TODO'") > count("status = 'IN_PROGRESS'"));
+
+            long overdue = count("status <> 'COMPLETED' AND due_date < CURRENT_TIMESTAMP");
+            assertTrue(overdue > 0 && overdue < open, "overdue: " + overdue);
+            assertEquals(0, count("due_date <= created_at OR updated_at < created_at"));
+            assertTrue(count("created_at > DATEADD('DAY', -90, CURRENT_TIMESTAMP)")
+                    > count("created_at < DATEADD('DAY', -275, CURRENT_TIMESTAMP)"));
+        }
+
+        private long count(String condition) {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE " + condition, Long.class);
+        }
+    }
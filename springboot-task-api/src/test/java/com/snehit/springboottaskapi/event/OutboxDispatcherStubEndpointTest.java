@@ -0,0 +1,160 @@
+package com.snehit.springboottaskapi.event;
+
+import com.snehit.springboottaskapi.config.AWSConfig;
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+import com.snehit.springboottaskapi.repository.IOutboxEventRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the OutboxDispatcher with the EventBridgeAsyncClient from AWSConfig against a local HTTP
+ * stub of the PutEvents API, so retries, timeouts and the circuit breaker see real SDK behaviour.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherStubEndpointTest {
+
+        private static final Pattern ENTRY = Pattern.compile("\"DetailType\"");
+
+        @Mock
+        private IOutboxEventRepository outboxRepository;
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        /** Requests answered with a throttling error before the stub starts accepting */
+        private volatile int throttledRequests;
+
+        private volatile boolean serverErrors;
+
+        private HttpServer server;
+
+        private EventBridgeAsyncClient client;
+
+        private OutboxDispatcher dispatcher;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", this::putEvents);
+            server.start();
+            System.setProperty("aws.accessKeyId", "stub");
+            System.setProperty("aws.secretAccessKey", "stub");
+            client = new AWSConfig().eventBridgeAsyncClient("us-east-1",
+                    "http://localhost:" + server.getAddress().getPort(), 3,
+                    Duration.ofSeconds(2), Duration.ofSeconds(10), 4);
+            dispatcher = new OutboxDispatcher(outboxRepository, client, meterRegistry,
+                    100, 5, Duration.ofSeconds(1), 4, Duration.ofMinutes(1), 2, Duration.ofHours(1));
+        }
+
+        @AfterEach
+        void tearDown() {
+            client.close();
+            server.stop(0);
+            System.clearProperty("aws.accessKeyId");
+            System.clearProperty("aws.secretAccessKey");
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void testThrottledRequest_RetriedByClient_Delivers() {
+            // Given
+            throttledRequests = 2;
+            when(outboxRepository.claimDue(any(), eq(5), anyInt(), any()))
+                    .thenReturn(events(10));
+
+            // When
+            dispatcher.dispatchOnce();
+
+            // Then
+            assertEquals(3, requests.get());
+            ArgumentCaptor<List<OutboxEvent>> deleted = ArgumentCaptor.forClass(List.class);
+            verify(outboxRepository).deleteUnchanged(deleted.capture());
+            assertEquals(10, deleted.getValue().size());
+            verify(outboxRepository, never()).rescheduleUnchanged(anyList());
+        }
+
+        @Test
+        void testFailingEndpoint_OpensCircuit() {
+            // Given
+            serverErrors = true;
+            when(outboxRepository.claimDue(any(), eq(5), anyInt(), any()))
+                    .thenReturn(events(10));
+
+            // When
+            dispatcher.dispatchOnce();
+            dispatcher.dispatchOnce();
+            dispatcher.dispatchOnce();
+
+            // Then two calls of three attempts each, then nothing while the circuit is open
+            assertEquals(6, requests.get());
+            verify(outboxRepository, times(2)).rescheduleUnchanged(anyList());
+            assertEquals(1, meterRegistry.get("task.events.circuit").tag("state", "open").gauge().value());
+        }
+
+        private void putEvents(HttpExchange exchange) throws IOException {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            int attempt = requests.incrementAndGet();
+            if (serverErrors) {
+                respond(exchange, 500, "{\"__type\":\"InternalException\",\"message\":\"Stub failure\"}");
+            } else if (attempt <= throttledRequests) {
+                respond(exchange, 400, "{\"__type\":\"ThrottlingException\",\"message\":\"Rate exceeded\"}");
+            } else {
+                Matcher entries = ENTRY.matcher(body);
+                List<String> results = new ArrayList<>();
+                while (entries.find()) {
+                    results.add("{\"EventId\":\"evt-" + attempt + "-" + results.size() + "\"}");
+                }
+                respond(exchange, 200, "{\"FailedEntryCount\":0,\"Entries\":[" + String.join(",", results) + "]}");
+            }
+        }
+
+        private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/x-amz-json-1.1");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        }
+
+        private static List<OutboxEvent> events(int count) {
+            List<OutboxEvent> events = new ArrayList<>();
+            for (long id = 1; id <= count; id++) {
+                OutboxEvent event = new OutboxEvent();
+                event.setId(id);
+                event.setSource(TaskEventOutbox.EVENT_SOURCE);
+                event.setDetailType(TaskEventOutbox.TASK_COMPLETED);
+                event.setDetail("{\"id\":" + id + "}");
+                event.setCreatedAt(LocalDateTime.now());
+                event.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+                event.setAttempts(1);
+                event.setVersion(1L);
+                events.add(event);
+            }
+            return events;
+        }
+    }
@@ -0,0 +1,282 @@
+package com.snehit.springboottaskapi.event;
+
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+import com.snehit.springboottaskapi.repository.IOutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.eventbridge.EventBridgeAsyncClient;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsRequest;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResponse;
+import software.amazon.awssdk.services.eventbridge.model.PutEventsResultEntry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+        @Mock
+        private IOutboxEventRepository outboxRepository;
+
+        private FakeEventBridgeClient eventBridgeClient;
+
+        private SimpleMeterRegistry meterRegistry;
+
+        private OutboxDispatcher dispatcher;
+
+        @BeforeEach
+        void setUp() {
+            eventBridgeClient = new FakeEventBridgeClient();
+            dispatcher = dispatcher(Duration.ofHours(1));
+        }
+
+        /** A dispatcher with meters of its own; gauges stay bound to the first registrant */
+        private OutboxDispatcher dispatcher(Duration circuitOpenDuration) {
+            meterRegistry = new SimpleMeterRegistry();
+            return new OutboxDispatcher(outboxRepository, eventBridgeClient,
+                    meterRegistry, 100, 5, Duration.ofSeconds(1), 4, Duration.ofMinutes(1), 2, circuitOpenDuration);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void testDispatch_SendsBatchesOfTen() {
+            // Given
+            when(outboxRepository.claimDue(any(), eq(5), anyInt(), any()))
+                    .thenReturn(events(23));
+
+            // When
+            int fetched = dispatcher.dispatchOnce();
+
+            // Then
+            assertEquals(23, fetched);
+            assertEquals(List.of(10, 10, 3), eventBridgeClient.requestSizes);
+            // delivered ids of every batch are deleted together
+            ArgumentCaptor<List<OutboxEvent>> deleted = ArgumentCaptor.forClass(List.class);
+            verify(outboxRepository).deleteUnchanged(deleted.capture());
+            assertEquals(23, deleted.getValue().size());
+            verify(outboxRepository, never()).rescheduleUnchanged(anyList());
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void testDispatch_RetriesOnlyFailedEntries() {
+            // Given
+            eventBridgeClient.failingIds = Set.of(3L, 7L);
+            when(outboxRepository.claimDue(any(), eq(5), anyInt(), any()))
+                    .thenReturn(events(10));
+
+            // When
+            dispatcher.dispatchOnce();
+
+            // Then
+            ArgumentCaptor<List<OutboxEvent>> deleted = ArgumentCaptor.forClass(List.class);
+            verify(outboxRepository).deleteUnchanged(deleted.capture());
+            assertEquals(8, deleted.getValue().size());
+            assertFalse(deleted.getValue().stream().anyMatch(event -> event.getId() == 3L));
+
+            ArgumentCaptor<List<OutboxEvent>> retried = ArgumentCaptor.forClass(List.class);
+            verify(outboxRepository).rescheduleUnchanged(retried.capture());
+            assertEquals(2, retried.getValue().size());
+            OutboxEvent failed = retried.getValue().get(0);
+            assertEquals(3L, failed.getId());
+            assertEquals(1, failed.getAttempts());
+            assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+            assertTrue(failed.getLastError().startsWith("ThrottlingException"));
+
+            assertEquals(1, publishCount("success"));
+            assertEquals(8, entryCount("delivered"));
+            assertEquals(2, entryCount("failed"));
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void testDispatch_RequestFailure_RetriesWholeBatch() {
+            // Given
+            eventBridgeClient.failRequests = true;
+            when(outboxRepository.claimDue(any(), eq(5), anyInt(), any()))
+                    .thenReturn(events(4));
+
+            // When
+            dispatcher.dispatchOnce();
+
+            // Then
+            ArgumentCaptor<List<OutboxEvent>> retried = ArgumentCaptor.forClass(List.class);
+            verify(outboxRepository).rescheduleUnchanged(retried.capture());
+            assertEquals(4, retried.getValue().size());
+            verify(outboxRepository, never()).deleteUnchanged(anyList());
+
+            assertEquals(0, publishCount("success"));
+            assertEquals(1, publishCount("failure"));
+            assertEquals(4, entryCount("failed"));
+        }
+
+        @Test
+        void testDispatch_BoundsRequestsInFlight() throws Exception {
+            // Given responses that only arrive when the test releases them
+            eventBridgeClient.deferResponses = true;
+            when(outboxRepository.claimDue(any(), eq(5), anyInt(), any()))
+                    .thenReturn(events(100));
+
+            // When
+            CompletableFuture<Integer> dispatched = CompletableFuture.supplyAsync(dispatcher::dispatchOnce);
+
+            // Then at most 4 of the 10 batches are outstanding at a time
+            while (eventBridgeClient.pending.size() < 4) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+            assertEquals(4, eventBridgeClient.pending.size());
+            assertEquals(4, meterRegistry.get("task.events.publish.in-flight").gauge().value());
+            for (int released = 0; released < 10; released++) {
+                while (eventBridgeClient.pending.size() <= released) {
+                    Thread.sleep(10);
+                }
+                eventBridgeClient.pending.get(released).run();
+            }
+            assertEquals(100, dispatched.get(5, TimeUnit.SECONDS));
+            assertEquals(100, entryCount("delivered"));
+            assertEquals(0, meterRegistry.get("task.events.publish.in-flight").gauge().value());
+        }
+
+        @Test
+        void testCircuit_OpensAfterConsecutiveFailures_LeavesEventsInOutbox() {
+            // Given
+            eventBridgeClient.failRequests = true;
+            when(outboxRepository.claimDue(any(), eq(5), anyInt(), any()))
+                    .thenReturn(events(4));
+
+            // When
+            dispatcher.dispatchOnce();
+            dispatcher.dispatchOnce();
+            int fetchedWhileOpen = dispatcher.dispatchOnce();
+
+            // Then the open circuit neither reads nor sends events
+            assertEquals(0, fetchedWhileOpen);
+            assertEquals(2, eventBridgeClient.requestSizes.size());
+            verify(outboxRepository, times(2)).claimDue(any(), eq(5), anyInt(), any());
+            assertEquals(1, circuitState("open"));
+            assertEquals(0, circuitState("closed"));
+        }
+
+        @Test
+        void testCircuit_HalfOpenProbeClosesIt() {
+            // Given a circuit that was opened and may probe again at once
+            dispatcher = dispatcher(Duration.ZERO);
+            eventBridgeClient.failRequests = true;
+            when(outboxRepository.claimDue(any(), eq(5), anyInt(), any()))
+                    .thenReturn(events(4));
+            dispatcher.dispatchOnce();
+            dispatcher.dispatchOnce();
+            eventBridgeClient.failRequests = false;
+
+            // When
+            dispatcher.dispatchOnce();
+
+            // Then the probe fetched a single batch and its success closed the circuit
+            ArgumentCaptor<Integer> limits = ArgumentCaptor.forClass(Integer.class);
+            verify(outboxRepository, times(3)).claimDue(any(), eq(5), limits.capture(), any());
+            assertEquals(OutboxDispatcher.MAX_ENTRIES_PER_REQUEST, limits.getValue());
+            assertEquals(1, circuitState("closed"));
+            assertEquals(1, meterRegistry.get("task.events.circuit.transitions")
+                    .tag("state", "half_open").counter().count());
+        }
+
+        private double circuitState(String state) {
+            return meterRegistry.get("task.events.circuit").tag("state", state).gauge().value();
+        }
+
+        private long publishCount(String outcome) {
+            return meterRegistry.get("task.events.publish").tag("outcome", outcome).timer().count();
+        }
+
+        private double entryCount(String result) {
+            return meterRegistry.get("task.events.publish.entries").tag("result", result).counter().count();
+        }
+
+        private List<OutboxEvent> events(int count) {
+            List<OutboxEvent> events = new ArrayList<>();
+            for (long id = 1; id <= count; id++) {
+                OutboxEvent event = new OutboxEvent();
+                event.setId(id);
+                event.setSource(TaskEventOutbox.EVENT_SOURCE);
+                event.setDetailType(TaskEventOutbox.TASK_COMPLETED);
+                event.setDetail("{\"id\":" + id + "}");
+                event.setCreatedAt(LocalDateTime.now());
+                // as claimed: the attempt is counted and the version moved on
+                event.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+                event.setAttempts(1);
+                event.setVersion(1L);
+                events.add(event);
+            }
+            return events;
+        }
+
+        /** Local stand-in for EventBridge that fails entries whose detail carries a given id */
+        static class FakeEventBridgeClient implements EventBridgeAsyncClient {
+
+            final List<Integer> requestSizes = new CopyOnWriteArrayList<>();
+
+            /** With deferResponses, each request's response is sent when its entry is run */
+            final List<Runnable> pending = new CopyOnWriteArrayList<>();
+
+            Set<Long> failingIds = Set.of();
+
+            boolean failRequests;
+
+            boolean deferResponses;
+
+            @Override
+            public CompletableFuture<PutEventsResponse> putEvents(PutEventsRequest request) {
+                requestSizes.add(request.entries().size());
+                if (failRequests) {
+                    return CompletableFuture.failedFuture(
+                            SdkClientException.create("Unable to execute HTTP request"));
+                }
+                Function<String, Boolean> failing = detail -> failingIds.stream()
+                        .anyMatch(id -> detail.equals("{\"id\":" + id + "}"));
+                List<PutEventsResultEntry> results = request.entries().stream()
+                        .map(entry -> failing.apply(entry.detail())
+                                ? PutEventsResultEntry.builder()
+                                        .errorCode("ThrottlingException")
+                                        .errorMessage("Rate exceeded")
+                                        .build()
+                                : PutEventsResultEntry.builder().eventId("evt-" + entry.detail()).build())
+                        .toList();
+                int failedCount = (int) results.stream().filter(r -> r.errorCode() != null).count();
+                PutEventsResponse response =
+                        PutEventsResponse.builder().entries(results).failedEntryCount(failedCount).build();
+                if (!deferResponses) {
+                    return CompletableFuture.completedFuture(response);
+                }
+                CompletableFuture<PutEventsResponse> future = new CompletableFuture<>();
+                pending.add(() -> future.complete(response));
+                return future;
+            }
+
+            @Override
+            public String serviceName() {
+                return SERVICE_NAME;
+            }
+
+            @Override
+            public void close() {
+            }
+        }
+    }
@@ -0,0 +1,187 @@
+package com.snehit.springboottaskapi.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.repository.IOutboxEventRepository;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-transition-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.events.coalesce-window=PT1M"
+})
+class TaskEventOutboxTest {
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private IOutboxEventRepository outboxRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        private Task task;
+
+        @BeforeEach
+        void setUp() {
+            jdbcTemplate.update("DELETE FROM event_outbox");
+            Task newTask = new Task();
+            newTask.setTitle("Transitioning Task");
+            newTask.setStatus(TaskStatus.TODO);
+            newTask.setDueDate(LocalDateTime.now().plusDays(1));
+            task = taskService.createTask(newTask);
+        }
+
+        @Test
+        void testTransition_EnqueuesStatusChangeWithSequence() throws Exception {
+            // When
+            update(TaskStatus.IN_PROGRESS, "Transitioning Task");
+
+            // Then
+            OutboxEvent event = single();
+            JsonNode detail = objectMapper.readTree(event.getDetail());
+            assertEquals(TaskEventOutbox.TASK_STATUS_CHANGED, event.getDetailType());
+            assertEquals(task.getId(), event.getTaskId());
+            assertEquals("TODO", detail.get("previousStatus").asText());
+            assertEquals("IN_PROGRESS", detail.get("status").asText());
+            assertEquals(1, detail.get("sequence").asLong());
+            // waits for later changes to merge in
+            assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        }
+
+        @Test
+        void testEditWithoutStatusChange_EnqueuesNothing() {
+            // Given a completed task whose event went out
+            update(TaskStatus.COMPLETED, "Transitioning Task");
+            jdbcTemplate.update("DELETE FROM event_outbox");
+
+            // When
+            update(TaskStatus.COMPLETED, "Renamed");
+            update(TaskStatus.COMPLETED, "Renamed again");
+
+            // Then
+            assertEquals(0, outboxRepository.count());
+        }
+
+        @Test
+        void testChangesWithinWindow_AreMergedIntoOneEvent() throws Exception {
+            // When
+            update(TaskStatus.IN_PROGRESS, "Transitioning Task");
+            TaskPatch patch = new TaskPatch();
+            patch.setStatus(TaskStatus.COMPLETED);
+            taskService.patchTask(task.getId(), patch, null);
+
+            // Then
+            OutboxEvent event = single();
+            JsonNode detail = objectMapper.readTree(event.getDetail());
+            assertEquals(TaskEventOutbox.TASK_COMPLETED, event.getDetailType());
+            assertEquals("TODO", detail.get("previousStatus").asText());
+            assertEquals("COMPLETED", detail.get("status").asText());
+            assertEquals(2, detail.get("sequence").asLong());
+        }
+
+        @Test
+        void testFlipFlopWithinWindow_CancelsOut() {
+            // When
+            update(TaskStatus.COMPLETED, "Transitioning Task");
+            update(TaskStatus.TODO, "Transitioning Task");
+
+            // Then
+            assertEquals(0, outboxRepository.count());
+        }
+
+        @Test
+        void testChangeAfterWindow_EnqueuesNewEvent() throws Exception {
+            // Given an event whose window has passed, so it may be in flight
+            update(TaskStatus.COMPLETED, "Transitioning Task");
+            jdbcTemplate.update("UPDATE event_outbox SET next_attempt_at = ?", LocalDateTime.now().minusSeconds(1));
+
+            // When
+            update(TaskStatus.TODO, "Transitioning Task");
+
+            // Then
+            List<OutboxEvent> events = outboxRepository.findAll();
+            assertEquals(2, events.size());
+            JsonNode reopened = objectMapper.readTree(events.get(1).getDetail());
+            assertEquals(TaskEventOutbox.TASK_STATUS_CHANGED, events.get(1).getDetailType());
+            assertEquals("COMPLETED", reopened.get("previousStatus").asText());
+            assertEquals(2, reopened.get("sequence").asLong());
+        }
+
+        @Test
+        void testMergeWhileInFlight_DispatcherLeavesMergedEvent() throws Exception {
+            // Given an event the dispatcher has read and is sending
+            update(TaskStatus.IN_PROGRESS, "Transitioning Task");
+            OutboxEvent sent = single();
+            sent.setAttempts(1);
+
+            // When a change is merged into it before the dispatcher writes back
+            update(TaskStatus.COMPLETED, "Transitioning Task");
+
+            // Then neither the delete nor the retry touches the merged event
+            assertEquals(0, outboxRepository.deleteUnchanged(List.of(sent)));
+            assertEquals(0, outboxRepository.rescheduleUnchanged(List.of(sent)));
+            OutboxEvent merged = single();
+            assertEquals(TaskEventOutbox.TASK_COMPLETED, merged.getDetailType());
+            assertEquals(0, merged.getAttempts());
+            assertEquals("COMPLETED", objectMapper.readTree(merged.getDetail()).get("status").asText());
+            // it is delivered at the version it was read
+            assertEquals(1, outboxRepository.deleteUnchanged(List.of(merged)));
+            assertEquals(0, outboxRepository.count());
+        }
+
+        @Test
+        void testClaimedEvent_IsNotMergedIntoOrClaimedAgain() throws Exception {
+            // Given an event whose window has passed, claimed by a dispatcher
+            update(TaskStatus.IN_PROGRESS, "Transitioning Task");
+            LocalDateTime now = LocalDateTime.now().plusMinutes(2);
+            List<OutboxEvent> claimed = outboxRepository.claimDue(now, 5, 10, now.plusMinutes(1));
+            assertEquals(1, claimed.size());
+            assertEquals(1, claimed.get(0).getAttempts());
+            assertEquals(1L, claimed.get(0).getVersion());
+
+            // When
+            List<OutboxEvent> claimedAgain = outboxRepository.claimDue(now, 5, 10, now.plusMinutes(1));
+            update(TaskStatus.COMPLETED, "Transitioning Task");
+
+            // Then the later change gets an event of its own
+            assertEquals(List.of(), claimedAgain);
+            List<OutboxEvent> events = outboxRepository.findAll();
+            assertEquals(2, events.size());
+            assertEquals(TaskEventOutbox.TASK_STATUS_CHANGED, events.get(0).getDetailType());
+            assertEquals(TaskEventOutbox.TASK_COMPLETED, events.get(1).getDetailType());
+            assertEquals("IN_PROGRESS", objectMapper.readTree(events.get(1).getDetail()).get("previousStatus").asText());
+        }
+
+        private void update(TaskStatus status, String title) {
+            Task details = new Task();
+            details.setTitle(title);
+            details.setStatus(status);
+            details.setDueDate(task.getDueDate());
+            taskService.updateTask(task.getId(), details);
+        }
+
+        private OutboxEvent single() {
+            List<OutboxEvent> events = outboxRepository.findAll();
+            assertEquals(1, events.size());
+            return events.get(0);
+        }
+    }
@@ -0,0 +1,340 @@
+package com.snehit.springboottaskapi.idempotency;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.admission.enabled=false"
+})
+@AutoConfigureMockMvc
+class IdempotencyFilterTest {
+
+        private static final String DUE_DATE = LocalDateTime.now().plusDays(1).withNano(0).toString();
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private IdempotencyFilter idempotencyFilter;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void testCreate_RetriedWithSameKey_ReplaysFirstResponse() throws Exception {
+            // Given
+            String body = taskJson("Retried create", "COMPLETED");
+            long outboxBefore = outboxSize();
+
+            // When
+            MvcResult first = mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "create-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                    .andReturn();
+            MvcResult retry = mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "create-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andReturn();
+
+            // Then
+            assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+            assertEquals(first.getResponse().getHeader(HttpHeaders.ETAG), retry.getResponse().getHeader(HttpHeaders.ETAG));
+            assertEquals(1, countTasks("Retried create"));
+            assertEquals(outboxBefore + 1, outboxSize());
+        }
+
+        @Test
+        void testSameKey_DifferentRequest_ReturnsUnprocessable() throws Exception {
+            mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "reused")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(taskJson("First use", "TODO")))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "reused")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(taskJson("Second use", "TODO")))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.message").value("Idempotency-Key was already used for a different request"));
+            assertEquals(0, countTasks("Second use"));
+        }
+
+        @Test
+        void testFailedRequest_LeavesKeyFree() throws Exception {
+            mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "after-failure")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(taskJson("", "TODO")))
+                    .andExpect(status().isBadRequest());
+
+            mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "after-failure")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(taskJson("Fixed title", "TODO")))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist("Idempotent-Replayed"));
+            assertEquals(1, countTasks("Fixed title"));
+        }
+
+        @Test
+        void testUpdate_ReplayedFromTableAfterRestart() throws Exception {
+            // Given
+            Task task = new Task();
+            task.setTitle("Updated once");
+            task.setStatus(TaskStatus.TODO);
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            Long id = taskService.createTask(task).getId();
+            String body = taskJson("Updated once", "COMPLETED");
+            long outboxBefore = outboxSize();
+
+            mockMvc.perform(put("/api/v1/tasks/{id}", id)
+                            .header("Idempotency-Key", "update-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.version").value(1))
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+            // a restart empties the in-memory responses
+            idempotencyFilter.responses().invalidateAll();
+
+            // When
+            mockMvc.perform(put("/api/v1/tasks/{id}", id)
+                            .header("Idempotency-Key", "update-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(jsonPath("$.version").value(1));
+
+            // Then
+            assertEquals(1L, taskService.getTaskById(id).getVersion());
+            assertEquals(outboxBefore + 1, outboxSize());
+        }
+
+        @Test
+        void testKeyHeldElsewhere_ConflictsUntilLeaseExpires() throws Exception {
+            // Given another instance that claimed the key and has not answered
+            String body = taskJson("Held elsewhere", "TODO");
+            jdbcTemplate.update(
+                    "INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at, expires_at) VALUES (?, ?, ?, ?)",
+                    IdempotencyFilter.storeKey("address:127.0.0.1", "held"), "unknown", LocalDateTime.now(),
+                    LocalDateTime.now().plusMinutes(1));
+
+            mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "held")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isConflict());
+
+            // When it never answers and its lease runs out
+            jdbcTemplate.update("UPDATE idempotency_keys SET expires_at = ? WHERE idempotency_key = ?",
+                    LocalDateTime.now().minusSeconds(1), IdempotencyFilter.storeKey("address:127.0.0.1", "held"));
+
+            // Then
+            mockMvc.perform(post("/api/v1/tasks")
+                            .header("Idempotency-Key", "held")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated());
+            assertEquals(1, countTasks("Held elsewhere"));
+        }
+
+        @Test
+        void testSameKey_FromDifferentClients_AreSeparateKeys() throws Exception {
+            mockMvc.perform(post("/api/v1/tasks")
+                            .with(request -> remoteAddr(request, "10.0.0.1"))
+                            .header("Idempotency-Key", "shared")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(taskJson("First client", "TODO")))
+                    .andExpect(status().isCreated());
+
+            // a client header is not trusted from a client, so it cannot claim the first client's key
+            mockMvc.perform(post("/api/v1/tasks")
+                            .with(request -> remoteAddr(request, "10.0.0.2"))
+                            .header("Idempotency-Key", "shared")
+                            .header("X-Client-Id", "10.0.0.1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(taskJson("Second client", "TODO")))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+            assertEquals(1, countTasks("First client"));
+            assertEquals(1, countTasks("Second client"));
+        }
+
+        @Test
+        void testRequestThatLostItsLease_LeavesTheNewClaimAlone() throws Exception {
+            // Given a request whose lease expires while it runs, and whose key a retry claims
+            String key = IdempotencyFilter.storeKey("address:127.0.0.1", "outlived");
+            HttpServlet slowHandler = new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                    jdbcTemplate.update("UPDATE idempotency_keys SET claim_token = ? WHERE idempotency_key = ?",
+                            "retry", key);
+                    resp.setStatus(201);
+                    resp.getWriter().write("{\"id\":1}");
+                }
+            };
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tasks");
+            request.addHeader("Idempotency-Key", "outlived");
+            request.setContent("{}".getBytes());
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // When
+            idempotencyFilter.doFilter(request, response, new MockFilterChain(slowHandler));
+
+            // Then the client still gets its response, but the retry's claim is neither completed nor freed
+            assertEquals(201, response.getStatus());
+            assertEquals("{\"id\":1}", response.getContentAsString());
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM idempotency_keys WHERE idempotency_key = ? AND claim_token = 'retry' "
+                            + "AND status IS NULL", Long.class, key));
+            assertNull(idempotencyFilter.responses().getIfPresent(key));
+        }
+
+        @Test
+        void testBufferedRequest_ServesBodyToReadListener() throws Exception {
+            // Given
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tasks");
+            request.setContent("{\"title\":\"Read async\"}".getBytes());
+            ServletInputStream in = new IdempotencyFilter.BufferedRequest(request).getInputStream();
+            List<String> calls = new ArrayList<>();
+
+            // When
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    calls.add("data:" + new String(in.readAllBytes()));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    calls.add("all read");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    calls.add("error");
+                }
+            });
+
+            // Then
+            assertEquals(List.of("data:{\"title\":\"Read async\"}", "all read"), calls);
+            assertTrue(in.isFinished());
+        }
+
+        @Test
+        void testConcurrentDuplicates_WaitForTheFirstRequest() throws Exception {
+            // Given a handler that is slow to answer
+            AtomicInteger executions = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            HttpServlet slowHandler = new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                    executions.incrementAndGet();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    resp.setStatus(201);
+                    resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    resp.getWriter().write("{\"id\":" + executions.get() + "}");
+                }
+            };
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+
+            // When
+            List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+            try {
+                for (int i = 0; i < 8; i++) {
+                    responses.add(executor.submit(() -> {
+                        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/tasks");
+                        request.addHeader("Idempotency-Key", "concurrent");
+                        request.setContent("{}".getBytes());
+                        MockHttpServletResponse response = new MockHttpServletResponse();
+                        idempotencyFilter.doFilter(request, response, new MockFilterChain(slowHandler));
+                        return response;
+                    }));
+                }
+                Thread.sleep(500);
+                release.countDown();
+
+                // Then
+                int replayed = 0;
+                for (Future<MockHttpServletResponse> response : responses) {
+                    MockHttpServletResponse result = response.get(10, TimeUnit.SECONDS);
+                    assertEquals(201, result.getStatus());
+                    assertEquals("{\"id\":1}", result.getContentAsString());
+                    replayed += result.getHeader("Idempotent-Replayed") != null ? 1 : 0;
+                }
+                assertEquals(1, executions.get());
+                assertEquals(7, replayed);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        private static MockHttpServletRequest remoteAddr(MockHttpServletRequest request, String address) {
+            request.setRemoteAddr(address);
+            return request;
+        }
+
+        private static String taskJson(String title, String status) {
+            return "{\"title\":\"" + title + "\",\"status\":\"" + status + "\",\"dueDate\":\"" + DUE_DATE + "\"}";
+        }
+
+        private long countTasks(String title) {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE title = ?", Long.class, title);
+        }
+
+        private long outboxSize() {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Long.class);
+        }
+    }
@@ -0,0 +1,235 @@
+package com.snehit.springboottaskapi.reminder;
+
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskEventOutbox;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reminder-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.reminders.max-pending=3",
+        "task.reminders.load-batch=2",
+        // driven by the tests instead
+        "task.reminders.tick=PT1H",
+        "task.reminders.refill-interval=PT1H"
+})
+class TaskReminderSchedulerTest {
+
+        @Autowired
+        private TaskReminderScheduler scheduler;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @MockitoSpyBean
+        private ITaskRepository taskRepository;
+
+        @BeforeEach
+        void setUp() {
+            jdbcTemplate.update("DELETE FROM tasks");
+            jdbcTemplate.update("DELETE FROM event_outbox");
+            scheduler.rebuild();
+        }
+
+        @Test
+        void testDueSoon_EmittedOnceThenOverdueAfterDueDate() {
+            // Given
+            Task task = create(LocalDateTime.now().plusHours(1));
+
+            // When
+            scheduler.fireDue();
+            scheduler.fireDue();
+
+            // Then
+            assertEquals(1, events(TaskEventOutbox.TASK_DUE_SOON));
+            assertEquals(0, events(TaskEventOutbox.TASK_OVERDUE));
+
+            // When the due date passes, e.g. across a restart
+            jdbcTemplate.update("UPDATE tasks SET due_date = ? WHERE id = ?",
+                    LocalDateTime.now().minusMinutes(1), task.getId());
+            scheduler.rebuild();
+            scheduler.fireDue();
+
+            // Then
+            assertEquals(1, events(TaskEventOutbox.TASK_DUE_SOON));
+            assertEquals(1, events(TaskEventOutbox.TASK_OVERDUE));
+            assertEquals(0, scheduler.pendingCount());
+        }
+
+        @Test
+        void testCompletedTask_LosesReminders() {
+            // Given
+            Task task = create(LocalDateTime.now().plusHours(1));
+            assertEquals(1, scheduler.pendingCount());
+            TaskPatch patch = new TaskPatch();
+            patch.setStatus(TaskStatus.COMPLETED);
+
+            // When
+            taskService.patchTask(task.getId(), patch, null);
+            scheduler.fireDue();
+
+            // Then
+            assertEquals(0, scheduler.pendingCount());
+            assertEquals(0, events(TaskEventOutbox.TASK_DUE_SOON));
+        }
+
+        @Test
+        void testFarFutureTask_NotLoadedUntilWindowReachesIt() {
+            // When
+            create(LocalDateTime.now().plusDays(30));
+            scheduler.refill();
+
+            // Then
+            assertEquals(0, scheduler.pendingCount());
+        }
+
+        @Test
+        void testMaxPending_BoundsSetAndReadsOnWhenThereIsRoom() {
+            // Given five tasks going overdue within the horizon, written behind the scheduler's back
+            List<Long> ids = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                jdbcTemplate.update("INSERT INTO tasks (id, title, status, due_date, created_at, updated_at) "
+                                + "VALUES (nextval('tasks_seq'), ?, 'TODO', ?, ?, ?)",
+                        "Reminder " + i, LocalDateTime.now().plusMinutes(10L * i),
+                        LocalDateTime.now(), LocalDateTime.now());
+                ids.add(jdbcTemplate.queryForObject("SELECT id FROM tasks WHERE title = ?", Long.class,
+                        "Reminder " + i));
+            }
+
+            // When
+            scheduler.rebuild();
+
+            // Then
+            assertEquals(3, scheduler.pendingCount());
+
+            // When the earliest ones go away
+            for (Long id : ids.subList(0, 3)) {
+                taskService.deleteTask(id);
+            }
+            assertEquals(0, scheduler.pendingCount());
+            scheduler.refill();
+
+            // Then the rest are read from the index
+            assertEquals(2, scheduler.pendingCount());
+        }
+
+        @Test
+        void testMaxPending_FullOfOtherKindStopsReading() {
+            // Given three tasks whose due-soon reminders fire before two tasks go overdue
+            List<Long> dueTomorrow = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                dueTomorrow.add(insert("Due tomorrow " + i, LocalDateTime.now().plusDays(1).plusMinutes(i)));
+            }
+            insert("Overdue soon 1", LocalDateTime.now().plusMinutes(30));
+            insert("Overdue soon 2", LocalDateTime.now().plusMinutes(40));
+
+            // When the due-soon reminders fill the set
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> scheduler.rebuild());
+
+            // Then the overdue reminders wait for room
+            assertEquals(3, scheduler.pendingCount());
+
+            // When the earlier reminders go away
+            for (Long id : dueTomorrow) {
+                taskService.deleteTask(id);
+            }
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> scheduler.refill());
+
+            // Then the overdue reminders are read
+            assertEquals(2, scheduler.pendingCount());
+        }
+
+        @Test
+        void testChangeDuringIndexRead_IsAppliedWithoutWaitingAndWins() {
+            // Given a task written behind the scheduler's back
+            LocalDateTime dueDate = LocalDateTime.now().plusMinutes(10);
+            jdbcTemplate.update("INSERT INTO tasks (id, title, status, due_date, created_at, updated_at) "
+                            + "VALUES (nextval('tasks_seq'), 'Completed while loading', 'TODO', ?, ?, ?)",
+                    dueDate, LocalDateTime.now(), LocalDateTime.now());
+            Long id = jdbcTemplate.queryForObject("SELECT id FROM tasks WHERE title = 'Completed while loading'",
+                    Long.class);
+            // and an index read that returns it open, while a request completes it
+            AtomicBoolean completed = new AtomicBoolean();
+            doAnswer(invocation -> {
+                if (!completed.compareAndSet(false, true)) {
+                    return List.of();
+                }
+                Thread request = new Thread(() -> {
+                    TaskPatch patch = new TaskPatch();
+                    patch.setStatus(TaskStatus.COMPLETED);
+                    taskService.patchTask(id, patch, null);
+                });
+                request.start();
+                request.join(5000);
+                // its commit listener did not wait for the read to finish
+                assertFalse(request.isAlive());
+                return List.of(dueTask(id, dueDate));
+            }).when(taskRepository).findOpenDueAfter(any(), anyLong(), any(), any());
+
+            // When
+            scheduler.rebuild();
+
+            // Then the read's stale row does not bring the reminder back
+            assertTrue(completed.get());
+            assertEquals(0, scheduler.pendingCount());
+            scheduler.fireDue();
+            assertEquals(0, events(TaskEventOutbox.TASK_DUE_SOON));
+        }
+
+        private Task create(LocalDateTime dueDate) {
+            Task task = new Task();
+            task.setTitle("Reminder Task");
+            task.setStatus(TaskStatus.TODO);
+            task.setDueDate(dueDate);
+            return taskService.createTask(task);
+        }
+
+        private Long insert(String title, LocalDateTime dueDate) {
+            jdbcTemplate.update("INSERT INTO tasks (id, title, status, due_date, created_at, updated_at) "
+                            + "VALUES (nextval('tasks_seq'), ?, 'TODO', ?, ?, ?)",
+                    title, dueDate, LocalDateTime.now(), LocalDateTime.now());
+            return jdbcTemplate.queryForObject("SELECT id FROM tasks WHERE title = ?", Long.class, title);
+        }
+
+        private static ITaskRepository.DueTask dueTask(Long id, LocalDateTime dueDate) {
+            return new ITaskRepository.DueTask() {
+                @Override
+                public Long getId() {
+                    return id;
+                }
+
+                @Override
+                public LocalDateTime getDueDate() {
+                    return dueDate;
+                }
+            };
+        }
+
+        private long events(String detailType) {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox WHERE detail_type = ?",
+                    Long.class, detailType);
+        }
+    }
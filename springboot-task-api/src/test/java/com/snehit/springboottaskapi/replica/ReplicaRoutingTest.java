@@ -0,0 +1,243 @@
+package com.snehit.springboottaskapi.replica;
+
+import com.snehit.springboottaskapi.config.CacheConfig;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing between a primary and two replicas, all separate H2 databases. The replicas get the
+ * primary's schema but no replication, so a row's title shows which database a read went to.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.replicas.urls=" + ReplicaRoutingTest.REPLICA_1 + "," + ReplicaRoutingTest.REPLICA_2,
+        "task.replicas.lag-query=SELECT lag_seconds FROM replica_status",
+        "task.replicas.max-lag=PT5S",
+        "task.replicas.sticky-for=PT1M",
+        "task.replicas.trusted-proxies=127.0.0.1",
+        // driven by the tests instead
+        "task.replicas.health-interval=PT1H",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.admission.enabled=false"
+})
+class ReplicaRoutingTest {
+
+        static final String REPLICA_1 = "jdbc:h2:mem:routing-replica-1;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+        static final String REPLICA_2 = "jdbc:h2:mem:routing-replica-2;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+        private static final Pageable PAGE = PageRequest.of(0, 10);
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private ReplicaRoutingDataSource routingDataSource;
+
+        @Autowired
+        private ReadYourWritesFilter readYourWritesFilter;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        private final JdbcTemplate replica1 = replica(REPLICA_1);
+
+        private final JdbcTemplate replica2 = replica(REPLICA_2);
+
+        @BeforeEach
+        void setUp() {
+            jdbcTemplate.update("DELETE FROM tasks");
+            List<String> schema = jdbcTemplate.queryForList("SCRIPT NODATA", String.class);
+            for (JdbcTemplate replica : List.of(replica1, replica2)) {
+                replica.execute("DROP ALL OBJECTS");
+                schema.forEach(replica::execute);
+                replica.execute("CREATE TABLE replica_status (lag_seconds DOUBLE)");
+                replica.update("INSERT INTO replica_status VALUES (0)");
+            }
+            insertTask(replica1, "from replica-1");
+            insertTask(replica2, "from replica-2");
+            routingDataSource.checkReplicas();
+            cacheManager.getCache(CacheConfig.TASKS_CACHE).clear();
+        }
+
+        @Test
+        void testReadOnlyTransactions_RoundRobinOverReplicas_WritesGoToPrimary() {
+            double replica1Reads = routeCount("replica-1", "read");
+            double replica2Reads = routeCount("replica-2", "read");
+            double writes = routeCount("primary", "write");
+
+            // When
+            Set<String> titles = new HashSet<>();
+            for (int i = 0; i < 4; i++) {
+                titles.add(readTitle());
+            }
+            Task created = taskService.createTask(task("on primary"));
+
+            // Then
+            assertEquals(Set.of("from replica-1", "from replica-2"), titles);
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM tasks WHERE id = ?", Long.class, created.getId()));
+            assertEquals(2, routeCount("replica-1", "read") - replica1Reads);
+            assertEquals(2, routeCount("replica-2", "read") - replica2Reads);
+            assertTrue(routeCount("primary", "write") > writes);
+        }
+
+        @Test
+        void testLaggingOrFailingReplica_GetsNoReads() {
+            // Given
+            replica2.update("UPDATE replica_status SET lag_seconds = 60");
+            routingDataSource.checkReplicas();
+
+            // Then
+            for (int i = 0; i < 4; i++) {
+                assertEquals("from replica-1", readTitle());
+            }
+            assertEquals(0, meterRegistry.get("task.datasource.replica.healthy").tag("replica", "replica-2").gauge().value());
+            assertEquals(60, meterRegistry.get("task.datasource.replica.lag").tag("replica", "replica-2").gauge().value());
+
+            // When the other one fails its check too, reads fall back to the primary
+            double fallbacks = routeCount("primary", "fallback");
+            replica1.execute("DROP TABLE replica_status");
+            routingDataSource.checkReplicas();
+            taskService.createTask(task("on primary"));
+
+            assertEquals("on primary", readTitle());
+            assertEquals(1, routeCount("primary", "fallback") - fallbacks);
+
+            // and return once a replica has caught up
+            replica2.update("UPDATE replica_status SET lag_seconds = 0.5");
+            routingDataSource.checkReplicas();
+            assertEquals("from replica-2", readTitle());
+        }
+
+        @Test
+        void testClientsOwnWrite_PinsItsReadsToPrimary() throws Exception {
+            // Given client a wrote a task
+            double sticky = routeCount("primary", "sticky");
+            taskService.createTask(task("on primary"));
+            send("POST", "client-a", null);
+
+            // When
+            AtomicReference<String> readByA = new AtomicReference<>();
+            AtomicReference<String> readByB = new AtomicReference<>();
+            send("GET", "client-a", readByA);
+            send("GET", "client-b", readByB);
+
+            // Then
+            assertEquals("on primary", readByA.get());
+            assertTrue(readByB.get().startsWith("from replica"));
+            assertEquals(1, routeCount("primary", "sticky") - sticky);
+        }
+
+        @Test
+        void testClientHeaderFromUntrustedAddress_DoesNotShareAnotherClientsPinning() throws Exception {
+            // Given client a wrote a task through the proxy
+            taskService.createTask(task("on primary"));
+            send("POST", "client-a", null);
+
+            // When another caller sends client a's id itself
+            AtomicReference<String> readBySpoofer = new AtomicReference<>();
+            send("GET", "10.0.0.9", "client-a", readBySpoofer);
+
+            // Then it is told apart by its address and reads from a replica
+            assertTrue(readBySpoofer.get().startsWith("from replica"));
+
+            // and a new id on every write does not escape its own pinning
+            send("POST", "10.0.0.9", "client-x", null);
+            AtomicReference<String> readAfterWrite = new AtomicReference<>();
+            send("GET", "10.0.0.9", "client-y", readAfterWrite);
+            assertEquals("on primary", readAfterWrite.get());
+        }
+
+        @Test
+        void testTaskCacheMiss_LoadsFromPrimary() {
+            // Given the primary has a newer version of the row than the replicas
+            insertTask(jdbcTemplate, "on primary");
+
+            // When
+            Task task = taskService.getTaskById(1000000L);
+
+            // Then the cache is not filled with a replica's stale row
+            assertEquals("on primary", task.getTitle());
+            assertEquals("on primary", cacheManager.getCache(CacheConfig.TASKS_CACHE)
+                    .get(1000000L, Task.class).getTitle());
+        }
+
+        private void send(String method, String client, AtomicReference<String> title) throws Exception {
+            send(method, "127.0.0.1", client, title);
+        }
+
+        private void send(String method, String remoteAddr, String client, AtomicReference<String> title)
+                throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/tasks");
+            request.setRemoteAddr(remoteAddr);
+            request.addHeader("X-Client-Id", client);
+            HttpServlet servlet = new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                    if (title != null) {
+                        title.set(readTitle());
+                    }
+                }
+            };
+            readYourWritesFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+        }
+
+        private String readTitle() {
+            return taskService.getTaskSlice(null, null, PAGE).getContent().get(0).getTitle();
+        }
+
+        private double routeCount(String route, String reason) {
+            return meterRegistry.get("task.datasource.route").tag("route", route).tag("reason", reason)
+                    .counter().count();
+        }
+
+        private static void insertTask(JdbcTemplate replica, String title) {
+            replica.update("INSERT INTO tasks (id, title, status, due_date, created_at, updated_at, version) "
+                            + "VALUES (1000000, ?, 'TODO', ?, ?, ?, 0)",
+                    title, LocalDateTime.now().plusDays(1), LocalDateTime.now(), LocalDateTime.now());
+        }
+
+        private static JdbcTemplate replica(String url) {
+            return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        }
+
+        private static Task task(String title) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setStatus(TaskStatus.TODO);
+            task.setDueDate(LocalDateTime.now().plusDays(1));
+            return task;
+        }
+    }
@@ -0,0 +1,80 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.SpringbootTaskApiApplication;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database created by the original application, with ddl-auto: update, is baselined at V1 and
+ * migrated to a schema the current entities validate against.
+ */
+@Tag("postgres")
+class FlywayBaselineUpgradePostgresTest {
+
+        private static final String SCHEMA = "baseline_upgrade";
+
+        /** What Hibernate created for the original Task entity */
+        private static final String BASELINE_DDL =
+                "create table tasks (id bigint generated by default as identity, created_at timestamp(6), "
+                        + "description varchar(1000), due_date timestamp(6) not null, status varchar(255) not null "
+                        + "check (status in ('TODO','IN_PROGRESS','COMPLETED')), title varchar(255) not null, "
+                        + "updated_at timestamp(6), primary key (id))";
+
+        @Test
+        void testBaselineDatabase_IsMigratedAndValidates() throws Exception {
+            // Given a database of the original application with a few tasks
+            try (Connection connection = DriverManager.getConnection(System.getProperty("postgres.url"),
+                    System.getProperty("postgres.username"), System.getProperty("postgres.password"));
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+                statement.execute("CREATE SCHEMA " + SCHEMA);
+                statement.execute("SET search_path TO " + SCHEMA);
+                statement.execute(BASELINE_DDL);
+                for (int i = 1; i <= 3; i++) {
+                    statement.execute("INSERT INTO tasks (title, status, due_date, created_at, updated_at) "
+                            + "VALUES ('Existing " + i + "', 'TODO', now() + interval '1 day', now(), now())");
+                }
+            }
+
+            // When the current application starts on it
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootTaskApiApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run(
+                            "--spring.datasource.url=" + System.getProperty("postgres.url") + "?currentSchema=" + SCHEMA,
+                            "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                            "--spring.datasource.username=" + System.getProperty("postgres.username"),
+                            "--spring.datasource.password=" + System.getProperty("postgres.password"),
+                            "--task.events.outbox.dispatcher-enabled=false")) {
+                // Then
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                List<String> applied = jdbcTemplate.queryForList(
+                        "SELECT version FROM flyway_schema_history ORDER BY installed_rank", String.class);
+                assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8"), applied);
+                assertEquals("<< Flyway Baseline >>", jdbcTemplate.queryForObject(
+                        "SELECT description FROM flyway_schema_history WHERE version = '1'", String.class));
+
+                ITaskService taskService = context.getBean(ITaskService.class);
+                assertEquals(0L, taskService.getTaskById(3L).getVersion());
+                Task task = new Task();
+                task.setTitle("After upgrade");
+                task.setStatus(TaskStatus.TODO);
+                task.setDueDate(LocalDateTime.now().plusDays(1));
+                assertTrue(taskService.createTask(task).getId() > 3L);
+            }
+        }
+    }
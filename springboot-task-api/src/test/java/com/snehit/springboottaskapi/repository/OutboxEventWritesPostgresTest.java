@@ -0,0 +1,74 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.PostgresTest;
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Claims of concurrent dispatchers do not overlap on PostgreSQL.
+ */
+@PostgresTest
+class OutboxEventWritesPostgresTest {
+
+        @Autowired
+        private IOutboxEventRepository outboxRepository;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @BeforeEach
+        void setUp() {
+            jdbcTemplate.update("DELETE FROM event_outbox");
+            for (int i = 1; i <= 4; i++) {
+                jdbcTemplate.update("INSERT INTO event_outbox (source, detail_type, detail, created_at, next_attempt_at, "
+                        + "attempts) VALUES ('test', 'Test', ?, now(), now() - interval '1 second', 0)", "{\"n\":" + i + "}");
+            }
+        }
+
+        @Test
+        void testClaimDue_SkipsRowsLockedByAnotherClaim() {
+            LocalDateTime now = LocalDateTime.now();
+
+            // Given another dispatcher that has claimed two rows and not committed yet
+            List<OutboxEvent> other = transactionTemplate.execute(status -> {
+                List<OutboxEvent> claimed = outboxRepository.claimDue(now, 5, 2, now.plusMinutes(1));
+                // When this dispatcher claims meanwhile
+                List<OutboxEvent> mine = CompletableFuture.supplyAsync(
+                        () -> outboxRepository.claimDue(now, 5, 10, now.plusMinutes(1))).join();
+                assertEquals(2, mine.size());
+                assertTrue(mine.stream().noneMatch(event -> claimed.stream()
+                        .anyMatch(taken -> taken.getId().equals(event.getId()))));
+                return claimed;
+            });
+
+            // Then every row was claimed once, with the attempt counted
+            assertEquals(2, other.size());
+            assertEquals(List.of(), outboxRepository.claimDue(now, 5, 10, now.plusMinutes(1)));
+            assertEquals(4, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM event_outbox WHERE attempts = 1 AND version = 1", Integer.class));
+        }
+
+        @Test
+        void testConditionalWrites_OnlyApplyAtClaimedVersion() {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> claimed = outboxRepository.claimDue(now, 5, 2, now.plusMinutes(1));
+            jdbcTemplate.update("UPDATE event_outbox SET version = version + 1 WHERE id = ?", claimed.get(1).getId());
+
+            assertEquals(1, outboxRepository.deleteUnchanged(claimed));
+            assertEquals(0, outboxRepository.rescheduleUnchanged(claimed));
+            assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Integer.class));
+        }
+    }
@@ -0,0 +1,234 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.enums.TaskField;
+import com.snehit.springboottaskapi.enums.TaskSortField;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN, with the same parameters, on every SELECT a repository query sends, and fails when
+ * H2 plans a full scan of a table or picks another index than the one migrated for that shape.
+ *
+ * <p>Full scans by design are left out: exports, which stream the whole table in id order; title
+ * substring filters, which the search index answers when it can; and listings that include the
+ * archive, which is meant to be read rarely.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.reminders.enabled=false",
+        "task.archive.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskQueryPlanTest {
+
+        private static final Sort NEWEST_FIRST =
+                Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+
+        /** Plans of the SELECTs prepared on the test thread while it is recording */
+        private static final List<String> plans = new CopyOnWriteArrayList<>();
+
+        private static volatile Thread recordingThread;
+
+        @Autowired
+        private ITaskRepository taskRepository;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @BeforeAll
+        void seed() {
+            // enough rows that the planner prefers an index over reading everything
+            BenchmarkData.seedTasks(jdbcTemplate, 20_000);
+            jdbcTemplate.execute("ANALYZE");
+        }
+
+        @AfterEach
+        void tearDown() {
+            recordingThread = null;
+        }
+
+        @Test
+        void testStatusFilter_AnySortField_UsesStatusIndex() {
+            List<String> byCreatedAt = record(() -> taskRepository.findTaskSliceWithFilters(
+                    TaskStatus.TODO, null, PageRequest.of(0, 10, NEWEST_FIRST)));
+            List<String> byDueDate = record(() -> taskRepository.findTaskSliceWithFilters(
+                    TaskStatus.TODO, null, PageRequest.of(0, 10, Sort.by("dueDate", "id"))));
+
+            assertUses("IDX_TASKS_STATUS_CREATED_AT_ID", byCreatedAt);
+            assertUses("IDX_TASKS_STATUS_CREATED_AT_ID", byDueDate);
+        }
+
+        @Test
+        void testNoFilter_EverySortField_ReadsItsIndex() {
+            assertUses("IDX_TASKS_CREATED_AT_ID", record(() -> taskRepository.findTaskSliceWithFilters(
+                    null, null, PageRequest.of(0, 10, NEWEST_FIRST))));
+            assertUses("IDX_TASKS_DUE_DATE_ID", record(() -> taskRepository.findTaskSliceWithFilters(
+                    null, null, PageRequest.of(0, 10, Sort.by("dueDate", "id")))));
+            assertUses("PRIMARY_KEY", record(() -> taskRepository.findTaskSliceWithFilters(
+                    null, null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")))));
+        }
+
+        @Test
+        void testPageWithCount_BothQueriesUseStatusIndex() {
+            List<String> page = record(() -> taskRepository.findTasksWithFilters(
+                    TaskStatus.IN_PROGRESS, null, PageRequest.of(0, 10, NEWEST_FIRST)));
+            List<String> byStatus = record(() -> taskRepository.findByStatus(
+                    TaskStatus.IN_PROGRESS, PageRequest.of(0, 10, NEWEST_FIRST)));
+
+            assertEquals(2, page.size(), "page and count");
+            assertUses("IDX_TASKS_STATUS_CREATED_AT_ID", page);
+            assertUses("IDX_TASKS_STATUS_CREATED_AT_ID", byStatus);
+        }
+
+        @Test
+        void testViewsAndCursor_UseTheSameIndexesAsEntityQueries() {
+            List<String> views = record(() -> taskRepository.findViews(
+                    TaskField.SUMMARY, TaskStatus.TODO, null, null, PageRequest.of(0, 10, NEWEST_FIRST)));
+            List<String> cursor = record(() -> taskService.getTasksAfter(
+                    TaskStatus.TODO, null, null, 10, TaskSortField.DUE_DATE, Sort.Direction.ASC));
+
+            assertUses("IDX_TASKS_STATUS_CREATED_AT_ID", views);
+            assertUses("IDX_TASKS_STATUS_CREATED_AT_ID", cursor);
+        }
+
+        @Test
+        void testLookupsAndBackgroundQueries_AreIndexed() {
+            assertUses("IDX_TASKS_DUE_DATE_ID", record(() -> taskRepository.findOpenDueAfter(
+                    LocalDateTime.now(), 0, LocalDateTime.now().plusHours(1), PageRequest.of(0, 100))));
+            assertUses("IDX_TASKS_STATUS_CREATED_AT_ID", record(() -> taskRepository.countGroupedByStatus()));
+            // the rows claimDue picks; H2 does not explain the statement inside a FINAL TABLE
+            assertUses("IDX_EVENT_OUTBOX_NEXT_ATTEMPT_AT_ID", record(() -> jdbcTemplate.queryForList(
+                    "SELECT id FROM event_outbox WHERE next_attempt_at <= ? AND attempts < ? ORDER BY id LIMIT ? "
+                            + "FOR UPDATE SKIP LOCKED", Long.class, LocalDateTime.now(), 10, 100)));
+        }
+
+        /** Plans of the SELECTs the action sent */
+        private static List<String> record(Runnable action) {
+            plans.clear();
+            recordingThread = Thread.currentThread();
+            try {
+                action.run();
+            } finally {
+                recordingThread = null;
+            }
+            assertFalse(plans.isEmpty(), "no query recorded");
+            return List.copyOf(plans);
+        }
+
+        private static void assertUses(String index, List<String> plans) {
+            for (String plan : plans) {
+                assertFalse(plan.contains(".tableScan"), () -> "full scan:\n" + plan);
+                assertTrue(plan.contains(index), () -> "expected " + index + ":\n" + plan);
+            }
+        }
+
+        @TestConfiguration
+        static class PlanRecordingConfig {
+
+            @Bean
+            static BeanPostProcessor planRecordingDataSource() {
+                return new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource ? new PlanRecordingDataSource(dataSource) : bean;
+                    }
+                };
+            }
+        }
+
+        static class PlanRecordingDataSource extends DelegatingDataSource {
+
+            PlanRecordingDataSource(DataSource target) {
+                super(target);
+            }
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return recording(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return recording(super.getConnection(username, password));
+            }
+
+            private static Connection recording(Connection connection) {
+                return proxy(Connection.class, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement") && Thread.currentThread() == recordingThread
+                            && ((String) args[0]).stripLeading().toLowerCase().startsWith("select")) {
+                        return explaining(connection, (String) args[0], (PreparedStatement) result);
+                    }
+                    return result;
+                });
+            }
+
+            /** Remembers the parameters set, and explains the statement with them before it runs */
+            private static PreparedStatement explaining(Connection connection, String sql, PreparedStatement statement) {
+                List<Object[]> setters = new ArrayList<>();
+                return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length > 1) {
+                        setters.add(new Object[]{method, args});
+                    } else if (method.getName().equals("executeQuery")) {
+                        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                            for (Object[] setter : setters) {
+                                invoke(explain, (Method) setter[0], (Object[]) setter[1]);
+                            }
+                            try (ResultSet plan = explain.executeQuery()) {
+                                plan.next();
+                                plans.add(plan.getString(1));
+                            }
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+            }
+
+            @SuppressWarnings("unchecked")
+            private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+                return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+            }
+
+            private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
@@ -0,0 +1,81 @@
+package com.snehit.springboottaskapi.repository;
+
+import com.snehit.springboottaskapi.PostgresTest;
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.exception.TaskNotFoundException;
+import com.snehit.springboottaskapi.exception.TaskVersionMismatchException;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PATCH and DELETE go through TaskSingleStatementWrites, whose statements differ per database.
+ */
+@PostgresTest
+class TaskSingleStatementWritesPostgresTest {
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private Task task;
+
+        @BeforeEach
+        void setUp() {
+            Task newTask = new Task();
+            newTask.setTitle("Postgres Task");
+            newTask.setDescription("Written with RETURNING");
+            newTask.setStatus(TaskStatus.TODO);
+            newTask.setDueDate(LocalDateTime.now().plusDays(1));
+            task = taskService.createTask(newTask);
+        }
+
+        @Test
+        void testPatch_AppliesGivenFieldsAndReturnsNewState() {
+            // Given
+            TaskPatch patch = new TaskPatch();
+            patch.setStatus(TaskStatus.COMPLETED);
+
+            // When
+            Task patchedTask = taskService.patchTask(task.getId(), patch, 0L);
+
+            // Then
+            assertEquals(TaskStatus.COMPLETED, patchedTask.getStatus());
+            assertEquals("Postgres Task", patchedTask.getTitle());
+            assertEquals(1L, patchedTask.getVersion());
+            assertEquals("COMPLETED", jdbcTemplate.queryForObject(
+                    "SELECT status FROM tasks WHERE id = ?", String.class, task.getId()));
+            assertEquals("Written with RETURNING", jdbcTemplate.queryForObject(
+                    "SELECT description FROM tasks WHERE id = ?", String.class, task.getId()));
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM event_outbox WHERE task_id = ?", Integer.class, task.getId()));
+        }
+
+        @Test
+        void testPatch_StaleVersion_ChangesNothing() {
+            TaskPatch patch = new TaskPatch();
+            patch.setTitle("Stale");
+
+            assertThrows(TaskVersionMismatchException.class, () -> taskService.patchTask(task.getId(), patch, 5L));
+            assertEquals("Postgres Task", taskService.getTaskById(task.getId()).getTitle());
+        }
+
+        @Test
+        void testDelete_RemovesTaskAtExpectedVersion() {
+            assertThrows(TaskVersionMismatchException.class, () -> taskService.deleteTask(task.getId(), 5L));
+
+            taskService.deleteTask(task.getId(), 0L);
+
+            assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(task.getId()));
+        }
+    }
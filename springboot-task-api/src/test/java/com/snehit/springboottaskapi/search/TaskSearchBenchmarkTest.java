@@ -0,0 +1,89 @@
+package com.snehit.springboottaskapi.search;
+
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import com.snehit.springboottaskapi.service.ITaskService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the SQL {@code LIKE '%x%'} title filter with the trigram index, for the title filter of
+ * {@code GET /api/v1/tasks} and for ranked {@code GET /api/v1/tasks/search}.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test -Dtest=TaskSearchBenchmarkTest [-Dbenchmark.rows=N]};
+ * the numbers in the commit history were taken at 100k and 1M rows.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search-bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskSearchBenchmarkTest {
+
+        private static final Pageable PAGE =
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private ITaskRepository taskRepository;
+
+        @Autowired
+        private TaskSearchIndex searchIndex;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private int rows;
+
+        @BeforeAll
+        void seed() {
+            rows = BenchmarkData.rows(1_000_000);
+            BenchmarkData.seedTasks(jdbcTemplate, rows);
+            long start = System.nanoTime();
+            searchIndex.rebuild();
+            System.out.printf("%nIndex build over %,d rows: %d ms%n", rows, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        @Test
+        void likeVersusIndex() {
+            System.out.printf("Title filter over %,d rows (median ms)%n", rows);
+            System.out.printf("%-22s %-12s %10s %10s %10s%n", "query", "status", "matches", "like", "index");
+            for (String query : new String[]{"kubernetes lambda 12", "9999", "invoice", "zzz"}) {
+                for (TaskStatus status : new TaskStatus[]{null, TaskStatus.COMPLETED}) {
+                    Page<Task> like = taskRepository.findTasksWithFilters(status, query, PAGE);
+                    Page<Task> indexed = taskService.getAllTasks(status, query, PAGE);
+                    assertEquals(like.getTotalElements(), indexed.getTotalElements());
+
+                    double likeMs = BenchmarkData.medianMillis(
+                            () -> taskRepository.findTasksWithFilters(status, query, PAGE), 9);
+                    double indexMs = BenchmarkData.medianMillis(
+                            () -> taskService.getAllTasks(status, query, PAGE), 9);
+                    System.out.printf("%-22s %-12s %10d %10.2f %10.2f%n",
+                            query, status, like.getTotalElements(), likeMs, indexMs);
+                }
+            }
+
+            System.out.printf("%nRanked search over %,d rows (median ms)%n", rows);
+            for (String query : new String[]{"kubernetes lambda 12", "dep", "task 4242"}) {
+                double searchMs = BenchmarkData.medianMillis(
+                        () -> taskService.searchTasks(query, null, PageRequest.of(0, 20)), 9);
+                System.out.printf("%-22s %10.2f%n", query, searchMs);
+            }
+        }
+    }
@@ -0,0 +1,96 @@
+package com.snehit.springboottaskapi.search;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+        @Mock
+        private ITaskRepository taskRepository;
+
+        private TaskSearchIndex searchIndex;
+
+        @BeforeEach
+        @SuppressWarnings("unchecked")
+        void setUp() {
+            Task existing = task(1L, "Deploy to Production", "Roll out the release", TaskStatus.TODO);
+            when(taskRepository.findBy(any(Specification.class), any(Function.class)))
+                    .thenReturn(Window.from(List.of(existing), index -> ScrollPosition.offset(index)));
+            searchIndex = new TaskSearchIndex(taskRepository, new SyncTaskExecutor(), true);
+            searchIndex.initialize();
+            searchIndex.put(task(2L, "Review deployment notes", null, TaskStatus.IN_PROGRESS));
+            searchIndex.put(task(3L, "Write docs", "Explain how to deploy", TaskStatus.COMPLETED));
+        }
+
+        @Test
+        void testSearch_RanksTitlePrefixAboveDescriptionMatch() {
+            // When
+            TaskSearchIndex.SearchResult result = searchIndex.search("deploy", null, 0, 10).orElseThrow();
+
+            // Then
+            assertEquals(3, result.total());
+            assertEquals(List.of(1L, 2L, 3L), result.ids());
+        }
+
+        @Test
+        void testSearch_TwoCharacterQueryMatchesWordPrefixes() {
+            // When
+            TaskSearchIndex.SearchResult result = searchIndex.search("wr", null, 0, 10).orElseThrow();
+
+            // Then
+            assertEquals(List.of(3L), result.ids());
+        }
+
+        @Test
+        void testSearch_FiltersByStatus() {
+            // When
+            TaskSearchIndex.SearchResult result =
+                    searchIndex.search("deploy", TaskStatus.IN_PROGRESS, 0, 10).orElseThrow();
+
+            // Then
+            assertEquals(List.of(2L), result.ids());
+        }
+
+        @Test
+        void testOnTaskChanged_ReindexesUpdatesAndDeletes() {
+            // When
+            Task renamed = task(2L, "Review budget", null, TaskStatus.IN_PROGRESS);
+            renamed.setUpdatedAt(LocalDateTime.now().plusSeconds(1));
+            searchIndex.onTaskChanged(TaskChangedEvent.updated(TaskStatus.IN_PROGRESS, renamed));
+            searchIndex.onTaskChanged(TaskChangedEvent.deleted(1L, TaskStatus.TODO));
+
+            // Then
+            assertEquals(List.of(3L), searchIndex.search("deploy", null, 0, 10).orElseThrow().ids());
+            assertEquals(List.of(2L), searchIndex.search("budget", null, 0, 10).orElseThrow().ids());
+        }
+
+        private Task task(Long id, String title, String description, TaskStatus status) {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle(title);
+            task.setDescription(description);
+            task.setStatus(status);
+            task.setUpdatedAt(LocalDateTime.now());
+            return task;
+        }
+    }
@@ -0,0 +1,203 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.dto.BulkResult;
+import com.snehit.springboottaskapi.entity.OutboxEvent;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TaskEventOutbox;
+import com.snehit.springboottaskapi.event.TasksChangedEvent;
+import com.snehit.springboottaskapi.repository.IOutboxEventRepository;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import com.snehit.springboottaskapi.stats.TaskStatusCounters;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.reminders.enabled=false"
+})
+@RecordApplicationEvents
+class TaskBulkServiceTest {
+
+        @Autowired
+        private ITaskBulkService taskBulkService;
+
+        @Autowired
+        private ITaskRepository taskRepository;
+
+        @Autowired
+        private IOutboxEventRepository outboxRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Autowired
+        private TaskStatusCounters statusCounters;
+
+        @Autowired
+        private ApplicationEvents applicationEvents;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+            outboxRepository.deleteAll();
+            statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+        }
+
+        @Test
+        void testCreateTasks_PersistsValidItemsInBatches() {
+            // Given
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                tasks.add(task("Bulk task " + i, i % 2 == 0 ? TaskStatus.COMPLETED : TaskStatus.TODO));
+            }
+            tasks.add(task(" ", TaskStatus.TODO));
+
+            // When
+            BulkResult result = taskBulkService.createTasks(tasks);
+
+            // Then
+            assertEquals(200, result.getSucceeded());
+            assertEquals(1, result.getFailed());
+            assertEquals(201, result.getItems().get(0).getStatus());
+            assertNotNull(result.getItems().get(0).getId());
+            assertEquals(400, result.getItems().get(200).getStatus());
+            assertEquals(200, statistics.getEntityStatistics(Task.class.getName()).getInsertCount());
+            assertTrue(statistics.getPrepareStatementCount() < 20,
+                    "inserts were not batched: " + statistics.getPrepareStatementCount() + " statements");
+
+            List<OutboxEvent> events = outboxRepository.findAll();
+            assertEquals(1, events.size());
+            assertEquals(TaskEventOutbox.TASKS_COMPLETED, events.get(0).getDetailType());
+            assertTrue(events.get(0).getDetail().contains("\"count\":100"));
+        }
+
+        @Test
+        void testCreateTasks_PublishesOneChangeEventPerChunk() {
+            // Given
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i <= TaskBulkService.CHUNK_SIZE; i++) {
+                tasks.add(task("Chunked task " + i, TaskStatus.IN_PROGRESS));
+            }
+            long inProgressBefore = statusCounters.count(TaskStatus.IN_PROGRESS);
+
+            // When
+            taskBulkService.createTasks(tasks);
+
+            // Then
+            List<TasksChangedEvent> events = applicationEvents.stream(TasksChangedEvent.class).toList();
+            assertEquals(List.of(TaskBulkService.CHUNK_SIZE, 1),
+                    events.stream().map(event -> event.changes().size()).toList());
+            assertEquals(0, applicationEvents.stream(TaskChangedEvent.class).count());
+            assertEquals(inProgressBefore + tasks.size(), statusCounters.count(TaskStatus.IN_PROGRESS));
+        }
+
+        @Test
+        void testUpdateTasks_ReportsMissingAndDuplicateIds() {
+            // Given
+            BulkResult created = taskBulkService.createTasks(List.of(
+                    task("First", TaskStatus.TODO), task("Second", TaskStatus.TODO)));
+            Long firstId = created.getItems().get(0).getId();
+            Long secondId = created.getItems().get(1).getId();
+
+            Task first = task("First renamed", TaskStatus.COMPLETED);
+            first.setId(firstId);
+            Task duplicate = task("First again", TaskStatus.TODO);
+            duplicate.setId(firstId);
+            Task missing = task("Missing", TaskStatus.TODO);
+            missing.setId(-1L);
+            Task invalid = task("Second renamed", TaskStatus.TODO);
+            invalid.setId(secondId);
+            invalid.setDueDate(LocalDateTime.now().minusDays(1));
+
+            // When
+            BulkResult result = taskBulkService.updateTasks(List.of(first, duplicate, missing, invalid));
+
+            // Then
+            assertEquals(1, result.getSucceeded());
+            assertEquals(List.of(200, 400, 404, 400),
+                    result.getItems().stream().map(item -> item.getStatus()).toList());
+            assertEquals("First renamed", taskRepository.findById(firstId).orElseThrow().getTitle());
+            assertEquals("Second", taskRepository.findById(secondId).orElseThrow().getTitle());
+        }
+
+        @Test
+        void testUpdateTasks_EnqueuesOneStatusChangePerChangedTask() {
+            // Given
+            BulkResult created = taskBulkService.createTasks(List.of(
+                    task("Started", TaskStatus.TODO), task("Finished", TaskStatus.TODO),
+                    task("Renamed", TaskStatus.TODO)));
+            List<Long> ids = created.getItems().stream().map(item -> item.getId()).toList();
+            Task started = task("Started", TaskStatus.IN_PROGRESS);
+            started.setId(ids.get(0));
+            Task finished = task("Finished", TaskStatus.COMPLETED);
+            finished.setId(ids.get(1));
+            Task renamed = task("Renamed again", TaskStatus.TODO);
+            renamed.setId(ids.get(2));
+
+            // When
+            taskBulkService.updateTasks(List.of(started, finished, renamed));
+
+            // Then
+            List<OutboxEvent> events = outboxRepository.findAll();
+            assertEquals(2, events.size());
+            OutboxEvent startedEvent = events.stream()
+                    .filter(event -> ids.get(0).equals(event.getTaskId())).findFirst().orElseThrow();
+            assertEquals(TaskEventOutbox.TASK_STATUS_CHANGED, startedEvent.getDetailType());
+            assertTrue(startedEvent.getDetail().contains("\"previousStatus\":\"TODO\""));
+            assertTrue(startedEvent.getDetail().contains("\"sequence\":1"));
+            OutboxEvent finishedEvent = events.stream()
+                    .filter(event -> ids.get(1).equals(event.getTaskId())).findFirst().orElseThrow();
+            assertEquals(TaskEventOutbox.TASK_COMPLETED, finishedEvent.getDetailType());
+        }
+
+        @Test
+        void testDeleteTasks_DeletesExistingIds() {
+            // Given
+            BulkResult created = taskBulkService.createTasks(List.of(
+                    task("Delete me", TaskStatus.TODO), task("Delete me too", TaskStatus.IN_PROGRESS)));
+            Long firstId = created.getItems().get(0).getId();
+            Long secondId = created.getItems().get(1).getId();
+
+            // When
+            BulkResult result = taskBulkService.deleteTasks(List.of(firstId, secondId, -1L));
+
+            // Then
+            assertEquals(2, result.getSucceeded());
+            assertEquals(404, result.getItems().get(2).getStatus());
+            assertFalse(taskRepository.existsById(firstId));
+            assertFalse(taskRepository.existsById(secondId));
+        }
+
+        @Test
+        void testCreateTasks_EmptyBatch_ThrowsException() {
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> taskBulkService.createTasks(List.of()));
+        }
+
+        private Task task(String title, TaskStatus status) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setStatus(status);
+            task.setDueDate(LocalDateTime.now().plusDays(3));
+            return task;
+        }
+    }
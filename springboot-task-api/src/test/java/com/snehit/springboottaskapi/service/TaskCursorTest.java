@@ -0,0 +1,39 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.enums.TaskSortField;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCursorTest {
+
+        @Test
+        void testEncodeDecode_RoundTrip() {
+            // Given
+            LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30, 0, 123_000_000);
+            TaskCursor cursor = new TaskCursor(TaskSortField.CREATED_AT, Sort.Direction.DESC, createdAt, 42L);
+
+            // When
+            TaskCursor decoded = TaskCursor.decode(cursor.encode());
+
+            // Then
+            assertEquals(cursor, decoded);
+            KeysetScrollPosition position = (KeysetScrollPosition) decoded.toScrollPosition();
+            assertEquals(createdAt, position.getKeys().get("createdAt"));
+            assertEquals(42L, position.getKeys().get("id"));
+        }
+
+        @Test
+        void testDecode_Garbage_ThrowsException() {
+            // When & Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> TaskCursor.decode("not-a-cursor")
+            );
+            assertEquals("Invalid cursor", exception.getMessage());
+        }
+    }
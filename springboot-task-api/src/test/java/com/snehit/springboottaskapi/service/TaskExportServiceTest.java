@@ -0,0 +1,135 @@
+package com.snehit.springboottaskapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.ExportFormat;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false"
+})
+class TaskExportServiceTest {
+
+        private static final int LARGE_EXPORT_ROWS = 100_000;
+
+        @Autowired
+        private ITaskExportService taskExportService;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Test
+        void testExportTasks_Csv_QuotesSpecialCharacters() throws Exception {
+            // Given
+            createTask("Export \"quoted\", with comma", TaskStatus.IN_PROGRESS);
+            createTask("Export plain", TaskStatus.TODO);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            long rows = taskExportService.exportTasks(TaskStatus.IN_PROGRESS, "export", ExportFormat.CSV, out);
+
+            // Then
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+            assertEquals(1, rows);
+            assertEquals("id,title,description,status,dueDate,createdAt,updatedAt", lines[0]);
+            assertTrue(lines[1].contains(",\"Export \"\"quoted\"\", with comma\",,IN_PROGRESS,"));
+        }
+
+        @Test
+        void testExportTasks_Ndjson_WritesOneObjectPerLine() throws Exception {
+            // Given
+            createTask("Ndjson first", TaskStatus.TODO);
+            createTask("Ndjson second", TaskStatus.TODO);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            long rows = taskExportService.exportTasks(null, "ndjson", ExportFormat.NDJSON, out);
+
+            // Then
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(2, rows);
+            assertEquals(2, lines.length);
+            JsonNode first = objectMapper.readTree(lines[0]);
+            assertEquals("Ndjson first", first.get("title").asText());
+            assertEquals("TODO", first.get("status").asText());
+        }
+
+        @Test
+        void testExportTasks_LargeExport_KeepsHeapFlat() throws Exception {
+            // Given
+            BenchmarkData.seedTasks(jdbcTemplate, LARGE_EXPORT_ROWS);
+            HeapSamplingOutputStream out = new HeapSamplingOutputStream(1024 * 1024);
+
+            // When
+            long rows = taskExportService.exportTasks(null, null, ExportFormat.NDJSON, out);
+
+            // Then
+            assertTrue(rows >= LARGE_EXPORT_ROWS);
+            assertTrue(out.samples.size() > 5, "export too small to sample: " + out.bytes + " bytes");
+            long growth = out.samples.stream().mapToLong(Long::longValue).max().orElseThrow() - out.samples.get(0);
+            assertTrue(growth < 16L * 1024 * 1024,
+                    "heap grew by " + growth / (1024 * 1024) + " MB while exporting " + rows + " rows");
+        }
+
+        private void createTask(String title, TaskStatus status) {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setStatus(status);
+            task.setDueDate(LocalDateTime.now().plusDays(2));
+            taskService.createTask(task);
+        }
+
+        /** Discards output, recording used heap after a GC every {@code interval} bytes */
+        private static class HeapSamplingOutputStream extends OutputStream {
+
+            private final long interval;
+
+            private final List<Long> samples = new ArrayList<>();
+
+            private long bytes;
+
+            private long nextSample;
+
+            HeapSamplingOutputStream(long interval) {
+                this.interval = interval;
+            }
+
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes += len;
+                if (bytes >= nextSample) {
+                    nextSample = bytes + interval;
+                    System.gc();
+                    Runtime runtime = Runtime.getRuntime();
+                    samples.add(runtime.totalMemory() - runtime.freeMemory());
+                }
+            }
+        }
+    }
@@ -0,0 +1,125 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.dto.ImportResult;
+import com.snehit.springboottaskapi.enums.ExportFormat;
+import com.snehit.springboottaskapi.exception.ImportJobNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false"
+})
+class TaskImportServiceTest {
+
+        private static final String DUE = LocalDateTime.now().plusDays(10).withNano(0).toString();
+
+        @Autowired
+        private ITaskImportService taskImportService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void testImportTasks_Ndjson_ReportsRejectedRows() throws Exception {
+            // Given
+            String input = "{\"title\":\"Ndjson import one\",\"status\":\"TODO\",\"dueDate\":\"" + DUE + "\"}\n"
+                    + "{not json}\n"
+                    + "\n"
+                    + "{\"title\":\"\",\"status\":\"TODO\",\"dueDate\":\"" + DUE + "\"}\n"
+                    + "{\"title\":\"Ndjson import two\",\"status\":\"COMPLETED\",\"dueDate\":\"" + DUE + "\"}\n";
+
+            // When
+            ImportResult result = taskImportService.importTasks(stream(input), ExportFormat.NDJSON, "ndjson-job");
+
+            // Then
+            assertTrue(result.isCompleted());
+            assertEquals(4, result.getRowsRead());
+            assertEquals(2, result.getImported());
+            assertEquals(2, result.getRejected());
+            assertTrue(result.getErrors().get(0).startsWith("row 2: Malformed JSON"));
+            assertTrue(result.getErrors().get(1).startsWith("row 3: title:"));
+            assertEquals(2, countTitles("Ndjson import%"));
+        }
+
+        @Test
+        void testImportTasks_Csv_ParsesQuotedFields() throws Exception {
+            // Given
+            String input = "title,description,status,dueDate\r\n"
+                    + "\"Csv import, quoted\",\"line one\nline \"\"two\"\"\",IN_PROGRESS," + DUE + "\r\n"
+                    + "Csv import plain,,TODO," + DUE + "\r\n"
+                    + "Csv import bad status,,DONE," + DUE + "\r\n";
+
+            // When
+            ImportResult result = taskImportService.importTasks(stream(input), ExportFormat.CSV, null);
+
+            // Then
+            assertEquals(2, result.getImported());
+            assertEquals(1, result.getRejected());
+            assertEquals("row 3: Invalid status: DONE", result.getErrors().get(0));
+            assertEquals("line one\nline \"two\"", jdbcTemplate.queryForObject(
+                    "SELECT description FROM tasks WHERE title = 'Csv import, quoted'", String.class));
+        }
+
+        @Test
+        void testImportTasks_ResumesFromCheckpointAfterFailure() throws Exception {
+            // Given
+            int rows = 2_500;
+            StringBuilder input = new StringBuilder();
+            for (int i = 0; i < rows; i++) {
+                input.append("{\"title\":\"Resume import ").append(i)
+                        .append("\",\"status\":\"TODO\",\"dueDate\":\"").append(DUE).append("\"}\n");
+            }
+            byte[] bytes = input.toString().getBytes(StandardCharsets.UTF_8);
+
+            // When: the first attempt fails part way through the third chunk
+            InputStream failing = new FilterInputStream(new ByteArrayInputStream(bytes, 0, bytes.length * 9 / 10)) {
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int read = super.read(b, off, len);
+                    if (read == -1) {
+                        throw new IOException("connection reset");
+                    }
+                    return read;
+                }
+            };
+            assertThrows(IOException.class,
+                    () -> taskImportService.importTasks(failing, ExportFormat.NDJSON, "resume-job"));
+            ImportResult progress = taskImportService.getImportProgress("resume-job");
+            ImportResult result = taskImportService.importTasks(
+                    new ByteArrayInputStream(bytes), ExportFormat.NDJSON, "resume-job");
+
+            // Then
+            assertEquals(2_000, progress.getRowsRead());
+            assertFalse(progress.isCompleted());
+            assertEquals(2_000, result.getResumedFrom());
+            assertEquals(rows, result.getImported());
+            assertTrue(result.isCompleted());
+            assertEquals(rows, countTitles("Resume import%"));
+        }
+
+        @Test
+        void testGetImportProgress_UnknownJob_ThrowsException() {
+            // When & Then
+            assertThrows(ImportJobNotFoundException.class, () -> taskImportService.getImportProgress("missing"));
+        }
+
+        private int countTitles(String pattern) {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE title LIKE ?", Integer.class, pattern);
+        }
+
+        private static InputStream stream(String input) {
+            return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+        }
+    }
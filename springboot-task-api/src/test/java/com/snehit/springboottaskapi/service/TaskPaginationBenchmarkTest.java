@@ -0,0 +1,91 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.benchmark.BenchmarkData;
+import com.snehit.springboottaskapi.dto.CursorPage;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskSortField;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares offset paging ({@code GET /api/v1/tasks}) with keyset paging
+ * ({@code GET /api/v1/tasks/cursor}) at increasing page depths.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test -Dtest=TaskPaginationBenchmarkTest [-Dbenchmark.rows=N]}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pagination-bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskPaginationBenchmarkTest {
+
+        private static final int PAGE_SIZE = 50;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private int rows;
+
+        @BeforeAll
+        void seed() {
+            rows = BenchmarkData.rows(1_000_000);
+            BenchmarkData.seedTasks(jdbcTemplate, rows);
+        }
+
+        @Test
+        void offsetVersusKeyset() {
+            Sort sort = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+            int lastPage = rows / PAGE_SIZE - 1;
+
+            System.out.printf("%nPagination over %,d rows (page size %d, median ms)%n", rows, PAGE_SIZE);
+            System.out.printf("%-12s %12s %12s%n", "page", "offset", "keyset");
+            for (int page : new int[]{0, 10, 1_000, lastPage / 2, lastPage}) {
+                PageRequest pageRequest = PageRequest.of(page, PAGE_SIZE, sort);
+                String cursor = cursorBefore(page * PAGE_SIZE);
+
+                Page<Task> offsetPage = taskService.getAllTasks(null, null, pageRequest);
+                CursorPage<Task> keysetPage = taskService.getTasksAfter(
+                        null, null, cursor, PAGE_SIZE, TaskSortField.CREATED_AT, Sort.Direction.DESC);
+                assertEquals(offsetPage.getContent().stream().map(Task::getId).toList(),
+                        keysetPage.getContent().stream().map(Task::getId).toList());
+
+                double offsetMs = BenchmarkData.medianMillis(
+                        () -> taskService.getAllTasks(null, null, pageRequest), 15);
+                double keysetMs = BenchmarkData.medianMillis(
+                        () -> taskService.getTasksAfter(null, null, cursor, PAGE_SIZE,
+                                TaskSortField.CREATED_AT, Sort.Direction.DESC), 15);
+                System.out.printf("%-12d %12.2f %12.2f%n", page, offsetMs, keysetMs);
+            }
+        }
+
+        /** Cursor for the row just before {@code offset} in (created_at, id) descending order */
+        private String cursorBefore(int offset) {
+            if (offset == 0) {
+                return null;
+            }
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT id, created_at FROM tasks ORDER BY created_at DESC, id DESC " +
+                            "OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY", offset - 1);
+            LocalDateTime createdAt = ((java.sql.Timestamp) row.get("CREATED_AT")).toLocalDateTime();
+            long id = ((Number) row.get("ID")).longValue();
+            return new TaskCursor(TaskSortField.CREATED_AT, Sort.Direction.DESC, createdAt, id).encode();
+        }
+    }
@@ -1,20 +1,30 @@
 package com.snehit.springboottaskapi.service;
 
 
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.entity.ArchivedTask;
 import com.snehit.springboottaskapi.entity.Task;
 import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.event.TaskEventOutbox;
 import com.snehit.springboottaskapi.exception.TaskNotFoundException;
+import com.snehit.springboottaskapi.exception.TaskVersionMismatchException;
+import com.snehit.springboottaskapi.repository.IArchivedTaskRepository;
 import com.snehit.springboottaskapi.repository.ITaskRepository;
+import com.snehit.springboottaskapi.search.TaskSearchIndex;
+import com.snehit.springboottaskapi.stats.TaskStatusCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -30,6 +40,21 @@ class TaskServiceTest {
         @Mock
         private ITaskRepository taskRepository;
 
+        @Mock
+        private TaskEventOutbox eventOutbox;
+
+        @Mock
+        private TaskStatusCounters statusCounters;
+
+        @Mock
+        private ApplicationEventPublisher eventPublisher;
+
+        @Mock
+        private TaskSearchIndex searchIndex;
+
+        @Mock
+        private IArchivedTaskRepository archivedTaskRepository;
+
         @InjectMocks
         private TaskService taskService;
 
@@ -45,6 +70,7 @@ class TaskServiceTest {
             sampleTask.setDueDate(LocalDateTime.now().plusDays(7));
             sampleTask.setCreatedAt(LocalDateTime.now());
             sampleTask.setUpdatedAt(LocalDateTime.now());
+            sampleTask.setVersion(0L);
         }
 
         @Test
@@ -65,6 +91,25 @@ class TaskServiceTest {
             assertNotNull(createdTask);
             assertEquals(sampleTask.getTitle(), createdTask.getTitle());
             verify(taskRepository, times(1)).save(any(Task.class));
+            verify(eventOutbox, never()).enqueueStatusChange(any(Task.class), any(), anyLong());
+        }
+
+        @Test
+        void testUpdateTask_Completed_EnqueuesEvent() {
+            // Given
+            Task updateDetails = new Task();
+            updateDetails.setTitle("Updated Task");
+            updateDetails.setStatus(TaskStatus.COMPLETED);
+            updateDetails.setDueDate(LocalDateTime.now().plusDays(10));
+
+            when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTask));
+            when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            taskService.updateTask(1L, updateDetails);
+
+            // Then
+            verify(eventOutbox, times(1)).enqueueStatusChange(sampleTask, TaskStatus.TODO, 1L);
         }
 
         @Test
@@ -128,6 +173,28 @@ class TaskServiceTest {
             );
             assertEquals("Task not found with id: 1", exception.getMessage());
             verify(taskRepository, times(1)).findById(1L);
+            verify(archivedTaskRepository, times(1)).findById(1L);
+        }
+
+        @Test
+        void testGetTaskById_Archived_ReturnsArchivedTask() {
+            // Given
+            ArchivedTask archived = new ArchivedTask();
+            archived.setId(1L);
+            archived.setTitle("Archived Task");
+            archived.setStatus(TaskStatus.COMPLETED);
+            archived.setVersion(3L);
+            when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+            when(archivedTaskRepository.findById(1L)).thenReturn(Optional.of(archived));
+
+            // When
+            Task foundTask = taskService.getTaskById(1L);
+
+            // Then
+            assertEquals(1L, foundTask.getId());
+            assertEquals("Archived Task", foundTask.getTitle());
+            assertEquals(TaskStatus.COMPLETED, foundTask.getStatus());
+            assertEquals(3L, foundTask.getVersion());
         }
 
         @Test
@@ -140,13 +207,32 @@ class TaskServiceTest {
                     .thenReturn(taskPage);
 
             // When
-            Page<Task> result = taskService.getAllTasks(null, null, pageable);
+            Page<Task> result = taskService.getAllTasks(null, "Sample", pageable);
 
             // Then
             assertNotNull(result);
             assertEquals(1, result.getTotalElements());
             assertEquals(sampleTask.getTitle(), result.getContent().get(0).getTitle());
             verify(taskRepository, times(1)).findTasksWithFilters(any(), any(), any(Pageable.class));
+            // the search index is local to this instance, so filters always go to the database
+            verifyNoInteractions(searchIndex);
+        }
+
+        @Test
+        void testGetAllTasks_WithoutTitle_UsesCounters() {
+            // Given
+            Pageable pageable = PageRequest.of(0, 1);
+            when(taskRepository.findTaskSliceWithFilters(eq(TaskStatus.TODO), isNull(), eq(pageable)))
+                    .thenReturn(new SliceImpl<>(Arrays.asList(sampleTask), pageable, true));
+            when(statusCounters.count(TaskStatus.TODO)).thenReturn(42L);
+
+            // When
+            Page<Task> result = taskService.getAllTasks(TaskStatus.TODO, null, pageable);
+
+            // Then
+            assertEquals(42, result.getTotalElements());
+            assertEquals(42, result.getTotalPages());
+            verify(taskRepository, never()).findTasksWithFilters(any(), any(), any(Pageable.class));
         }
 
         @Test
@@ -189,22 +275,89 @@ class TaskServiceTest {
         }
 
         @Test
-        void testDeleteTask_Success() {
+        void testUpdateTask_StaleVersion_ThrowsException() {
             // Given
+            sampleTask.setVersion(4L);
+            Task updateDetails = new Task();
+            updateDetails.setTitle("Updated Task");
+            updateDetails.setStatus(TaskStatus.IN_PROGRESS);
+
             when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTask));
 
+            // When & Then
+            TaskVersionMismatchException exception = assertThrows(
+                    TaskVersionMismatchException.class,
+                    () -> taskService.updateTask(1L, updateDetails, 3L)
+            );
+            assertEquals("Task 1 is at version 4, not 3", exception.getMessage());
+            assertEquals("Sample Task", sampleTask.getTitle());
+            verify(taskRepository, never()).save(any(Task.class));
+        }
+
+        @Test
+        void testPatchTask_ToCompleted_QueuesEventOnce() {
+            // Given
+            sampleTask.setVersion(2L);
+            when(taskRepository.patchReturningPrevious(eq(1L), any(TaskPatch.class), isNull(), any()))
+                    .thenReturn(Optional.of(sampleTask));
+            TaskPatch patch = new TaskPatch();
+            patch.setStatus(TaskStatus.COMPLETED);
+
+            // When
+            Task patchedTask = taskService.patchTask(1L, patch, null);
+
+            // Then
+            assertEquals(TaskStatus.COMPLETED, patchedTask.getStatus());
+            assertEquals("Sample Task", patchedTask.getTitle());
+            assertEquals(3L, patchedTask.getVersion());
+            verify(eventOutbox, times(1)).enqueueStatusChange(patchedTask, TaskStatus.TODO, 3L);
+            verify(taskRepository, never()).findById(any());
+            verify(taskRepository, never()).save(any(Task.class));
+        }
+
+        @Test
+        void testPatchTask_StaleVersion_ThrowsException() {
+            // Given
+            sampleTask.setVersion(4L);
+            TaskPatch patch = new TaskPatch();
+            patch.setTitle("Patched Task");
+            when(taskRepository.patchReturningPrevious(eq(1L), any(TaskPatch.class), eq(3L), any()))
+                    .thenReturn(Optional.empty());
+            when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTask));
+
+            // When & Then
+            TaskVersionMismatchException exception = assertThrows(
+                    TaskVersionMismatchException.class,
+                    () -> taskService.patchTask(1L, patch, 3L)
+            );
+            assertEquals("Task 1 is at version 4, not 3", exception.getMessage());
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        void testPatchTask_NoFields_ThrowsException() {
+            assertThrows(IllegalArgumentException.class, () -> taskService.patchTask(1L, new TaskPatch(), null));
+            verifyNoInteractions(taskRepository);
+        }
+
+        @Test
+        void testDeleteTask_Success() {
+            // Given
+            when(taskRepository.deleteReturningStatus(1L, null)).thenReturn(Optional.of(TaskStatus.TODO));
+
             // When
             taskService.deleteTask(1L);
 
             // Then
-            verify(taskRepository, times(1)).findById(1L);
-            verify(taskRepository, times(1)).delete(sampleTask);
+            verify(taskRepository, times(1)).deleteReturningStatus(1L, null);
+            verify(taskRepository, never()).findById(any());
+            verify(eventPublisher, times(1)).publishEvent(TaskChangedEvent.deleted(1L, TaskStatus.TODO));
         }
 
         @Test
         void testDeleteTask_NotFound_ThrowsException() {
             // Given
-            when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+            when(taskRepository.deleteReturningStatus(1L, null)).thenReturn(Optional.empty());
 
             // When & Then
             TaskNotFoundException exception = assertThrows(
@@ -212,8 +365,6 @@ class TaskServiceTest {
                     () -> taskService.deleteTask(1L)
             );
             assertEquals("Task not found with id: 1", exception.getMessage());
-            verify(taskRepository, times(1)).findById(1L);
-            verify(taskRepository, never()).delete(any(Task.class));
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
         }
     }
-
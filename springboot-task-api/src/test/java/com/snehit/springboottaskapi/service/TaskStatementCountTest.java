@@ -0,0 +1,192 @@
+package com.snehit.springboottaskapi.service;
+
+import com.snehit.springboottaskapi.dto.TaskPatch;
+import com.snehit.springboottaskapi.dto.TaskStats;
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.exception.TaskNotFoundException;
+import com.snehit.springboottaskapi.exception.TaskVersionMismatchException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements each write sends to the database, to show that PATCH and DELETE take
+ * one round trip where the load-then-write path takes two.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-count-test;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "task.events.outbox.dispatcher-enabled=false",
+        "task.reminders.enabled=false"
+})
+class TaskStatementCountTest {
+
+        /** Statements prepared on the test thread, so background work is not counted */
+        private static final AtomicInteger statements = new AtomicInteger();
+
+        private static volatile Thread countedThread;
+
+        @Autowired
+        private ITaskService taskService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private Task task;
+
+        @BeforeEach
+        void setUp() {
+            Task newTask = new Task();
+            newTask.setTitle("Counted Task");
+            newTask.setDescription("Counted Description");
+            newTask.setStatus(TaskStatus.TODO);
+            newTask.setDueDate(LocalDateTime.now().plusDays(1));
+            task = taskService.createTask(newTask);
+            countedThread = Thread.currentThread();
+            statements.set(0);
+        }
+
+        @AfterEach
+        void tearDown() {
+            countedThread = null;
+        }
+
+        @Test
+        void testPatch_OneStatementInsteadOfTwo() {
+            // Given
+            Task details = new Task();
+            details.setTitle("Updated");
+            details.setDescription(task.getDescription());
+            details.setStatus(TaskStatus.IN_PROGRESS);
+            details.setDueDate(task.getDueDate());
+            taskService.updateTask(task.getId(), details);
+            int updateStatements = statements.getAndSet(0);
+
+            TaskPatch patch = new TaskPatch();
+            patch.setTitle("Patched");
+
+            // When
+            Task patchedTask = taskService.patchTask(task.getId(), patch, 1L);
+
+            // Then the update loads and writes the task, then looks up and writes its status change event
+            assertEquals(4, updateStatements);
+            assertEquals(1, statements.get());
+            assertEquals("Patched", patchedTask.getTitle());
+            assertEquals(TaskStatus.IN_PROGRESS, patchedTask.getStatus());
+            assertEquals(2L, patchedTask.getVersion());
+            assertEquals(2L, jdbcTemplate.queryForObject(
+                    "SELECT version FROM tasks WHERE id = ?", Long.class, task.getId()));
+            assertEquals("Counted Description", jdbcTemplate.queryForObject(
+                    "SELECT description FROM tasks WHERE id = ?", String.class, task.getId()));
+        }
+
+        @Test
+        void testDelete_OneStatement() {
+            // When
+            taskService.deleteTask(task.getId(), 0L);
+
+            // Then
+            assertEquals(1, statements.get());
+            assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(task.getId()));
+        }
+
+        @Test
+        void testPatch_CompletionQueuesEventOnlyOnTransition() {
+            // Given
+            long completedBefore = taskService.getTaskStats().getCounts().getOrDefault(TaskStatus.COMPLETED, 0L);
+            long queuedBefore = outboxSize();
+            TaskPatch patch = new TaskPatch();
+            patch.setStatus(TaskStatus.COMPLETED);
+
+            // When
+            taskService.patchTask(task.getId(), patch, null);
+            taskService.patchTask(task.getId(), patch, null);
+
+            // Then
+            TaskStats stats = taskService.getTaskStats();
+            assertEquals(completedBefore + 1, stats.getCounts().get(TaskStatus.COMPLETED));
+            assertEquals(queuedBefore + 1, outboxSize());
+            assertEquals(TaskStatus.COMPLETED, taskService.getTaskById(task.getId()).getStatus());
+        }
+
+        @Test
+        void testPatch_StaleVersionAndMissingTask() {
+            TaskPatch patch = new TaskPatch();
+            patch.setTitle("Patched");
+
+            assertThrows(TaskVersionMismatchException.class, () -> taskService.patchTask(task.getId(), patch, 7L));
+            assertThrows(TaskNotFoundException.class, () -> taskService.patchTask(-1L, patch, null));
+            assertEquals("Counted Task", jdbcTemplate.queryForObject(
+                    "SELECT title FROM tasks WHERE id = ?", String.class, task.getId()));
+        }
+
+        private long outboxSize() {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Long.class);
+        }
+
+        @TestConfiguration
+        static class StatementCountingConfig {
+
+            @Bean
+            static BeanPostProcessor statementCountingDataSource() {
+                return new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource ? new CountingDataSource(dataSource) : bean;
+                    }
+                };
+            }
+        }
+
+        static class CountingDataSource extends DelegatingDataSource {
+
+            CountingDataSource(DataSource target) {
+                super(target);
+            }
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return counting(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return counting(super.getConnection(username, password));
+            }
+
+            private static Connection counting(Connection connection) {
+                return (Connection) Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[]{Connection.class},
+                        (proxy, method, args) -> {
+                            String name = method.getName();
+                            if ((name.startsWith("prepare") || name.equals("createStatement"))
+                                    && Thread.currentThread() == countedThread) {
+                                statements.incrementAndGet();
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        }
+    }
@@ -0,0 +1,76 @@
+package com.snehit.springboottaskapi.stats;
+
+import com.snehit.springboottaskapi.entity.Task;
+import com.snehit.springboottaskapi.enums.TaskStatus;
+import com.snehit.springboottaskapi.event.TaskChangedEvent;
+import com.snehit.springboottaskapi.repository.ITaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusCountersTest {
+
+        @Mock
+        private ITaskRepository taskRepository;
+
+        private TaskStatusCounters counters;
+
+        @BeforeEach
+        void setUp() {
+            counters = new TaskStatusCounters(taskRepository, new SimpleMeterRegistry());
+        }
+
+        @Test
+        void testOnTaskChanged_TracksCreateUpdateDelete() {
+            // Given
+            Task task = new Task();
+            task.setId(1L);
+            task.setStatus(TaskStatus.TODO);
+
+            // When
+            counters.onTaskChanged(TaskChangedEvent.created(task));
+            task.setStatus(TaskStatus.COMPLETED);
+            counters.onTaskChanged(TaskChangedEvent.updated(TaskStatus.TODO, task));
+
+            // Then
+            assertEquals(0, counters.count(TaskStatus.TODO));
+            assertEquals(1, counters.count(TaskStatus.COMPLETED));
+            assertEquals(1, counters.count(null));
+
+            // When
+            counters.onTaskChanged(TaskChangedEvent.deleted(1L, TaskStatus.COMPLETED));
+
+            // Then
+            assertEquals(0, counters.count(null));
+        }
+
+        @Test
+        void testReconcile_ReplacesDriftedCounts() {
+            // Given
+            Task task = new Task();
+            task.setStatus(TaskStatus.TODO);
+            counters.onTaskChanged(TaskChangedEvent.created(task));
+            ITaskRepository.StatusCount inProgress = mock(ITaskRepository.StatusCount.class);
+            when(inProgress.getStatus()).thenReturn(TaskStatus.IN_PROGRESS);
+            when(inProgress.getCount()).thenReturn(7L);
+            when(taskRepository.countGroupedByStatus()).thenReturn(List.of(inProgress));
+
+            // When
+            counters.reconcile();
+
+            // Then
+            assertEquals(0, counters.count(TaskStatus.TODO));
+            assertEquals(7, counters.count(TaskStatus.IN_PROGRESS));
+            assertEquals(7, counters.snapshot().getTotal());
+            assertNotNull(counters.snapshot().getReconciledAt());
+        }
+    }